@@ -0,0 +1,27 @@
+package io.github.paulmarcelinbejan.toolbox.base.data;
+
+import io.github.paulmarcelinbejan.toolbox.base.enums.ComparisonOperator;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Condition on the value of a field.
+ * <br>
+ * With {@link ComparisonOperator#IS_IN} and {@link ComparisonOperator#IS_NOT_IN} the value is a comma separated list of values, 
+ * with {@link ComparisonOperator#IS_BETWEEN} it is the comma separated pair "from,to" (both included).
+ * <br>
+ * With {@link ComparisonOperator#IS_LIKE} the value is a pattern where % matches any sequence of characters and _ matches a single character.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FieldFilter {
+
+	private String field;
+	
+	private ComparisonOperator comparisonOperator;
+	
+	private String value;
+	
+}
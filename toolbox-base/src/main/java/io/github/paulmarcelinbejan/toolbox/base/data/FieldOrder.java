@@ -0,0 +1,20 @@
+package io.github.paulmarcelinbejan.toolbox.base.data;
+
+import io.github.paulmarcelinbejan.toolbox.base.enums.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sort key: the field to sort by and its {@link Order}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FieldOrder {
+
+	private String field;
+	
+	private Order order;
+	
+}
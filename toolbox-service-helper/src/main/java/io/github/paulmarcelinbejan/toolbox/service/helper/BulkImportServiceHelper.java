@@ -0,0 +1,29 @@
+package io.github.paulmarcelinbejan.toolbox.service.helper;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import io.github.paulmarcelinbejan.toolbox.exception.technical.TechnicalException;
+import io.github.paulmarcelinbejan.toolbox.service.helper.bulk.BulkImportResult;
+
+/**
+ *
+ * Bulk import of rows (e.g. the records of a CSV file) that are validated, mapped to entities and saved in batches.
+ *
+ * @author paulmarcelinbejan
+ *
+ */
+public interface BulkImportServiceHelper<ROW> {
+	
+	/**
+	 * Sequential import: rows are read, validated, mapped and saved by the calling thread.
+	 */
+	BulkImportResult importAll(Iterator<ROW> rows) throws TechnicalException;
+	
+	/**
+	 * Parallel import: rows are read, validated and mapped by the threads that evaluate the stream (e.g. a parallel stream of a CSV file), 
+	 * the entities are saved by the calling thread that is the single writer.
+	 */
+	BulkImportResult importAll(Stream<ROW> rows) throws TechnicalException;
+	
+}
@@ -0,0 +1,27 @@
+package io.github.paulmarcelinbejan.toolbox.service.helper.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class BulkImportResult {
+	
+	/**
+	 * number of entities saved.
+	 */
+	private final long imported;
+	
+	/**
+	 * number of rows not imported because not valid.
+	 */
+	private final long rejected;
+	
+	/**
+	 * number of batches, each one saved in its own transaction.
+	 */
+	private final long batches;
+	
+}
@@ -0,0 +1,266 @@
+package io.github.paulmarcelinbejan.toolbox.service.helper.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.github.paulmarcelinbejan.toolbox.exception.technical.TechnicalException;
+import io.github.paulmarcelinbejan.toolbox.service.helper.BulkImportServiceHelper;
+import io.github.paulmarcelinbejan.toolbox.service.helper.bulk.BulkImportResult;
+import io.github.paulmarcelinbejan.toolbox.service.helper.mapping.MapperFromSaveRequestToEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+
+/**
+ *
+ * Bulk import of rows in batches of batchSize entities: every batch is saved in its own transaction, 
+ * then the persistence context is flushed and cleared, so neither the rows nor the managed entities pile up in memory.
+ * <br>
+ * Rows with constraint violations are rejected and not imported.
+ * <br>
+ * A Stream of rows is evaluated in parallel on a dedicated ForkJoinPool of parallelism threads, 
+ * so the entities are not saved in the order of the stream.
+ *
+ * @author paulmarcelinbejan
+ *
+ */
+public class BulkImportServiceHelperImpl<
+		ID,
+		ENTITY,
+		ROW,
+		REPOSITORY extends JpaRepository<ENTITY, ID>,
+		MAPPER extends MapperFromSaveRequestToEntity<ENTITY, ROW>>
+		implements
+		BulkImportServiceHelper<ROW> {
+	
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+	
+	public static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+	
+	/**
+	 * number of batches of mapped entities that can wait for the writer, beyond which the parallel stages block.
+	 */
+	private static final int QUEUED_BATCHES = 4;
+	
+	private static final long OFFER_TIMEOUT_MILLIS = 100;
+	
+	private static final Object END = new Object();
+	
+	public BulkImportServiceHelperImpl(
+			REPOSITORY repository, 
+			MAPPER mapper, 
+			Validator validator, 
+			EntityManager entityManager, 
+			PlatformTransactionManager transactionManager) {
+		this(repository, mapper, validator, entityManager, transactionManager, DEFAULT_BATCH_SIZE);
+	}
+	
+	public BulkImportServiceHelperImpl(
+			REPOSITORY repository, 
+			MAPPER mapper, 
+			Validator validator, 
+			EntityManager entityManager, 
+			PlatformTransactionManager transactionManager, 
+			int batchSize) {
+		this(repository, mapper, validator, entityManager, transactionManager, batchSize, DEFAULT_PARALLELISM);
+	}
+	
+	/**
+	 * @param parallelism number of threads that read, validate and map the rows of a Stream.
+	 */
+	public BulkImportServiceHelperImpl(
+			REPOSITORY repository, 
+			MAPPER mapper, 
+			Validator validator, 
+			EntityManager entityManager, 
+			PlatformTransactionManager transactionManager, 
+			int batchSize, 
+			int parallelism) {
+		if(batchSize <= 0 || parallelism <= 0) {
+			throw new IllegalArgumentException("batchSize and parallelism must be greater than zero");
+		}
+		this.repository = repository;
+		this.mapper = mapper;
+		this.validator = validator;
+		this.entityManager = entityManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+		this.parallelism = parallelism;
+	}
+	
+	private final REPOSITORY repository;
+	
+	private final MAPPER mapper;
+	
+	private final Validator validator;
+	
+	private final EntityManager entityManager;
+	
+	private final TransactionTemplate transactionTemplate;
+	
+	private final int batchSize;
+	
+	private final int parallelism;
+	
+	@Override
+	public BulkImportResult importAll(Iterator<ROW> rows) throws TechnicalException {
+		List<ENTITY> batch = new ArrayList<>(batchSize);
+		long imported = 0;
+		long rejected = 0;
+		long batches = 0;
+		while (rows.hasNext()) {
+			ROW row = rows.next();
+			if (!isValid(row)) {
+				rejected++;
+				continue;
+			}
+			batch.add(mapper.fromSaveRequestToEntity(row));
+			if (batch.size() == batchSize) {
+				imported += saveBatch(batch);
+				batches++;
+			}
+		}
+		if (!batch.isEmpty()) {
+			imported += saveBatch(batch);
+			batches++;
+		}
+		return new BulkImportResult(imported, rejected, batches);
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public BulkImportResult importAll(Stream<ROW> rows) throws TechnicalException {
+		BlockingQueue<Object> queue = new ArrayBlockingQueue<>(batchSize * QUEUED_BATCHES);
+		AtomicLong rejected = new AtomicLong();
+		AtomicBoolean writerFailed = new AtomicBoolean();
+		
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		ForkJoinTask<?> producer = pool.submit(() -> {
+			try {
+				rows.parallel()
+					.filter(row -> {
+						if (isValid(row)) {
+							return true;
+						}
+						rejected.incrementAndGet();
+						return false;
+					})
+					.map(mapper::fromSaveRequestToEntity)
+					.forEach(entity -> offer(queue, entity, writerFailed));
+			} finally {
+				offer(queue, END, writerFailed);
+			}
+		});
+		
+		List<ENTITY> batch = new ArrayList<>(batchSize);
+		long imported = 0;
+		long batches = 0;
+		try {
+			Object next;
+			while ((next = queue.take()) != END) {
+				batch.add((ENTITY) next);
+				if (batch.size() == batchSize) {
+					imported += saveBatch(batch);
+					batches++;
+				}
+			}
+			awaitProducer(producer);
+			if (!batch.isEmpty()) {
+				imported += saveBatch(batch);
+				batches++;
+			}
+		} catch (InterruptedException e) {
+			writerFailed.set(true);
+			Thread.currentThread().interrupt();
+			throw new TechnicalException("Bulk import interrupted", e);
+		} catch (RuntimeException e) {
+			writerFailed.set(true);
+			throw e;
+		} finally {
+			stop(pool);
+		}
+		return new BulkImportResult(imported, rejected.get(), batches);
+	}
+	
+	private boolean isValid(ROW row) {
+		return validator.validate(row).isEmpty();
+	}
+	
+	/**
+	 * Save batch in a new transaction, flush and clear the persistence context and empty batch.
+	 */
+	private int saveBatch(List<ENTITY> batch) {
+		transactionTemplate.executeWithoutResult(status -> {
+			repository.saveAll(batch);
+			entityManager.flush();
+			entityManager.clear();
+		});
+		int saved = batch.size();
+		batch.clear();
+		return saved;
+	}
+	
+	/**
+	 * Wait until there is room in the queue.
+	 * 
+	 * @throws CancellationException if the writer has failed and will not take entities anymore, so the stream is aborted.
+	 */
+	private static void offer(BlockingQueue<Object> queue, Object element, AtomicBoolean writerFailed) {
+		try {
+			do {
+				if (writerFailed.get()) {
+					throw new CancellationException("Bulk import aborted by the failure of the writer");
+				}
+			} while (!queue.offer(element, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CancellationException("Bulk import interrupted");
+		}
+	}
+	
+	/**
+	 * Rethrow the failure of the stages that read, validate and map the rows.
+	 */
+	private static void awaitProducer(ForkJoinTask<?> producer) throws TechnicalException, InterruptedException {
+		try {
+			producer.get();
+		} catch (ExecutionException e) {
+			throw new TechnicalException("Bulk import failed while reading or mapping the rows", e.getCause());
+		}
+	}
+	
+	/**
+	 * Wait for the threads of the stream, they stop at the next entity they offer once the writer has failed.
+	 */
+	private static void stop(ForkJoinPool pool) {
+		pool.shutdown();
+		boolean interrupted = Thread.interrupted();
+		try {
+			while (!pool.awaitTermination(OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+				// a thread is still reading or mapping a row
+			}
+		} catch (InterruptedException e) {
+			interrupted = true;
+			pool.shutdownNow();
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,145 @@
+package io.github.paulmarcelinbejan.toolbox.service.helper.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import io.github.paulmarcelinbejan.toolbox.exception.technical.TechnicalException;
+import io.github.paulmarcelinbejan.toolbox.service.helper.bulk.BulkImportResult;
+import io.github.paulmarcelinbejan.toolbox.service.helper.mapping.MapperFromSaveRequestToEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+class BulkImportServiceHelperImplTest {
+	
+	private JpaRepository<String, Long> repository;
+	
+	private Validator validator;
+	
+	private PlatformTransactionManager transactionManager;
+	
+	private final List<Integer> savedBatches = Collections.synchronizedList(new ArrayList<>());
+	
+	private final AtomicInteger mapped = new AtomicInteger();
+	
+	private final MapperFromSaveRequestToEntity<String, Integer> mapper = new MapperFromSaveRequestToEntity<>() {
+		
+		@Override
+		public String fromSaveRequestToEntity(Integer saveRequest) {
+			mapped.incrementAndGet();
+			return "entity" + saveRequest;
+		}
+		
+		@Override
+		public List<String> fromSaveRequestsToEntities(Collection<Integer> saveRequests) {
+			return saveRequests.stream().map(this::fromSaveRequestToEntity).toList();
+		}
+		
+	};
+	
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		repository = mock(JpaRepository.class);
+		doAnswer(invocation -> {
+			List<String> batch = invocation.getArgument(0);
+			savedBatches.add(batch.size());
+			return batch;
+		}).when(repository).saveAll(anyList());
+		
+		validator = mock(Validator.class);
+		when(validator.validate(any())).thenAnswer(invocation -> {
+			Integer row = invocation.getArgument(0);
+			return row < 0 ? Set.of(mock(ConstraintViolation.class)) : Set.of();
+		});
+		
+		transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+	}
+	
+	@Test
+	void testBatchBoundaries() throws TechnicalException {
+		BulkImportResult result = helper(1000).importAll(IntStream.range(0, 2500).boxed().iterator());
+		assertEquals(2500, result.getImported());
+		assertEquals(3, result.getBatches());
+		assertEquals(List.of(1000, 1000, 500), savedBatches);
+		
+		savedBatches.clear();
+		result = helper(1000).importAll(IntStream.range(0, 2000).boxed().iterator());
+		assertEquals(2, result.getBatches());
+		assertEquals(List.of(1000, 1000), savedBatches);
+		
+		savedBatches.clear();
+		result = helper(1000).importAll(IntStream.range(0, 2500).boxed());
+		assertEquals(2500, result.getImported());
+		assertEquals(3, result.getBatches());
+		assertEquals(List.of(1000, 1000, 500), savedBatches);
+	}
+	
+	@Test
+	void testRejectedRows() throws TechnicalException {
+		BulkImportResult result = helper(100).importAll(IntStream.range(0, 1000).map(i -> i % 4 == 0 ? -i - 1 : i).boxed().iterator());
+		assertEquals(750, result.getImported());
+		assertEquals(250, result.getRejected());
+		
+		result = helper(100).importAll(IntStream.range(0, 1000).map(i -> i % 4 == 0 ? -i - 1 : i).boxed());
+		assertEquals(750, result.getImported());
+		assertEquals(250, result.getRejected());
+		assertEquals(8, result.getBatches());
+	}
+	
+	@Test
+	void testWriterFailure() throws InterruptedException {
+		doAnswer(invocation -> {
+			if(savedBatches.size() == 1) {
+				throw new IllegalStateException("database down");
+			}
+			List<String> batch = invocation.getArgument(0);
+			savedBatches.add(batch.size());
+			return batch;
+		}).when(repository).saveAll(anyList());
+		
+		int rows = 10_000_000;
+		assertThrows(IllegalStateException.class, () -> helper(100).importAll(IntStream.range(0, rows).boxed()));
+		
+		int mappedWhenFailed = mapped.get();
+		Thread.sleep(300);
+		assertEquals(mappedWhenFailed, mapped.get());
+		assertTrue(mappedWhenFailed < rows);
+	}
+	
+	@Test
+	void testMappingFailure() {
+		Validator failing = mock(Validator.class);
+		when(failing.validate(any())).thenThrow(new IllegalArgumentException("invalid row"));
+		BulkImportServiceHelperImpl<Long, String, Integer, JpaRepository<String, Long>, MapperFromSaveRequestToEntity<String, Integer>> helper = 
+				new BulkImportServiceHelperImpl<>(repository, mapper, failing, mock(EntityManager.class), transactionManager, 100, 2);
+		assertThrows(TechnicalException.class, () -> helper.importAll(IntStream.range(0, 1000).boxed()));
+		assertTrue(savedBatches.isEmpty());
+	}
+	
+	private BulkImportServiceHelperImpl<Long, String, Integer, JpaRepository<String, Long>, MapperFromSaveRequestToEntity<String, Integer>> helper(int batchSize) {
+		return new BulkImportServiceHelperImpl<>(repository, mapper, validator, mock(EntityManager.class), transactionManager, batchSize, 4);
+	}
+	
+}
@@ -3,18 +3,66 @@ package io.github.paulmarcelinbejan.toolbox.utils.csv;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema.Builder;
 
+import io.github.paulmarcelinbejan.toolbox.base.data.FieldFilter;
+import io.github.paulmarcelinbejan.toolbox.base.data.FieldOrder;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.checkpoint.CsvCheckpoint;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.checkpoint.CsvCheckpointingIterator;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.chunk.CsvChunk;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.chunk.CsvChunkSplitter;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.chunk.CsvChunkSpliterator;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.columnar.ColumnDefinition;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.columnar.CsvColumnBatch;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.columnar.CsvColumnarLoader;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.config.CsvDiffConfig;
 import io.github.paulmarcelinbejan.toolbox.utils.csv.config.CsvFileUtilsConfig;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.config.CsvReadEngine;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.config.CsvReadOrder;
 import io.github.paulmarcelinbejan.toolbox.utils.csv.config.CsvReaderConfig;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.config.CsvSortConfig;
 import io.github.paulmarcelinbejan.toolbox.utils.csv.config.CsvWriterConfig;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.diff.CsvDiffRecord;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.diff.CsvHashDiff;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.index.CsvRowIndex;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.profile.CsvProfile;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.profile.CsvProfiler;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.sink.CsvFileRecordSink;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.sink.CsvPartitionedRecordSink;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.sink.CsvRecordSink;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.sink.CsvRollingRecordSink;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.sort.CsvExternalSorter;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvRecordBinder;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvRecordFilter;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvRecordIterator;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvRejectedRecord;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvTokenizer;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.MappedCsvTokenizer;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.StreamCsvTokenizer;
 import io.github.paulmarcelinbejan.toolbox.utils.io.FileUtils;
 import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+import io.github.paulmarcelinbejan.toolbox.utils.jackson.codec.CodecKey;
+import io.github.paulmarcelinbejan.toolbox.utils.jackson.codec.CodecRegistry;
 import lombok.NonNull;
 
 /**
@@ -24,26 +72,65 @@ import lombok.NonNull;
  */
 public class CsvFileUtils {
 	
+	/**
+	 * suffix of the sidecar file where the checkpoint of a resumable read is saved.
+	 */
+	public static final String CHECKPOINT_SUFFIX = ".checkpoint";
+	
+	/**
+	 * suffix of the sidecar file where the {@link CsvRowIndex} is saved.
+	 */
+	public static final String INDEX_SUFFIX = ".idx";
+	
+	/**
+	 * variant of the codecs of the quarantine file, that quotes the values unlike the other writers.
+	 */
+	private static final String QUARANTINE = "quarantine";
+	
+	/**
+	 * variant of the codecs of the header line, read as a String[] unlike the readers of the records.
+	 */
+	private static final String HEADER_LINE = "header line";
+	
 	/**
 	 * This constructor will use default configuration. 
 	 */
 	public CsvFileUtils() {
 		this.mapperReader = CsvFileUtilsConfig.DEFAULT.getReaderConfig().getCsvMapper();
 		this.mapperWriter = CsvFileUtilsConfig.DEFAULT.getWriterConfig().getCsvMapper();
+		this.writerBatchSize = CsvFileUtilsConfig.DEFAULT.getWriterConfig().getBatchSize();
 	}
 	
 	public CsvFileUtils(@NonNull final CsvFileUtilsConfig csvFileUtilsConfig) {
 		this.mapperReader = csvFileUtilsConfig.getReaderConfig().getCsvMapper();
 		this.mapperWriter = csvFileUtilsConfig.getWriterConfig().getCsvMapper();
+		this.writerBatchSize = csvFileUtilsConfig.getWriterConfig().getBatchSize();
 	}
 	
     public CsvFileUtils(CsvReaderConfig readerConfig, CsvWriterConfig writerConfig) {
 		this.mapperReader = readerConfig.getCsvMapper();
 		this.mapperWriter = writerConfig.getCsvMapper();
+		this.writerBatchSize = writerConfig.getBatchSize();
 	}
 	
 	private final CsvMapper mapperReader;
 	private final CsvMapper mapperWriter;
+	private final int writerBatchSize;
+	private final CodecRegistry codecs = new CodecRegistry();
+	
+	/**
+	 * Create and cache the readers, writers and schemas used to read and write clazz with separator, 
+	 * so the first read or write doesn't pay for the introspection of the classes (e.g. to be called at startup).
+	 */
+	public void prewarm(char separator, @NonNull final Class<?>... classes) {
+		for(Class<?> clazz : classes) {
+			headerReader(clazz, separator);
+			reader(clazz);
+			writerSchema(clazz, separator);
+			writer(CodecKey.of(clazz, separator), clazz, writerSchema(clazz, separator));
+			writer(clazz);
+		}
+	}
 	
 	/**
 	 * Remember to close the Reader usign <b>iterator.close()</b> in order to release any resources associated with it.
@@ -52,12 +139,397 @@ public class CsvFileUtils {
 	 */
 	public <T> MappingIterator<T> iterator(@NonNull final FileInfo fileInfo, char separator, Class<T> clazz) throws IOException {
 		Reader fileReader = FileUtils.createFileReader(fileInfo);
-
-		CsvSchema csvSchema = buildReaderCsvSchema(separator);
 		
-		return mapperReader.readerFor(clazz)
-							.with(csvSchema)
-							.readValues(fileReader);
+		return headerReader(clazz, separator).readValues(fileReader);
+	}
+	
+	/**
+	 * Read all the columns using the given engine instead of the jackson parser, 
+	 * with {@link CsvReadEngine#MAPPED} the file is memory-mapped and tokenized without copying it.
+	 * <br>
+	 * Remember to close the Reader usign <b>iterator.close()</b> in order to release any resources associated with it.
+	 * 
+	 * @throws IOException if the file can not be found, or if the header can not be read.
+	 */
+	public <T> CsvRecordIterator<T> iterator(@NonNull final FileInfo fileInfo, char separator, Class<T> clazz, @NonNull final CsvReadEngine readEngine) throws IOException {
+		return iterator(fileInfo, separator, List.of(), clazz, readEngine);
+	}
+	
+	/**
+	 * Projection read: only the fields of the columns present in the list are decoded and bound to clazz, 
+	 * the fields of the other columns are skipped by the tokenizer without creating any String.
+	 * <br>
+	 * Remember to close the Reader usign <b>iterator.close()</b> in order to release any resources associated with it.
+	 * 
+	 * @throws IOException if the file can not be found, or if the header can not be read.
+	 * @throws IllegalArgumentException if a column is not present in the header.
+	 */
+	public <T> CsvRecordIterator<T> iterator(@NonNull final FileInfo fileInfo, char separator, @NonNull final List<String> columns, Class<T> clazz) throws IOException {
+		return iterator(fileInfo, separator, columns, clazz, CsvReadEngine.STREAM);
+	}
+	
+	/**
+	 * Projection read using the given engine, an empty list of columns selects all the columns.
+	 * <br>
+	 * Remember to close the Reader usign <b>iterator.close()</b> in order to release any resources associated with it.
+	 * 
+	 * @throws IOException if the file can not be found, or if the header can not be read.
+	 * @throws IllegalArgumentException if a column is not present in the header.
+	 */
+	public <T> CsvRecordIterator<T> iterator(@NonNull final FileInfo fileInfo, char separator, @NonNull final List<String> columns, Class<T> clazz, @NonNull final CsvReadEngine readEngine) throws IOException {
+		return iterator(fileInfo, separator, columns, clazz, List.of(), readEngine);
+	}
+	
+	/**
+	 * Filtered read: the filters are evaluated on the raw fields while parsing, 
+	 * records that don't satisfy all of them are skipped without being bound to clazz.
+	 * <br>
+	 * Remember to close the Reader usign <b>iterator.close()</b> in order to release any resources associated with it.
+	 * 
+	 * @throws IOException if the file can not be found, or if the header can not be read.
+	 * @throws IllegalArgumentException if the field of a filter is not present in the header.
+	 */
+	public <T> CsvRecordIterator<T> iterator(@NonNull final FileInfo fileInfo, char separator, Class<T> clazz, @NonNull final List<FieldFilter> filters) throws IOException {
+		return iterator(fileInfo, separator, List.of(), clazz, filters, CsvReadEngine.STREAM);
+	}
+	
+	/**
+	 * Projection and filtered read using the given engine, an empty list of columns selects all the columns.
+	 * <br>
+	 * The filters are evaluated on the raw fields while parsing (also on columns that are not selected), 
+	 * records that don't satisfy all of them are skipped without being bound to clazz.
+	 * <br>
+	 * Remember to close the Reader usign <b>iterator.close()</b> in order to release any resources associated with it.
+	 * 
+	 * @throws IOException if the file can not be found, or if the header can not be read.
+	 * @throws IllegalArgumentException if a column or the field of a filter is not present in the header.
+	 */
+	public <T> CsvRecordIterator<T> iterator(@NonNull final FileInfo fileInfo, char separator, @NonNull final List<String> columns, Class<T> clazz, @NonNull final List<FieldFilter> filters, @NonNull final CsvReadEngine readEngine) throws IOException {
+		return openIterator(fileInfo, separator, columns, clazz, filters, readEngine, null);
+	}
+	
+	/**
+	 * Tolerant read: records that can not be bound to clazz are written to the quarantine sink (line number, raw text and exception) 
+	 * and the iteration goes on, the iterator exposes the rows read, the rows rejected and the bytes consumed.
+	 * <br>
+	 * The quarantine sink is flushed when the iterator is closed, but it is not closed.
+	 * <br>
+	 * Remember to close the Reader usign <b>iterator.close()</b> in order to release any resources associated with it.
+	 * 
+	 * @throws IOException if the file can not be found, or if the header can not be read.
+	 */
+	public <T> CsvRecordIterator<T> iterator(@NonNull final FileInfo fileInfo, char separator, Class<T> clazz, @NonNull final CsvRecordSink<CsvRejectedRecord> quarantine) throws IOException {
+		return openIterator(fileInfo, separator, List.of(), clazz, List.of(), CsvReadEngine.STREAM, quarantine);
+	}
+	
+	/**
+	 * Resumable read: the byte offset and the row number of the last committed record are saved in a sidecar file 
+	 * next to the csv file (e.g. data.csv.checkpoint), every checkpointInterval committed records and when the iterator is closed.
+	 * <br>
+	 * If the sidecar file already exists, the iteration seeks straight to the saved offset instead of re-reading the file from the beginning, 
+	 * the header is always read from the first line. 
+	 * The checkpoint is applied only if the size and the modification time of the file are the ones saved with it.
+	 * <br>
+	 * Call <b>iterator.commit()</b> once the records returned so far have been processed, 
+	 * and <b>iterator.deleteCheckpoint()</b> once the whole file has been processed.
+	 * <br>
+	 * Remember to close the Reader usign <b>iterator.close()</b> in order to save the last checkpoint and release any resources associated with it.
+	 * 
+	 * @throws IOException if the file can not be found, if the header or the checkpoint can not be read, 
+	 * or if the checkpoint has been saved for another version of the file (delete it to read the file from the beginning).
+	 */
+	public <T> CsvCheckpointingIterator<T> checkpointingIterator(@NonNull final FileInfo fileInfo, char separator, Class<T> clazz, int checkpointInterval) throws IOException {
+		BasicFileAttributes attributes = Files.readAttributes(FileUtils.createPath(fileInfo), BasicFileAttributes.class);
+		long fileSize = attributes.size();
+		long fileLastModified = attributes.lastModifiedTime().toMillis();
+		
+		String[] header;
+		CsvCheckpoint headerEnd;
+		try (CsvTokenizer tokenizer = new StreamCsvTokenizer(FileUtils.createFileInputStream(fileInfo), separator)) {
+			header = tokenizer.next() ? tokenizer.getFields() : new String[0];
+			headerEnd = new CsvCheckpoint(tokenizer.getOffset(), 0, fileSize, fileLastModified);
+		}
+		
+		Path checkpointPath = FileUtils.createSidecarPath(fileInfo, CHECKPOINT_SUFFIX);
+		Optional<CsvCheckpoint> saved = CsvCheckpoint.load(checkpointPath);
+		if(saved.isPresent() && !saved.get().isValidFor(fileSize, fileLastModified)) {
+			throw new IOException("The checkpoint " + checkpointPath + " has been saved for another version of " + fileInfo.getFullPath());
+		}
+		CsvCheckpoint start = saved.orElse(headerEnd);
+		
+		CsvTokenizer tokenizer = new StreamCsvTokenizer(
+				FileUtils.createFileRangeInputStream(fileInfo, start.getOffset(), Long.MAX_VALUE), 
+				separator, 
+				start.getOffset());
+		try {
+			CsvRecordIterator<T> iterator = new CsvRecordIterator<>(tokenizer, binder(clazz, header, List.of()));
+			return new CsvCheckpointingIterator<>(iterator, checkpointPath, start, checkpointInterval);
+		} catch (RuntimeException e) {
+			tokenizer.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Build the {@link CsvRowIndex} of the file, recording the byte offset of every interval-th record, 
+	 * and save it in a sidecar file next to the csv file (e.g. data.csv.idx).
+	 * 
+	 * @throws IOException if the file can not be read, or if the index can not be saved.
+	 */
+	public CsvRowIndex buildIndex(@NonNull final FileInfo fileInfo, char separator, int interval) throws IOException {
+		Path path = FileUtils.createPath(fileInfo);
+		long fileSize = Files.size(path);
+		long lastModified = Files.getLastModifiedTime(path).toMillis();
+		
+		CsvRowIndex index;
+		try (CsvTokenizer tokenizer = new StreamCsvTokenizer(FileUtils.createFileInputStream(fileInfo), separator)) {
+			tokenizer.next();
+			index = CsvRowIndex.build(tokenizer, interval, fileSize, lastModified);
+		}
+		index.save(FileUtils.createSidecarPath(fileInfo, INDEX_SUFFIX));
+		return index;
+	}
+	
+	/**
+	 * Random access read: return count records starting from the record fromRow (0 is the first record after the header).
+	 * <br>
+	 * The read seeks to the closest record indexed by the {@link CsvRowIndex} sidecar file and parses only the records it needs, 
+	 * so the cost doesn't depend on the size of the file. 
+	 * If the sidecar file doesn't exist or the file has been modified after the index was built, 
+	 * the index is rebuilt with {@link CsvRowIndex#DEFAULT_INTERVAL}.
+	 * 
+	 * @throws IOException if the file can not be found, or if the data can not be parsed correctly.
+	 */
+	public <T> List<T> readRange(@NonNull final FileInfo fileInfo, char separator, long fromRow, int count, Class<T> clazz) throws IOException {
+		if(fromRow < 0 || count < 0) {
+			throw new IllegalArgumentException("fromRow and count must not be negative");
+		}
+		CsvRowIndex index = loadIndex(fileInfo, separator);
+		if(fromRow >= index.getRowCount() || count == 0) {
+			return new ArrayList<>();
+		}
+		
+		String[] header;
+		try (CsvTokenizer tokenizer = new StreamCsvTokenizer(FileUtils.createFileInputStream(fileInfo), separator)) {
+			header = tokenizer.next() ? tokenizer.getFields() : new String[0];
+		}
+		
+		long indexedRow = index.indexedRowAtOrBefore(fromRow);
+		long offset = index.offsetOf(indexedRow);
+		CsvTokenizer tokenizer = new StreamCsvTokenizer(FileUtils.createFileRangeInputStream(fileInfo, offset, Long.MAX_VALUE), separator, offset);
+		try (CsvRecordIterator<T> iterator = new CsvRecordIterator<>(tokenizer, binder(clazz, header, List.of()))) {
+			for(long row = indexedRow; row < fromRow; row++) {
+				tokenizer.next();
+			}
+			List<T> records = new ArrayList<>(count);
+			while(records.size() < count && iterator.hasNext()) {
+				records.add(iterator.next());
+			}
+			return records;
+		}
+	}
+	
+	/**
+	 * Tolerant read: records that can not be bound to clazz are written to the quarantine sink (line number, raw text and exception) 
+	 * and skipped.
+	 * 
+	 * @throws IOException if the file can not be found, or if the quarantine sink can not be written.
+	 */
+	public <T> List<T> read(@NonNull final FileInfo fileInfo, char separator, Class<T> clazz, @NonNull final CsvRecordSink<CsvRejectedRecord> quarantine) throws IOException {
+		try (CsvRecordIterator<T> iterator = iterator(fileInfo, separator, clazz, quarantine)) {
+			return iterator.readAll();
+		}
+	}
+	
+	/**
+	 * Projection read: only the fields of the columns present in the list are decoded and bound to clazz, 
+	 * the fields of the other columns are skipped by the tokenizer without creating any String.
+	 * 
+	 * @throws IOException if the file can not be found, or if the data can not be parsed correctly.
+	 * @throws IllegalArgumentException if a column is not present in the header.
+	 */
+	public <T> List<T> read(@NonNull final FileInfo fileInfo, char separator, @NonNull final List<String> columns, Class<T> clazz) throws IOException {
+		return read(fileInfo, separator, columns, clazz, CsvReadEngine.STREAM);
+	}
+	
+	/**
+	 * Read all the columns using the given engine instead of the jackson parser.
+	 * 
+	 * @throws IOException if the file can not be found, or if the data can not be parsed correctly.
+	 */
+	public <T> List<T> read(@NonNull final FileInfo fileInfo, char separator, Class<T> clazz, @NonNull final CsvReadEngine readEngine) throws IOException {
+		return read(fileInfo, separator, List.of(), clazz, readEngine);
+	}
+	
+	/**
+	 * Projection read using the given engine, an empty list of columns selects all the columns.
+	 * 
+	 * @throws IOException if the file can not be found, or if the data can not be parsed correctly.
+	 * @throws IllegalArgumentException if a column is not present in the header.
+	 */
+	public <T> List<T> read(@NonNull final FileInfo fileInfo, char separator, @NonNull final List<String> columns, Class<T> clazz, @NonNull final CsvReadEngine readEngine) throws IOException {
+		return read(fileInfo, separator, columns, clazz, List.of(), readEngine);
+	}
+	
+	/**
+	 * Filtered read: the filters are evaluated on the raw fields while parsing, 
+	 * records that don't satisfy all of them are skipped without being bound to clazz.
+	 * 
+	 * @throws IOException if the file can not be found, or if the data can not be parsed correctly.
+	 * @throws IllegalArgumentException if the field of a filter is not present in the header.
+	 */
+	public <T> List<T> read(@NonNull final FileInfo fileInfo, char separator, Class<T> clazz, @NonNull final List<FieldFilter> filters) throws IOException {
+		return read(fileInfo, separator, List.of(), clazz, filters, CsvReadEngine.STREAM);
+	}
+	
+	/**
+	 * Projection and filtered read using the given engine, an empty list of columns selects all the columns.
+	 * 
+	 * @throws IOException if the file can not be found, or if the data can not be parsed correctly.
+	 * @throws IllegalArgumentException if a column or the field of a filter is not present in the header.
+	 */
+	public <T> List<T> read(@NonNull final FileInfo fileInfo, char separator, @NonNull final List<String> columns, Class<T> clazz, @NonNull final List<FieldFilter> filters, @NonNull final CsvReadEngine readEngine) throws IOException {
+		try (CsvRecordIterator<T> iterator = iterator(fileInfo, separator, columns, clazz, filters, readEngine)) {
+			return iterator.readAll();
+		}
+	}
+	
+	/**
+	 * Columnar read: the selected columns are loaded straight into primitive arrays, without creating an object for every record.
+	 * 
+	 * @throws IOException if the file can not be found, or if the data can not be read.
+	 * @throws IllegalArgumentException if a column is not present in the header.
+	 * @throws NumberFormatException if a field can not be parsed to the type of its column.
+	 */
+	public CsvColumnBatch readColumns(@NonNull final FileInfo fileInfo, char separator, @NonNull final List<ColumnDefinition> columns) throws IOException {
+		return readColumns(fileInfo, separator, columns, CsvReadEngine.STREAM);
+	}
+	
+	/**
+	 * Columnar read using the given engine.
+	 * 
+	 * @throws IOException if the file can not be found, or if the data can not be read.
+	 * @throws IllegalArgumentException if a column is not present in the header.
+	 * @throws NumberFormatException if a field can not be parsed to the type of its column.
+	 */
+	public CsvColumnBatch readColumns(@NonNull final FileInfo fileInfo, char separator, @NonNull final List<ColumnDefinition> columns, @NonNull final CsvReadEngine readEngine) throws IOException {
+		try (CsvTokenizer tokenizer = createTokenizer(fileInfo, separator, readEngine)) {
+			return CsvColumnarLoader.load(tokenizer, columns);
+		}
+	}
+	
+	/**
+	 * External merge sort of input by orders into output, using the default {@link CsvSortConfig}.
+	 * 
+	 * @throws IOException if input can not be read, or if output or the temporary runs can not be written.
+	 * @throws IllegalArgumentException if the field of an order is not present in the header.
+	 */
+	public void sort(@NonNull final FileInfo input, @NonNull final FileInfo output, char separator, @NonNull final List<FieldOrder> orders) throws IOException {
+		sort(input, output, separator, orders, CsvSortConfig.DEFAULT);
+	}
+	
+	/**
+	 * External merge sort of input by orders into output: files bigger than the memory budget are sorted 
+	 * writing sorted runs in the temp directory and merging them, see {@link CsvExternalSorter}.
+	 * 
+	 * @throws IOException if input can not be read, if output or the temporary runs can not be written, or if the temp directory budget is exceeded.
+	 * @throws IllegalArgumentException if the field of an order is not present in the header.
+	 */
+	public void sort(@NonNull final FileInfo input, @NonNull final FileInfo output, char separator, @NonNull final List<FieldOrder> orders, @NonNull final CsvSortConfig sortConfig) throws IOException {
+		new CsvExternalSorter(sortConfig).sort(input, output, separator, orders);
+	}
+	
+	/**
+	 * Streaming diff of oldFile and newFile on keyColumn with the default memory budget, see {@link #diff(FileInfo, FileInfo, char, String, Class, Consumer, CsvDiffConfig)}.
+	 */
+	public <T> void diff(@NonNull final FileInfo oldFile, @NonNull final FileInfo newFile, char separator, @NonNull final String keyColumn, Class<T> clazz, @NonNull final Consumer<CsvDiffRecord<T>> consumer) throws IOException {
+		diff(oldFile, newFile, separator, keyColumn, clazz, consumer, CsvDiffConfig.DEFAULT);
+	}
+	
+	/**
+	 * Streaming diff of oldFile and newFile on keyColumn: every added, removed or changed record is passed to consumer, 
+	 * only the keys and the positions of the records of the smaller file are held in memory, see {@link CsvHashDiff}.
+	 * <br>
+	 * Both files must have the same columns in the same order, and keys must be unique.
+	 * 
+	 * @throws IOException if a file can not be read, or if a partition can not be written in the temp directory.
+	 * @throws IllegalArgumentException if keyColumn is not present in the header, or if a key is duplicated.
+	 */
+	public <T> void diff(@NonNull final FileInfo oldFile, @NonNull final FileInfo newFile, char separator, @NonNull final String keyColumn, Class<T> clazz, @NonNull final Consumer<CsvDiffRecord<T>> consumer, @NonNull final CsvDiffConfig diffConfig) throws IOException {
+		new CsvHashDiff(mapperReader, diffConfig).diff(oldFile, newFile, separator, keyColumn, clazz, consumer);
+	}
+	
+	/**
+	 * One pass profile of every column (null ratio, distinct count, min/max, numeric and length distribution), 
+	 * chunks of about {@link CsvChunkSplitter#DEFAULT_CHUNK_SIZE} bytes are profiled in parallel, see {@link CsvProfiler}.
+	 * 
+	 * @throws IOException if the file can not be read.
+	 */
+	public CsvProfile profile(@NonNull final FileInfo fileInfo, char separator) throws IOException {
+		return profile(fileInfo, separator, CsvChunkSplitter.DEFAULT_CHUNK_SIZE);
+	}
+	
+	/**
+	 * One pass profile of every column (null ratio, distinct count, min/max, numeric and length distribution), 
+	 * chunks of about chunkSize bytes are profiled in parallel, see {@link CsvProfiler}.
+	 * 
+	 * @throws IOException if the file can not be read.
+	 */
+	public CsvProfile profile(@NonNull final FileInfo fileInfo, char separator, long chunkSize) throws IOException {
+		return new CsvProfiler().profile(fileInfo, separator, chunkSize);
+	}
+	
+	/**
+	 * Parallel read: the file is split in chunks of about {@link CsvChunkSplitter#DEFAULT_CHUNK_SIZE} bytes aligned to record boundaries, 
+	 * every chunk is parsed by a different thread of the ForkJoinPool that evaluates the stream.
+	 * <br>
+	 * Remember to close the Stream (e.g. using try-with-resources) in order to release any resources associated with it.
+	 * 
+	 * @throws IOException if the file can not be found, or if the header can not be parsed correctly.
+	 */
+	public <T> Stream<T> stream(@NonNull final FileInfo fileInfo, char separator, Class<T> clazz, @NonNull final CsvReadOrder readOrder) throws IOException {
+		return stream(fileInfo, separator, clazz, readOrder, CsvChunkSplitter.DEFAULT_CHUNK_SIZE);
+	}
+	
+	/**
+	 * Parallel read: the file is split in chunks of about chunkSize bytes aligned to record boundaries, 
+	 * every chunk is parsed by a different thread of the ForkJoinPool that evaluates the stream.
+	 * <br>
+	 * Remember to close the Stream (e.g. using try-with-resources) in order to release any resources associated with it.
+	 * 
+	 * @throws IOException if the file can not be found, or if the header can not be parsed correctly.
+	 */
+	public <T> Stream<T> stream(@NonNull final FileInfo fileInfo, char separator, Class<T> clazz, @NonNull final CsvReadOrder readOrder, long chunkSize) throws IOException {
+		CsvChunkSpliterator<T> spliterator = spliterator(fileInfo, separator, clazz, readOrder, chunkSize);
+		
+		Stream<T> stream = StreamSupport.stream(spliterator, true)
+										.onClose(spliterator::close);
+		
+		return readOrder == CsvReadOrder.ORDERED ? stream : stream.unordered();
+	}
+	
+	/**
+	 * Remember to close the Spliterator using <b>spliterator.close()</b> in order to release any resources associated with it.
+	 * 
+	 * @throws IOException if the file can not be found, or if the header can not be parsed correctly.
+	 */
+	public <T> CsvChunkSpliterator<T> spliterator(@NonNull final FileInfo fileInfo, char separator, Class<T> clazz, @NonNull final CsvReadOrder readOrder, long chunkSize) throws IOException {
+		long headerEnd;
+		List<CsvChunk> chunks;
+		try (FileChannel fileChannel = FileUtils.createFileChannel(fileInfo)) {
+			headerEnd = CsvChunkSplitter.findHeaderEnd(fileChannel, separator);
+			chunks = CsvChunkSplitter.split(fileChannel, separator, headerEnd, fileChannel.size(), chunkSize);
+		}
+		
+		String[] header = readHeader(fileInfo, separator, headerEnd);
+		
+		// the schema depends on the header of the file, only the reader without schema is cached
+		ObjectReader chunkReader = reader(clazz).with(buildReaderCsvSchema(separator, header));
+		
+		return new CsvChunkSpliterator<>(
+				chunks, 
+				chunk -> chunkReader.readValues(FileUtils.createFileRangeInputStream(fileInfo, chunk.getStart(), chunk.getEnd())), 
+				readOrder);
 	}
 	
 	/**
@@ -74,9 +546,9 @@ public class CsvFileUtils {
 	 */
 	public <T> void write(@NonNull final FileInfo fileInfo, char separator, Class<T> clazz, @NonNull final List<T> records) throws IOException {
 		
-		CsvSchema schema = buildWriterCsvSchema(mapperReader, separator, clazz);
+		CsvSchema schema = writerSchema(clazz, separator);
 
-		writeFile(clazz, schema, fileInfo, records);
+		writeFile(writer(CodecKey.of(clazz, separator), clazz, schema), fileInfo, records);
 		
 	}
 	
@@ -86,9 +558,9 @@ public class CsvFileUtils {
 	 */
 	public <T> void write(@NonNull final FileInfo fileInfo, char separator, List<String> columns, Class<T> clazz, @NonNull final List<T> records) throws IOException {
 		
-		CsvSchema schema = buildWriterCsvSchema(separator, columns);
+		CsvSchema schema = writerSchema(separator, columns);
 
-		writeFile(clazz, schema, fileInfo, records);
+		writeFile(writer(CodecKey.of(clazz, separator, List.copyOf(columns)), clazz, schema), fileInfo, records);
 		
 	}
 	
@@ -119,15 +591,260 @@ public class CsvFileUtils {
 		
 	}
 	
-	private <T> void writeFile(Class<T> clazz, CsvSchema schema, FileInfo fileInfo, final List<T> records) throws IOException {
+	/**
+	 * Streaming write: records are consumed one by one and flushed in batches, so they never need to be all in memory.
+	 */
+	public <T> void write(@NonNull final FileInfo fileInfo, char separator, Class<T> clazz, @NonNull final Iterator<T> records) throws IOException {
+		try (CsvRecordSink<T> sink = sink(fileInfo, separator, clazz)) {
+			sink.writeAll(records);
+		}
+	}
+	
+	/**
+	 * Streaming write: records are consumed one by one and flushed in batches, so they never need to be all in memory.
+	 * <br>
+	 * columns represent the columns header, it will be used to write only the columns present in this list. 
+	 * It will also be used to order them, otherwise the alphabetical order will be applied.
+	 */
+	public <T> void write(@NonNull final FileInfo fileInfo, char separator, List<String> columns, Class<T> clazz, @NonNull final Iterator<T> records) throws IOException {
+		try (CsvRecordSink<T> sink = sink(fileInfo, separator, columns, clazz)) {
+			sink.writeAll(records);
+		}
+	}
+	
+	/**
+	 * Streaming write: records are consumed one by one and flushed in batches, so they never need to be all in memory.
+	 * <br>
+	 * The Stream is not closed.
+	 */
+	public <T> void write(@NonNull final FileInfo fileInfo, char separator, Class<T> clazz, @NonNull final Stream<T> records) throws IOException {
+		write(fileInfo, separator, clazz, records.iterator());
+	}
+	
+	/**
+	 * Streaming write: records are consumed one by one and flushed in batches, so they never need to be all in memory.
+	 * <br>
+	 * The Stream is not closed.
+	 * <br>
+	 * columns represent the columns header, it will be used to write only the columns present in this list. 
+	 * It will also be used to order them, otherwise the alphabetical order will be applied.
+	 */
+	public <T> void write(@NonNull final FileInfo fileInfo, char separator, List<String> columns, Class<T> clazz, @NonNull final Stream<T> records) throws IOException {
+		write(fileInfo, separator, columns, clazz, records.iterator());
+	}
+	
+	/**
+	 * Push-style write: records are flushed every {@link CsvWriterConfig#getBatchSize()} records.
+	 * <br>
+	 * Remember to close the sink using <b>sink.close()</b> in order to flush the last records and release any resources associated with it.
+	 */
+	public <T> CsvRecordSink<T> sink(@NonNull final FileInfo fileInfo, char separator, Class<T> clazz) throws IOException {
+		
+		CsvSchema schema = writerSchema(clazz, separator);
+		
+		return openSink(writer(CodecKey.of(clazz, separator), clazz, schema), fileInfo);
+		
+	}
+	
+	/**
+	 * Push-style write: records are flushed every {@link CsvWriterConfig#getBatchSize()} records.
+	 * <br>
+	 * Remember to close the sink using <b>sink.close()</b> in order to flush the last records and release any resources associated with it.
+	 * <br>
+	 * columns represent the columns header, it will be used to write only the columns present in this list. 
+	 * It will also be used to order them, otherwise the alphabetical order will be applied.
+	 */
+	public <T> CsvRecordSink<T> sink(@NonNull final FileInfo fileInfo, char separator, List<String> columns, Class<T> clazz) throws IOException {
+		
+		CsvSchema schema = writerSchema(separator, columns);
+		
+		return openSink(writer(CodecKey.of(clazz, separator, List.copyOf(columns)), clazz, schema), fileInfo);
+		
+	}
+	
+	/**
+	 * Partitioned write: every record is written in the file that fileInfoProvider returns for its key, 
+	 * so a single pass over the records produces all the files.
+	 * <br>
+	 * At most maxOpenFiles files are open at the same time, see {@link CsvPartitionedRecordSink}.
+	 * <br>
+	 * Remember to close the sink using <b>sink.close()</b> in order to flush the last records and release any resources associated with it.
+	 */
+	public <T, K> CsvPartitionedRecordSink<T, K> partitionedSink(
+			char separator, 
+			Class<T> clazz, 
+			@NonNull final Function<? super T, ? extends K> keyExtractor, 
+			@NonNull final Function<? super K, FileInfo> fileInfoProvider, 
+			int maxOpenFiles) {
+		
+		CsvSchema schema = writerSchema(clazz, separator);
+		
+		return new CsvPartitionedRecordSink<>(writer(clazz), schema, keyExtractor, fileInfoProvider, maxOpenFiles, writerBatchSize);
+		
+	}
+	
+	/**
+	 * Partitioned write: every record is written in the file that fileInfoProvider returns for its key, 
+	 * keeping open at most {@link CsvPartitionedRecordSink#DEFAULT_MAX_OPEN_FILES} files.
+	 * <br>
+	 * The Stream is not closed.
+	 * 
+	 * @return the partition keys of the records written.
+	 */
+	public <T, K> Set<K> writePartitioned(
+			char separator, 
+			Class<T> clazz, 
+			@NonNull final Function<? super T, ? extends K> keyExtractor, 
+			@NonNull final Function<? super K, FileInfo> fileInfoProvider, 
+			@NonNull final Stream<T> records) throws IOException {
+		try (CsvPartitionedRecordSink<T, K> sink = partitionedSink(separator, clazz, keyExtractor, fileInfoProvider, CsvPartitionedRecordSink.DEFAULT_MAX_OPEN_FILES)) {
+			sink.writeAll(records.iterator());
+			return sink.getPartitions();
+		}
+	}
+	
+	/**
+	 * Rolling write: a new file is started every maxRows records or maxBytes bytes, the files are named after fileInfo 
+	 * followed by a sequence number and every file starts with the header, see {@link CsvRollingRecordSink}.
+	 * <br>
+	 * Remember to close the sink using <b>sink.close()</b> in order to flush the last records and release any resources associated with it.
+	 */
+	public <T> CsvRollingRecordSink<T> rollingSink(@NonNull final FileInfo fileInfo, char separator, Class<T> clazz, long maxRows, long maxBytes) {
+		
+		CsvSchema schema = writerSchema(clazz, separator);
+		
+		return new CsvRollingRecordSink<>(writer(clazz), schema, fileInfo, maxRows, maxBytes, writerBatchSize);
+		
+	}
+	
+	/**
+	 * Rolling write: a new file is started every maxRows records or maxBytes bytes, the files are named after fileInfo 
+	 * followed by a sequence number and every file starts with the header.
+	 * <br>
+	 * The Stream is not closed.
+	 * 
+	 * @return the files written, in order.
+	 */
+	public <T> List<FileInfo> writeRolling(@NonNull final FileInfo fileInfo, char separator, Class<T> clazz, long maxRows, long maxBytes, @NonNull final Stream<T> records) throws IOException {
+		try (CsvRollingRecordSink<T> sink = rollingSink(fileInfo, separator, clazz, maxRows, maxBytes)) {
+			sink.writeAll(records.iterator());
+			return sink.getFiles();
+		}
+	}
+	
+	/**
+	 * Quarantine file for the tolerant read: every {@link CsvRejectedRecord} is written with its line number, offset, error and raw text, 
+	 * values are quoted when needed so the raw text can contain separators and line breaks.
+	 * <br>
+	 * Remember to close the sink using <b>sink.close()</b> in order to flush the last records and release any resources associated with it.
+	 */
+	public CsvRecordSink<CsvRejectedRecord> quarantineSink(@NonNull final FileInfo fileInfo, char separator) throws IOException {
+		
+		CsvSchema schema = codecs.schema(
+				CodecKey.of(CsvRejectedRecord.class, separator, QUARANTINE), 
+				key -> mapperWriter.schemaFor(CsvRejectedRecord.class)
+								   .withColumnSeparator(separator)
+								   .withHeader());
+		
+		return openSink(writer(CodecKey.of(CsvRejectedRecord.class, separator, QUARANTINE), CsvRejectedRecord.class, schema), fileInfo);
+		
+	}
+	
+	private <T> CsvRecordSink<T> openSink(ObjectWriter writer, FileInfo fileInfo) throws IOException {
+		return new CsvFileRecordSink<>(
+				writer, 
+				FileUtils.createFileOutputStream(fileInfo), 
+				writerBatchSize);
+	}
+	
+	private <T> void writeFile(ObjectWriter writer, FileInfo fileInfo, final List<T> records) throws IOException {
 		try (OutputStream fileOutputStream = FileUtils.createFileOutputStream(fileInfo)) {
-			mapperWriter.writerFor(clazz)
-				  .with(schema)
-				  .writeValues(fileOutputStream)
+			writer.writeValues(fileOutputStream)
 				  .writeAll(records);
 		}
 	}
 	
+	/**
+	 * cached reader of the jackson parser, the columns are taken from the header line
+	 */
+	private ObjectReader headerReader(Class<?> clazz, char separator) {
+		return codecs.reader(CodecKey.of(clazz, separator), key -> mapperReader.readerFor(clazz).with(buildReaderCsvSchema(separator)));
+	}
+	
+	/**
+	 * cached reader of clazz without schema, used by the {@link CsvRecordBinder} and by the spliterators that set the schema of every file
+	 */
+	private ObjectReader reader(Class<?> clazz) {
+		return codecs.reader(CodecKey.of(clazz), key -> mapperReader.readerFor(clazz));
+	}
+	
+	private <T> CsvRecordBinder<T> binder(Class<T> clazz, String[] header, List<String> columns) {
+		return CsvRecordBinder.of(mapperReader, reader(clazz), header, columns);
+	}
+	
+	private CsvSchema writerSchema(Class<?> clazz, char separator) {
+		return codecs.schema(CodecKey.of(clazz, separator), key -> buildWriterCsvSchema(mapperReader, separator, clazz));
+	}
+	
+	private CsvSchema writerSchema(char separator, List<String> columns) {
+		return codecs.schema(CodecKey.of(CsvSchema.class, separator, List.copyOf(columns)), key -> buildWriterCsvSchema(separator, columns));
+	}
+	
+	/**
+	 * cached writer of clazz with schema, key must identify schema
+	 */
+	private ObjectWriter writer(CodecKey key, Class<?> clazz, CsvSchema schema) {
+		return codecs.writer(key, k -> mapperWriter.writerFor(clazz).with(schema));
+	}
+	
+	/**
+	 * cached writer of clazz without schema, used by the sinks that set the schema of every file
+	 */
+	private ObjectWriter writer(Class<?> clazz) {
+		return codecs.writer(CodecKey.of(clazz), key -> mapperWriter.writerFor(clazz));
+	}
+	
+	private <T> CsvRecordIterator<T> openIterator(
+			FileInfo fileInfo, 
+			char separator, 
+			List<String> columns, 
+			Class<T> clazz, 
+			List<FieldFilter> filters, 
+			CsvReadEngine readEngine, 
+			CsvRecordSink<CsvRejectedRecord> quarantine) throws IOException {
+		CsvTokenizer tokenizer = createTokenizer(fileInfo, separator, readEngine);
+		try {
+			String[] header = tokenizer.next() ? tokenizer.getFields() : new String[0];
+			return new CsvRecordIterator<>(
+					tokenizer, 
+					binder(clazz, header, columns), 
+					CsvRecordFilter.of(mapperReader, header, filters), 
+					quarantine);
+		} catch (IOException | RuntimeException e) {
+			tokenizer.close();
+			throw e;
+		}
+	}
+	
+	private CsvRowIndex loadIndex(FileInfo fileInfo, char separator) throws IOException {
+		Path path = FileUtils.createPath(fileInfo);
+		Optional<CsvRowIndex> index = CsvRowIndex.load(FileUtils.createSidecarPath(fileInfo, INDEX_SUFFIX));
+		if(index.isPresent() && index.get().isValidFor(Files.size(path), Files.getLastModifiedTime(path).toMillis())) {
+			return index.get();
+		}
+		return buildIndex(fileInfo, separator, CsvRowIndex.DEFAULT_INTERVAL);
+	}
+	
+	private static CsvTokenizer createTokenizer(FileInfo fileInfo, char separator, CsvReadEngine readEngine) throws IOException {
+		switch (readEngine) {
+			case MAPPED:
+				return new MappedCsvTokenizer(FileUtils.createPath(fileInfo), separator);
+			case STREAM:
+			default:
+				return new StreamCsvTokenizer(FileUtils.createFileInputStream(fileInfo), separator);
+		}
+	}
+	
 	/**
 	 * return a CsvSchema configured with separator and header line
 	 */
@@ -137,6 +854,35 @@ public class CsvFileUtils {
 						.withHeader();
 	}
 	
+	/**
+	 * return a CsvSchema configured with separator and the columns of the header line, 
+	 * used to read records that don't start from the beginning of the file.
+	 */
+	private static CsvSchema buildReaderCsvSchema(char separator, String[] header) {
+		Builder builder = CsvSchema.builder();
+		
+		for(String column : header) {
+			builder = builder.addColumn(column);
+		}
+		
+		return builder.build()
+					  .withColumnSeparator(separator);
+	}
+	
+	/**
+	 * return the columns of the header line, which ends at headerEnd
+	 */
+	private String[] readHeader(FileInfo fileInfo, char separator, long headerEnd) throws IOException {
+		ObjectReader headerLineReader = codecs.reader(
+				CodecKey.of(String[].class, separator, HEADER_LINE), 
+				key -> mapperReader.readerFor(String[].class)
+								   .with(CsvParser.Feature.WRAP_AS_ARRAY)
+								   .with(CsvSchema.emptySchema().withColumnSeparator(separator)));
+		try (MappingIterator<String[]> iterator = headerLineReader.readValues(FileUtils.createFileRangeInputStream(fileInfo, 0, headerEnd))) {
+			return iterator.hasNext() ? iterator.next() : new String[0];
+		}
+	}
+	
 	private static <T> CsvSchema buildWriterCsvSchema(CsvMapper mapper, char separator, Class<T> clazz) {
 		return mapper.schemaFor(clazz)
 			 	 	 .withColumnSeparator(separator)
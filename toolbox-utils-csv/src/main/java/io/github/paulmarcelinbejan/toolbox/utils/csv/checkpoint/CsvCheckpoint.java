@@ -0,0 +1,111 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.checkpoint;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.Properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * Position of the last committed record of a CSV file: the iteration can be resumed right after it.
+ * <br>
+ * The size and the modification time of the file are saved too, so a checkpoint is not applied to another version of the file.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CsvCheckpoint {
+	
+	private static final String OFFSET = "offset";
+	private static final String ROW_NUMBER = "rowNumber";
+	private static final String FILE_SIZE = "fileSize";
+	private static final String FILE_LAST_MODIFIED = "fileLastModified";
+	private static final String TEMP_SUFFIX = ".tmp";
+	
+	/**
+	 * absolute position in the file right after the last committed record.
+	 */
+	private final long offset;
+	
+	/**
+	 * number of records (header excluded) up to the last committed record.
+	 */
+	private final long rowNumber;
+	
+	/**
+	 * size of the file when the iteration started.
+	 */
+	private final long fileSize;
+	
+	/**
+	 * modification time of the file in milliseconds when the iteration started.
+	 */
+	private final long fileLastModified;
+	
+	/**
+	 * @return a checkpoint of the same version of the file at offset.
+	 */
+	public CsvCheckpoint moveTo(long offset, long rowNumber) {
+		return new CsvCheckpoint(offset, rowNumber, fileSize, fileLastModified);
+	}
+	
+	/**
+	 * @return true if the checkpoint has been saved for the file with fileSize and fileLastModified, and its offset is inside the file.
+	 */
+	public boolean isValidFor(long fileSize, long fileLastModified) {
+		return this.fileSize == fileSize 
+				&& this.fileLastModified == fileLastModified 
+				&& offset >= 0 
+				&& offset <= fileSize;
+	}
+	
+	/**
+	 * @return the checkpoint saved in path, or empty if path doesn't exist.
+	 * @throws IOException if path can not be read or doesn't contain a valid checkpoint.
+	 */
+	public static Optional<CsvCheckpoint> load(@NonNull final Path path) throws IOException {
+		if(!Files.exists(path)) {
+			return Optional.empty();
+		}
+		Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		}
+		try {
+			return Optional.of(new CsvCheckpoint(
+					Long.parseLong(properties.getProperty(OFFSET)), 
+					Long.parseLong(properties.getProperty(ROW_NUMBER)), 
+					Long.parseLong(properties.getProperty(FILE_SIZE)), 
+					Long.parseLong(properties.getProperty(FILE_LAST_MODIFIED))));
+		} catch (NumberFormatException e) {
+			throw new IOException("Invalid checkpoint " + path, e);
+		}
+	}
+	
+	/**
+	 * Save the checkpoint in path, replacing it atomically so a crash while saving never leaves a corrupted checkpoint.
+	 */
+	public void save(@NonNull final Path path) throws IOException {
+		Properties properties = new Properties();
+		properties.setProperty(OFFSET, Long.toString(offset));
+		properties.setProperty(ROW_NUMBER, Long.toString(rowNumber));
+		properties.setProperty(FILE_SIZE, Long.toString(fileSize));
+		properties.setProperty(FILE_LAST_MODIFIED, Long.toString(fileLastModified));
+		
+		Path temp = path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
+		try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+			properties.store(writer, null);
+		}
+		Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+}
@@ -0,0 +1,117 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.checkpoint;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvRecordIterator;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Iterator that saves a {@link CsvCheckpoint} of the last committed record, so a failed iteration can be resumed from there.
+ * <br>
+ * The records returned by {@link #next()} are committed calling {@link #commit()} once they have been processed. 
+ * The checkpoint is saved every checkpointInterval committed records and when the iterator is closed.
+ * <br>
+ * Remember to close the iterator using <b>iterator.close()</b> in order to save the last checkpoint and release any resources associated with it.
+ */
+public class CsvCheckpointingIterator<T> implements Iterator<T>, Closeable {
+	
+	/**
+	 * @param iterator iterator positioned right after start.
+	 * @param checkpointPath file where the checkpoint is saved.
+	 * @param start checkpoint the iteration starts from.
+	 */
+	public CsvCheckpointingIterator(
+			@NonNull final CsvRecordIterator<T> iterator, 
+			@NonNull final Path checkpointPath, 
+			@NonNull final CsvCheckpoint start, 
+			int checkpointInterval) {
+		if(checkpointInterval <= 0) {
+			throw new IllegalArgumentException("checkpointInterval must be greater than zero");
+		}
+		this.iterator = iterator;
+		this.checkpointPath = checkpointPath;
+		this.checkpointInterval = checkpointInterval;
+		this.start = start;
+		this.checkpoint = start;
+		this.savedCheckpoint = start;
+	}
+	
+	private final CsvRecordIterator<T> iterator;
+	
+	private final Path checkpointPath;
+	
+	private final int checkpointInterval;
+	
+	/**
+	 * checkpoint the iteration started from.
+	 */
+	@Getter
+	private final CsvCheckpoint start;
+	
+	/**
+	 * checkpoint of the last committed record.
+	 */
+	@Getter
+	private CsvCheckpoint checkpoint;
+	
+	private CsvCheckpoint savedCheckpoint;
+	
+	@Override
+	public boolean hasNext() {
+		return iterator.hasNext();
+	}
+	
+	@Override
+	public T next() {
+		return iterator.next();
+	}
+	
+	/**
+	 * Commit all the records returned by {@link #next()} so far, the checkpoint is saved if at least checkpointInterval records 
+	 * have been committed since the last time it was saved.
+	 */
+	public void commit() {
+		if(iterator.getLastReturnedRowsRead() == 0) {
+			return;
+		}
+		checkpoint = start.moveTo(iterator.getLastReturnedOffset(), start.getRowNumber() + iterator.getLastReturnedRowsRead());
+		if(checkpoint.getRowNumber() - savedCheckpoint.getRowNumber() >= checkpointInterval) {
+			try {
+				save();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+	
+	/**
+	 * Delete the checkpoint file, to be called once the whole file has been processed so the next iteration starts from the beginning.
+	 */
+	public void deleteCheckpoint() throws IOException {
+		Files.deleteIfExists(checkpointPath);
+		savedCheckpoint = checkpoint;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		try {
+			if(checkpoint != savedCheckpoint) {
+				save();
+			}
+		} finally {
+			iterator.close();
+		}
+	}
+	
+	private void save() throws IOException {
+		checkpoint.save(checkpointPath);
+		savedCheckpoint = checkpoint;
+	}
+	
+}
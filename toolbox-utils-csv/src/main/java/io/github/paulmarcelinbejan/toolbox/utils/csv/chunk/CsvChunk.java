@@ -0,0 +1,23 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.chunk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Byte range [start, end) of a CSV file that starts and ends on a record boundary.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CsvChunk {
+	
+	private final long start;
+	
+	private final long end;
+	
+	public long length() {
+		return end - start;
+	}
+
+}
@@ -0,0 +1,150 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.chunk;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+
+import io.github.paulmarcelinbejan.toolbox.base.functional_interfaces.function.FunctionUtilsExceptionable.FunctionWithException;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.config.CsvReadOrder;
+
+/**
+ * Spliterator over the records of a list of {@link CsvChunk}.
+ * <br>
+ * Every split takes half of the chunks still to be read, so each chunk is parsed by a single thread of the ForkJoinPool that evaluates the stream.
+ * <br>
+ * Remember to call <b>close()</b> (or to close the Stream built on top of it) in order to release the resources of the chunks not fully consumed.
+ */
+public class CsvChunkSpliterator<T> implements Spliterator<T>, AutoCloseable {
+	
+	public CsvChunkSpliterator(
+			List<CsvChunk> chunks,
+			FunctionWithException<CsvChunk, MappingIterator<T>, IOException> chunkReader,
+			CsvReadOrder readOrder) {
+		this(chunks, 0, chunks.size(), chunkReader, readOrder, ConcurrentHashMap.newKeySet());
+	}
+	
+	private CsvChunkSpliterator(
+			List<CsvChunk> chunks,
+			int index,
+			int fence,
+			FunctionWithException<CsvChunk, MappingIterator<T>, IOException> chunkReader,
+			CsvReadOrder readOrder,
+			Set<MappingIterator<T>> openIterators) {
+		this.chunks = chunks;
+		this.index = index;
+		this.fence = fence;
+		this.chunkReader = chunkReader;
+		this.readOrder = readOrder;
+		this.openIterators = openIterators;
+	}
+	
+	private final List<CsvChunk> chunks;
+	
+	private final FunctionWithException<CsvChunk, MappingIterator<T>, IOException> chunkReader;
+	
+	private final CsvReadOrder readOrder;
+	
+	/**
+	 * shared between all the spliterators created by trySplit, in order to close them all at once.
+	 */
+	private final Set<MappingIterator<T>> openIterators;
+	
+	private int index;
+	
+	private final int fence;
+	
+	private MappingIterator<T> current;
+	
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		while(true) {
+			if(current == null) {
+				if(index >= fence) {
+					return false;
+				}
+				current = open(chunks.get(index++));
+			}
+			if(current.hasNext()) {
+				action.accept(current.next());
+				return true;
+			}
+			closeCurrent();
+		}
+	}
+	
+	@Override
+	public Spliterator<T> trySplit() {
+		int remaining = fence - index;
+		if(current != null || remaining < 2) {
+			return null;
+		}
+		int middle = index + remaining / 2;
+		CsvChunkSpliterator<T> prefix = new CsvChunkSpliterator<>(chunks, index, middle, chunkReader, readOrder, openIterators);
+		index = middle;
+		return prefix;
+	}
+	
+	/**
+	 * return the number of bytes still to be read, it is used by the stream to decide how much to split.
+	 */
+	@Override
+	public long estimateSize() {
+		long size = 0;
+		for(int i = index; i < fence; i++) {
+			size += chunks.get(i).length();
+		}
+		return size;
+	}
+	
+	@Override
+	public int characteristics() {
+		return readOrder == CsvReadOrder.ORDERED ? ORDERED | NONNULL : NONNULL;
+	}
+	
+	/**
+	 * Close every iterator still open, also the ones opened by the spliterators created by trySplit.
+	 */
+	@Override
+	public void close() {
+		UncheckedIOException exception = null;
+		for(MappingIterator<T> iterator : openIterators) {
+			try {
+				iterator.close();
+			} catch (IOException e) {
+				exception = new UncheckedIOException(e);
+			}
+		}
+		openIterators.clear();
+		if(exception != null) {
+			throw exception;
+		}
+	}
+	
+	private MappingIterator<T> open(CsvChunk chunk) {
+		try {
+			MappingIterator<T> iterator = chunkReader.apply(chunk);
+			openIterators.add(iterator);
+			return iterator;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private void closeCurrent() {
+		openIterators.remove(current);
+		try {
+			current.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			current = null;
+		}
+	}
+
+}
@@ -0,0 +1,201 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.chunk;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Split a CSV file into byte ranges that start and end on a record boundary.
+ * <br>
+ * The split is quote-aware and follows the rules of {@link io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvTokenizer}: a quote opens a quoted value only when it is the first byte of a field, 
+ * a quote inside an unquoted value is literal text, and a line feed inside a quoted value is not a record boundary.
+ * <br>
+ * The parser state at the start of every range is computed from the transitions of all the previous ranges, 
+ * and the transitions of every range are computed in parallel from each possible starting state, 
+ * so it is not needed to scan the whole file sequentially to find out if a line feed is inside a quoted value.
+ * <br>
+ * Works with any encoding in which quote, separator and line feed are single bytes that never appear inside other characters (e.g. UTF-8).
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CsvChunkSplitter {
+	
+	public static final long DEFAULT_CHUNK_SIZE = 8L * 1024 * 1024;
+	
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
+	private static final byte QUOTE = '"';
+	private static final byte LINE_FEED = '\n';
+	private static final byte CARRIAGE_RETURN = '\r';
+	
+	/**
+	 * at the first byte of a field.
+	 */
+	private static final int FIELD_START = 0;
+	
+	/**
+	 * inside an unquoted value, or after the closing quote of a quoted one.
+	 */
+	private static final int UNQUOTED = 1;
+	
+	/**
+	 * inside a quoted value.
+	 */
+	private static final int QUOTED = 2;
+	
+	/**
+	 * right after a quote inside a quoted value: it is either the closing quote or the first half of an escaped one.
+	 */
+	private static final int QUOTE_SEEN = 3;
+	
+	private static final int STATES = 4;
+	
+	/**
+	 * return the position right after the header record.
+	 */
+	public static long findHeaderEnd(FileChannel channel, char separator) throws IOException {
+		return findRecordEnd(channel, (byte) separator, 0, FIELD_START, channel.size());
+	}
+	
+	/**
+	 * Split the records between start and end in chunks of about chunkSize bytes.
+	 * <br>
+	 * start must be the beginning of a record.
+	 */
+	public static List<CsvChunk> split(FileChannel channel, char separator, long start, long end, long chunkSize) throws IOException {
+		if(chunkSize <= 0) {
+			throw new IllegalArgumentException("chunkSize must be greater than zero");
+		}
+		if(end <= start) {
+			return new ArrayList<>();
+		}
+		
+		int count = (int) Math.min(Integer.MAX_VALUE - 1, (end - start + chunkSize - 1) / chunkSize);
+		
+		long[] nominalBoundaries = new long[count + 1];
+		for(int i = 0; i < count; i++) {
+			nominalBoundaries[i] = start + i * chunkSize;
+		}
+		nominalBoundaries[count] = end;
+		
+		int[][] transitions = new int[count][];
+		IntStream.range(0, count)
+				 .parallel()
+				 .forEach(i -> transitions[i] = unchecked(() -> transitions(channel, (byte) separator, nominalBoundaries[i], nominalBoundaries[i + 1])));
+		
+		int[] states = new int[count];
+		states[0] = FIELD_START;
+		for(int i = 1; i < count; i++) {
+			states[i] = transitions[i - 1][states[i - 1]];
+		}
+		
+		long[] alignedBoundaries = new long[count + 1];
+		alignedBoundaries[0] = start;
+		alignedBoundaries[count] = end;
+		IntStream.range(1, count)
+				 .parallel()
+				 .forEach(i -> alignedBoundaries[i] = unchecked(() -> findRecordEnd(channel, (byte) separator, nominalBoundaries[i], states[i], end)));
+		
+		List<CsvChunk> chunks = new ArrayList<>(count);
+		long previous = start;
+		for(int i = 1; i <= count; i++) {
+			if(alignedBoundaries[i] > previous) {
+				chunks.add(new CsvChunk(previous, alignedBoundaries[i]));
+				previous = alignedBoundaries[i];
+			}
+		}
+		return chunks;
+	}
+	
+	/**
+	 * return the position right after the first line feed found from position <b>from</b> that is not inside a quoted value,
+	 * or limit if there isn't any.
+	 */
+	private static long findRecordEnd(FileChannel channel, byte separator, long from, int state, long limit) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		byte[] bytes = buffer.array();
+		long position = from;
+		while(position < limit) {
+			int read = read(channel, buffer, position, limit);
+			if(read <= 0) {
+				break;
+			}
+			for(int i = 0; i < read; i++) {
+				byte current = bytes[i];
+				if(current == LINE_FEED && state != QUOTED) {
+					return position + i + 1;
+				}
+				state = next(state, current, separator);
+			}
+			position += read;
+		}
+		return limit;
+	}
+	
+	/**
+	 * return the state at position <b>to</b> for each possible state at position <b>from</b>.
+	 */
+	private static int[] transitions(FileChannel channel, byte separator, long from, long to) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		byte[] bytes = buffer.array();
+		int[] states = new int[STATES];
+		for(int state = 0; state < STATES; state++) {
+			states[state] = state;
+		}
+		long position = from;
+		while(position < to) {
+			int read = read(channel, buffer, position, to);
+			if(read <= 0) {
+				break;
+			}
+			for(int i = 0; i < read; i++) {
+				byte current = bytes[i];
+				for(int state = 0; state < STATES; state++) {
+					states[state] = next(states[state], current, separator);
+				}
+			}
+			position += read;
+		}
+		return states;
+	}
+	
+	private static int next(int state, byte current, byte separator) {
+		boolean delimiter = current == separator || current == LINE_FEED || current == CARRIAGE_RETURN;
+		switch(state) {
+			case FIELD_START:
+				return current == QUOTE ? QUOTED : delimiter ? FIELD_START : UNQUOTED;
+			case QUOTED:
+				return current == QUOTE ? QUOTE_SEEN : QUOTED;
+			case QUOTE_SEEN:
+				return current == QUOTE ? QUOTED : delimiter ? FIELD_START : UNQUOTED;
+			default:
+				return delimiter ? FIELD_START : UNQUOTED;
+		}
+	}
+	
+	private static int read(FileChannel channel, ByteBuffer buffer, long position, long limit) throws IOException {
+		buffer.clear();
+		buffer.limit((int) Math.min(buffer.capacity(), limit - position));
+		return channel.read(buffer, position);
+	}
+	
+	@FunctionalInterface
+	private interface IOSupplier<R> {
+		R get() throws IOException;
+	}
+	
+	private static <R> R unchecked(IOSupplier<R> supplier) {
+		try {
+			return supplier.get();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
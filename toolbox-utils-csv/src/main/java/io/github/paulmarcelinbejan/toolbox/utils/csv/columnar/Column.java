@@ -0,0 +1,72 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.columnar;
+
+import java.util.BitSet;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvTokenizer;
+import lombok.Getter;
+
+/**
+ * Column of values stored in a growable primitive array.
+ * <br>
+ * Empty fields are stored as null: the value in the array is 0 (or -1 for {@link DictionaryColumn}) and {@link #isNull(int)} returns true.
+ */
+public abstract class Column {
+	
+	protected static final int INITIAL_CAPACITY = 1024;
+	
+	protected Column(String name) {
+		this.name = name;
+	}
+	
+	@Getter
+	private final String name;
+	
+	/**
+	 * created only when the first null is found
+	 */
+	private BitSet nulls;
+	
+	protected int size;
+	
+	public int size() {
+		return size;
+	}
+	
+	public boolean isNull(int row) {
+		checkRow(row);
+		return nulls != null && nulls.get(row);
+	}
+	
+	public abstract ColumnType getType();
+	
+	/**
+	 * append the field at index of the current record of the tokenizer
+	 */
+	abstract void append(CsvTokenizer tokenizer, int index);
+	
+	void appendNull() {
+		if(nulls == null) {
+			nulls = new BitSet();
+		}
+		nulls.set(size);
+		appendDefault();
+	}
+	
+	abstract void appendDefault();
+	
+	/**
+	 * release the capacity not used
+	 */
+	abstract void trimToSize();
+	
+	protected static int grow(int capacity) {
+		return capacity + (capacity >> 1) + 1;
+	}
+	
+	protected void checkRow(int row) {
+		if(row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Row " + row + " not present, the column " + name + " has " + size + " rows");
+		}
+	}
+	
+}
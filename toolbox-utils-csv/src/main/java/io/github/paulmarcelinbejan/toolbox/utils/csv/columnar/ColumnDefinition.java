@@ -0,0 +1,58 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.columnar;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * Column of the CSV file to load and how to store it.
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ColumnDefinition {
+	
+	@NonNull
+	private final String name;
+	
+	@NonNull
+	private final ColumnType type;
+	
+	/**
+	 * number of fraction digits kept, used only by {@link ColumnType#DECIMAL}
+	 */
+	private final int scale;
+	
+	public static ColumnDefinition intColumn(String name) {
+		return new ColumnDefinition(name, ColumnType.INT, 0);
+	}
+	
+	public static ColumnDefinition longColumn(String name) {
+		return new ColumnDefinition(name, ColumnType.LONG, 0);
+	}
+	
+	public static ColumnDefinition doubleColumn(String name) {
+		return new ColumnDefinition(name, ColumnType.DOUBLE, 0);
+	}
+	
+	public static ColumnDefinition decimalColumn(String name, int scale) {
+		return new ColumnDefinition(name, ColumnType.DECIMAL, scale);
+	}
+	
+	public static ColumnDefinition dictionaryColumn(String name) {
+		return new ColumnDefinition(name, ColumnType.DICTIONARY, 0);
+	}
+	
+	Column createColumn() {
+		return switch (type) {
+			case INT -> new IntColumn(name);
+			case LONG -> new LongColumn(name);
+			case DOUBLE -> new DoubleColumn(name);
+			case DECIMAL -> new DecimalColumn(name, scale);
+			case DICTIONARY -> new DictionaryColumn(name);
+		};
+	}
+	
+}
@@ -0,0 +1,30 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.columnar;
+
+public enum ColumnType {
+	
+	/**
+	 * values stored in an int[], see {@link IntColumn}
+	 */
+	INT,
+	
+	/**
+	 * values stored in a long[], see {@link LongColumn}
+	 */
+	LONG,
+	
+	/**
+	 * values stored in a double[], see {@link DoubleColumn}
+	 */
+	DOUBLE,
+	
+	/**
+	 * values stored in a long[] multiplied by 10^scale, see {@link DecimalColumn}
+	 */
+	DECIMAL,
+	
+	/**
+	 * distinct values stored once, every row stores the int code of its value, see {@link DictionaryColumn}
+	 */
+	DICTIONARY;
+	
+}
@@ -0,0 +1,73 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.columnar;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.Getter;
+
+/**
+ * Columns loaded from a CSV file, all with the same number of rows.
+ */
+public class CsvColumnBatch {
+	
+	CsvColumnBatch(Collection<Column> columns, int rowCount) {
+		Map<String, Column> columnsByName = new LinkedHashMap<>();
+		columns.forEach(column -> columnsByName.put(column.getName(), column));
+		this.columns = Collections.unmodifiableMap(columnsByName);
+		this.rowCount = rowCount;
+	}
+	
+	private final Map<String, Column> columns;
+	
+	@Getter
+	private final int rowCount;
+	
+	/**
+	 * @return the columns, in the order they have been requested
+	 */
+	public Collection<Column> getColumns() {
+		return columns.values();
+	}
+	
+	/**
+	 * @throws IllegalArgumentException if the column has not been loaded
+	 */
+	public Column getColumn(String name) {
+		Column column = columns.get(name);
+		if(column == null) {
+			throw new IllegalArgumentException("Column " + name + " not loaded");
+		}
+		return column;
+	}
+	
+	public IntColumn getIntColumn(String name) {
+		return getColumn(name, IntColumn.class);
+	}
+	
+	public LongColumn getLongColumn(String name) {
+		return getColumn(name, LongColumn.class);
+	}
+	
+	public DoubleColumn getDoubleColumn(String name) {
+		return getColumn(name, DoubleColumn.class);
+	}
+	
+	public DecimalColumn getDecimalColumn(String name) {
+		return getColumn(name, DecimalColumn.class);
+	}
+	
+	public DictionaryColumn getDictionaryColumn(String name) {
+		return getColumn(name, DictionaryColumn.class);
+	}
+	
+	private <C extends Column> C getColumn(String name, Class<C> columnClass) {
+		Column column = getColumn(name);
+		if(!columnClass.isInstance(column)) {
+			throw new IllegalArgumentException("Column " + name + " is of type " + column.getType());
+		}
+		return columnClass.cast(column);
+	}
+	
+}
@@ -0,0 +1,67 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.columnar;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvRecordBinder;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvTokenizer;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Load the selected columns of a CSV file straight into primitive arrays, without creating an object for every record.
+ * <br>
+ * Numbers are parsed directly from the bytes of the fields, the fields of the columns not selected are skipped.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CsvColumnarLoader {
+	
+	/**
+	 * The first record of the tokenizer must be the header.
+	 * 
+	 * @throws IllegalArgumentException if a column is not present in the header.
+	 * @throws NumberFormatException if a field can not be parsed to the type of its column.
+	 */
+	public static CsvColumnBatch load(@NonNull final CsvTokenizer tokenizer, @NonNull final List<ColumnDefinition> columnDefinitions) throws IOException {
+		String[] header = tokenizer.next() ? tokenizer.getFields() : new String[0];
+		
+		List<Column> columns = new ArrayList<>(columnDefinitions.size());
+		int[] indexes = new int[columnDefinitions.size()];
+		for(int i = 0; i < columnDefinitions.size(); i++) {
+			ColumnDefinition columnDefinition = columnDefinitions.get(i);
+			indexes[i] = CsvRecordBinder.indexOf(header, columnDefinition.getName());
+			columns.add(columnDefinition.createColumn());
+		}
+		
+		int rowCount = 0;
+		while(tokenizer.next()) {
+			for(int i = 0; i < indexes.length; i++) {
+				append(tokenizer, indexes[i], columns.get(i));
+			}
+			rowCount++;
+		}
+		
+		columns.forEach(Column::trimToSize);
+		
+		return new CsvColumnBatch(columns, rowCount);
+	}
+	
+	private static void append(CsvTokenizer tokenizer, int index, Column column) {
+		if(index >= tokenizer.getFieldCount() || tokenizer.isFieldEmpty(index)) {
+			column.appendNull();
+			return;
+		}
+		try {
+			column.append(tokenizer, index);
+		} catch (NumberFormatException | ArithmeticException e) {
+			NumberFormatException exception = new NumberFormatException(
+					"Value " + tokenizer.getField(index) + " of column " + column.getName() 
+					+ " at line " + tokenizer.getLineNumber() + " is not a valid " + column.getType());
+			exception.initCause(e);
+			throw exception;
+		}
+	}
+	
+}
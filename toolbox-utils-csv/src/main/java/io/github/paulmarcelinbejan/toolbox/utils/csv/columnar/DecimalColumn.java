@@ -0,0 +1,70 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.columnar;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvTokenizer;
+import lombok.Getter;
+
+/**
+ * Decimal values stored as long multiplied by 10^scale, e.g. 12.5 with scale 2 is stored as 1250.
+ */
+public class DecimalColumn extends Column {
+	
+	DecimalColumn(String name, int scale) {
+		super(name);
+		this.scale = scale;
+	}
+	
+	@Getter
+	private final int scale;
+	
+	private long[] unscaledValues = new long[INITIAL_CAPACITY];
+	
+	/**
+	 * @return the value multiplied by 10^scale
+	 */
+	public long getUnscaled(int row) {
+		checkRow(row);
+		return unscaledValues[row];
+	}
+	
+	public BigDecimal getBigDecimal(int row) {
+		return BigDecimal.valueOf(getUnscaled(row), scale);
+	}
+	
+	/**
+	 * @return a copy of the values multiplied by 10^scale
+	 */
+	public long[] toUnscaledArray() {
+		return Arrays.copyOf(unscaledValues, size);
+	}
+	
+	@Override
+	public ColumnType getType() {
+		return ColumnType.DECIMAL;
+	}
+	
+	@Override
+	void append(CsvTokenizer tokenizer, int index) {
+		add(tokenizer.getFieldAsScaledLong(index, scale));
+	}
+	
+	@Override
+	void appendDefault() {
+		add(0);
+	}
+	
+	@Override
+	void trimToSize() {
+		unscaledValues = Arrays.copyOf(unscaledValues, size);
+	}
+	
+	private void add(long unscaledValue) {
+		if(size == unscaledValues.length) {
+			unscaledValues = Arrays.copyOf(unscaledValues, grow(unscaledValues.length));
+		}
+		unscaledValues[size++] = unscaledValue;
+	}
+	
+}
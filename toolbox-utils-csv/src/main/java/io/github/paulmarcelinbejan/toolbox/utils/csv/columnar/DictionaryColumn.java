@@ -0,0 +1,130 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.columnar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvTokenizer;
+
+/**
+ * String values stored once in a dictionary, every row stores the int code of its value (-1 for null).
+ * <br>
+ * The lookup in the dictionary is done on the raw bytes of the field, 
+ * so a String is created only the first time a value is found.
+ */
+public class DictionaryColumn extends Column {
+	
+	private static final int NULL_CODE = -1;
+	private static final int INITIAL_TABLE_SIZE = 256;
+	
+	DictionaryColumn(String name) {
+		super(name);
+	}
+	
+	private int[] codes = new int[INITIAL_CAPACITY];
+	
+	private final List<String> dictionary = new ArrayList<>();
+	
+	/**
+	 * raw bytes of the values in dictionary, released by trimToSize()
+	 */
+	private List<byte[]> dictionaryBytes = new ArrayList<>();
+	
+	/**
+	 * open addressing hash table of code + 1 (0 means empty slot), released by trimToSize()
+	 */
+	private int[] table = new int[INITIAL_TABLE_SIZE];
+	
+	public String get(int row) {
+		int code = getCode(row);
+		return code == NULL_CODE ? null : dictionary.get(code);
+	}
+	
+	/**
+	 * @return the position of the value in the dictionary, -1 for null
+	 */
+	public int getCode(int row) {
+		checkRow(row);
+		return codes[row];
+	}
+	
+	/**
+	 * @return a copy of the codes
+	 */
+	public int[] toCodeArray() {
+		return Arrays.copyOf(codes, size);
+	}
+	
+	/**
+	 * @return the distinct values, in order of first appearance
+	 */
+	public List<String> getDictionary() {
+		return Collections.unmodifiableList(dictionary);
+	}
+	
+	@Override
+	public ColumnType getType() {
+		return ColumnType.DICTIONARY;
+	}
+	
+	@Override
+	void append(CsvTokenizer tokenizer, int index) {
+		int hash = tokenizer.getFieldHashCode(index);
+		int mask = table.length - 1;
+		int slot = spread(hash) & mask;
+		while(table[slot] != 0) {
+			int code = table[slot] - 1;
+			if(tokenizer.fieldEquals(index, dictionaryBytes.get(code))) {
+				add(code);
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		int code = dictionary.size();
+		dictionary.add(tokenizer.getField(index));
+		dictionaryBytes.add(tokenizer.getFieldBytes(index));
+		table[slot] = code + 1;
+		if(dictionary.size() * 2 > table.length) {
+			rehash();
+		}
+		add(code);
+	}
+	
+	@Override
+	void appendDefault() {
+		add(NULL_CODE);
+	}
+	
+	@Override
+	void trimToSize() {
+		codes = Arrays.copyOf(codes, size);
+		table = null;
+		dictionaryBytes = null;
+	}
+	
+	private void add(int code) {
+		if(size == codes.length) {
+			codes = Arrays.copyOf(codes, grow(codes.length));
+		}
+		codes[size++] = code;
+	}
+	
+	private void rehash() {
+		int[] newTable = new int[table.length * 2];
+		int mask = newTable.length - 1;
+		for(int code = 0; code < dictionaryBytes.size(); code++) {
+			int slot = spread(Arrays.hashCode(dictionaryBytes.get(code))) & mask;
+			while(newTable[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			newTable[slot] = code + 1;
+		}
+		table = newTable;
+	}
+	
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+	
+}
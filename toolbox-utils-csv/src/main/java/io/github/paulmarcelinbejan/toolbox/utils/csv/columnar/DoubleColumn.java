@@ -0,0 +1,54 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.columnar;
+
+import java.util.Arrays;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvTokenizer;
+
+public class DoubleColumn extends Column {
+	
+	DoubleColumn(String name) {
+		super(name);
+	}
+	
+	private double[] values = new double[INITIAL_CAPACITY];
+	
+	public double get(int row) {
+		checkRow(row);
+		return values[row];
+	}
+	
+	/**
+	 * @return a copy of the values
+	 */
+	public double[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+	
+	@Override
+	public ColumnType getType() {
+		return ColumnType.DOUBLE;
+	}
+	
+	@Override
+	void append(CsvTokenizer tokenizer, int index) {
+		add(tokenizer.getFieldAsDouble(index));
+	}
+	
+	@Override
+	void appendDefault() {
+		add(0);
+	}
+	
+	@Override
+	void trimToSize() {
+		values = Arrays.copyOf(values, size);
+	}
+	
+	private void add(double value) {
+		if(size == values.length) {
+			values = Arrays.copyOf(values, grow(values.length));
+		}
+		values[size++] = value;
+	}
+	
+}
@@ -0,0 +1,54 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.columnar;
+
+import java.util.Arrays;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvTokenizer;
+
+public class IntColumn extends Column {
+	
+	IntColumn(String name) {
+		super(name);
+	}
+	
+	private int[] values = new int[INITIAL_CAPACITY];
+	
+	public int get(int row) {
+		checkRow(row);
+		return values[row];
+	}
+	
+	/**
+	 * @return a copy of the values
+	 */
+	public int[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+	
+	@Override
+	public ColumnType getType() {
+		return ColumnType.INT;
+	}
+	
+	@Override
+	void append(CsvTokenizer tokenizer, int index) {
+		add(tokenizer.getFieldAsInt(index));
+	}
+	
+	@Override
+	void appendDefault() {
+		add(0);
+	}
+	
+	@Override
+	void trimToSize() {
+		values = Arrays.copyOf(values, size);
+	}
+	
+	private void add(int value) {
+		if(size == values.length) {
+			values = Arrays.copyOf(values, grow(values.length));
+		}
+		values[size++] = value;
+	}
+	
+}
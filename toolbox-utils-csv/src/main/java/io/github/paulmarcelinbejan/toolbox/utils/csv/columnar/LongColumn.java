@@ -0,0 +1,54 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.columnar;
+
+import java.util.Arrays;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvTokenizer;
+
+public class LongColumn extends Column {
+	
+	LongColumn(String name) {
+		super(name);
+	}
+	
+	private long[] values = new long[INITIAL_CAPACITY];
+	
+	public long get(int row) {
+		checkRow(row);
+		return values[row];
+	}
+	
+	/**
+	 * @return a copy of the values
+	 */
+	public long[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+	
+	@Override
+	public ColumnType getType() {
+		return ColumnType.LONG;
+	}
+	
+	@Override
+	void append(CsvTokenizer tokenizer, int index) {
+		add(tokenizer.getFieldAsLong(index));
+	}
+	
+	@Override
+	void appendDefault() {
+		add(0);
+	}
+	
+	@Override
+	void trimToSize() {
+		values = Arrays.copyOf(values, size);
+	}
+	
+	private void add(long value) {
+		if(size == values.length) {
+			values = Arrays.copyOf(values, grow(values.length));
+		}
+		values[size++] = value;
+	}
+	
+}
@@ -0,0 +1,26 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CsvDiffConfig {
+	
+	public static final long DEFAULT_MEMORY_BUDGET = 256L * 1024 * 1024;
+	
+	public static final CsvDiffConfig DEFAULT = new CsvDiffConfig(
+			DEFAULT_MEMORY_BUDGET, 
+			System.getProperty("java.io.tmpdir"));
+	
+	/**
+	 * maximum number of bytes of the build side held in memory, when the build side is bigger both files are partitioned by key in the tempDirectory.
+	 */
+	private final long memoryBudget;
+	
+	/**
+	 * directory where the partitions are written.
+	 */
+	private final String tempDirectory;
+	
+}
@@ -0,0 +1,18 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.config;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.MappedCsvTokenizer;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.StreamCsvTokenizer;
+
+public enum CsvReadEngine {
+	
+	/**
+	 * the file is read through an InputStream into a heap buffer, see {@link StreamCsvTokenizer}.
+	 */
+	STREAM,
+	
+	/**
+	 * the file is memory-mapped and tokenized in place without copying it, see {@link MappedCsvTokenizer}.
+	 */
+	MAPPED;
+
+}
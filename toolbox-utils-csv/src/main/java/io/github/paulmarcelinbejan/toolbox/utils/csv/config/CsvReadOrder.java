@@ -0,0 +1,15 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.config;
+
+public enum CsvReadOrder {
+	
+	/**
+	 * records are returned in the same order they appear in the file.
+	 */
+	ORDERED,
+	
+	/**
+	 * records are returned as soon as any chunk produces them, without preserving the order of the file.
+	 */
+	UNORDERED;
+
+}
@@ -13,6 +13,7 @@ import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvParser;
 
 import io.github.paulmarcelinbejan.toolbox.utils.jackson.ObjectMapperUtils;
+import io.github.paulmarcelinbejan.toolbox.utils.jackson.config.AccelerationConfig;
 import lombok.Getter;
 
 public class CsvReaderConfig {
@@ -25,6 +26,28 @@ public class CsvReaderConfig {
 			List<Module> modules, 
 			Map<Class<?>, JsonDeserializer<?>> deserializers) {
 		
+		this(enableCsvParserFeatures, 
+				disableCsvParserFeatures, 
+				enableDeserializationFeatures, 
+				disableDeserializationFeatures, 
+				modules, 
+				deserializers, 
+				AccelerationConfig.DISABLED);
+		
+	}
+	
+	/**
+	 * @param acceleration if enabled, the Blackbird module is registered when it round trips the samples.
+	 */
+	public CsvReaderConfig(
+			List<CsvParser.Feature> enableCsvParserFeatures,
+			List<CsvParser.Feature> disableCsvParserFeatures,
+			List<DeserializationFeature> enableDeserializationFeatures,
+			List<DeserializationFeature> disableDeserializationFeatures,
+			List<Module> modules, 
+			Map<Class<?>, JsonDeserializer<?>> deserializers,
+			AccelerationConfig acceleration) {
+		
 		boolean createCsvFactory = createCsvFactory(enableCsvParserFeatures, disableCsvParserFeatures);
 		
 		if(createCsvFactory) {
@@ -34,6 +57,8 @@ public class CsvReaderConfig {
 			this.csvMapper = buildCsvMapper(enableDeserializationFeatures, disableDeserializationFeatures, modules, deserializers);
 		}
 		
+		this.accelerated = ObjectMapperUtils.accelerate(csvMapper, acceleration);
+		
 	}
 	
 	public static final CsvReaderConfig DEFAULT = new CsvReaderConfig(
@@ -47,6 +72,12 @@ public class CsvReaderConfig {
 	@Getter
 	private final CsvMapper csvMapper;
 	
+	/**
+	 * true if the Blackbird module has been registered.
+	 */
+	@Getter
+	private final boolean accelerated;
+	
 	private static CsvMapper buildCsvMapper(
 			List<DeserializationFeature> enableDeserializationFeatures,
 			List<DeserializationFeature> disableDeserializationFeatures,
@@ -0,0 +1,46 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CsvSortConfig {
+	
+	public static final long DEFAULT_MEMORY_BUDGET = 256L * 1024 * 1024;
+	
+	public static final int DEFAULT_MERGE_FAN_IN = 64;
+	
+	public static final CsvSortConfig DEFAULT = new CsvSortConfig(
+			DEFAULT_MEMORY_BUDGET, 
+			System.getProperty("java.io.tmpdir"), 
+			Long.MAX_VALUE, 
+			Runtime.getRuntime().availableProcessors(), 
+			DEFAULT_MERGE_FAN_IN);
+	
+	/**
+	 * maximum number of bytes of records held in memory, shared by all the threads of the sort phase.
+	 */
+	private final long memoryBudget;
+	
+	/**
+	 * directory where the sorted runs are written.
+	 */
+	private final String tempDirectory;
+	
+	/**
+	 * maximum number of bytes of sorted runs that can be present in the tempDirectory at the same time.
+	 */
+	private final long tempDirectoryBudget;
+	
+	/**
+	 * number of threads that read and sort the runs.
+	 */
+	private final int parallelism;
+	
+	/**
+	 * maximum number of runs merged at once, with more runs they are merged in more passes.
+	 */
+	private final int mergeFanIn;
+	
+}
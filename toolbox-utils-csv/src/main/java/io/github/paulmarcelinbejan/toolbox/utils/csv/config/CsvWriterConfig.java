@@ -18,6 +18,11 @@ import lombok.Getter;
 
 public class CsvWriterConfig {
 
+	/**
+	 * number of records written before flushing, used by streaming writes.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+	
 	public CsvWriterConfig(
 			List<CsvParser.Feature> enableCsvParserFeatures,
 			List<CsvParser.Feature> disableCsvParserFeatures,
@@ -26,6 +31,24 @@ public class CsvWriterConfig {
 			List<Module> modules, 
 			Map<Class<?>, JsonSerializer<?>> serializers) {
 		
+		this(enableCsvParserFeatures, disableCsvParserFeatures, enableSerializationFeatures, disableSerializationFeatures, modules, serializers, DEFAULT_BATCH_SIZE);
+		
+	}
+	
+	public CsvWriterConfig(
+			List<CsvParser.Feature> enableCsvParserFeatures,
+			List<CsvParser.Feature> disableCsvParserFeatures,
+			List<SerializationFeature> enableSerializationFeatures,
+			List<SerializationFeature> disableSerializationFeatures,
+			List<Module> modules, 
+			Map<Class<?>, JsonSerializer<?>> serializers,
+			int batchSize) {
+		
+		if(batchSize <= 0) {
+			throw new IllegalArgumentException("batchSize must be greater than zero");
+		}
+		this.batchSize = batchSize;
+		
 		boolean createCsvFactory = createCsvFactory(enableCsvParserFeatures, disableCsvParserFeatures);
 		
 		if(createCsvFactory) {
@@ -48,6 +71,9 @@ public class CsvWriterConfig {
 	@Getter
 	private final CsvMapper csvMapper;
 	
+	@Getter
+	private final int batchSize;
+	
 	private static CsvMapper buildCsvMapper(
 			List<SerializationFeature> enableSerializationFeatures,
 			List<SerializationFeature> disableSerializationFeatures,
@@ -0,0 +1,25 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.diff;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Difference between two CSV files for a single key.
+ * <br>
+ * oldRecord is null when the record has been {@link CsvDiffType#ADDED}, newRecord is null when it has been {@link CsvDiffType#REMOVED}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CsvDiffRecord<T> {
+	
+	private final CsvDiffType type;
+	
+	private final String key;
+	
+	private final T oldRecord;
+	
+	private final T newRecord;
+	
+}
@@ -0,0 +1,20 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.diff;
+
+public enum CsvDiffType {
+	
+	/**
+	 * the key is present only in the new file.
+	 */
+	ADDED,
+	
+	/**
+	 * the key is present only in the old file.
+	 */
+	REMOVED,
+	
+	/**
+	 * the key is present in both files, but the records are different.
+	 */
+	CHANGED;
+	
+}
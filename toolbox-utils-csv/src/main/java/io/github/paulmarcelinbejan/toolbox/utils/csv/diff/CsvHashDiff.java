@@ -0,0 +1,379 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.diff;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.config.CsvDiffConfig;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvRecordBinder;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvTokenizer;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.StreamCsvTokenizer;
+import io.github.paulmarcelinbejan.toolbox.utils.io.FileUtils;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileType;
+import lombok.NonNull;
+
+/**
+ * Streaming diff of two CSV files on a key column, based on a hash join.
+ * <br>
+ * Build phase: the smaller file is read and a {@link KeyOffsetTable} is filled with the key, the position and the digest of every record, 
+ * the records themselves are not held in memory.
+ * <br>
+ * Probe phase: the bigger file is streamed, every record is looked up by key and compared by digest with the one of the build side, 
+ * the record of the build side is read back from the file only when it has changed. 
+ * The keys found only on the probe side are added to the table too, so a key duplicated on either side is detected. 
+ * Finally the build side is streamed again to find the keys that have not been matched.
+ * <br>
+ * When the bigger file is bigger than the memory budget, both files are first partitioned by key in the temp directory 
+ * and the partitions are diffed one by one. 
+ * A partition whose table grows beyond the memory budget anyway (e.g. short records with long keys) is partitioned again with another hash.
+ * <br>
+ * Records are compared byte by byte (quotes included), so both files must have the same columns in the same order. Keys must be unique.
+ */
+public class CsvHashDiff {
+	
+	private static final byte LINE_FEED = '\n';
+	
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
+	private static final int MAX_PARTITIONS = 1024;
+	
+	/**
+	 * partitions of a partition whose table doesn't fit in the memory budget.
+	 */
+	private static final int SPLIT_PARTITIONS = 16;
+	
+	/**
+	 * maximum number of times a partition is partitioned again.
+	 */
+	private static final int MAX_SPLITS = 4;
+	
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+	
+	public CsvHashDiff(@NonNull final CsvMapper mapper, @NonNull final CsvDiffConfig config) {
+		if(config.getMemoryBudget() <= 0) {
+			throw new IllegalArgumentException("memoryBudget must be greater than zero");
+		}
+		this.mapper = mapper;
+		this.memoryBudget = config.getMemoryBudget();
+		this.tempDirectory = config.getTempDirectory().endsWith(File.separator) || config.getTempDirectory().endsWith("/") 
+				? config.getTempDirectory() 
+				: config.getTempDirectory() + File.separator;
+	}
+	
+	private final CsvMapper mapper;
+	
+	private final long memoryBudget;
+	
+	private final String tempDirectory;
+	
+	/**
+	 * Compare oldFile and newFile on keyColumn, every added, removed or changed record is passed to consumer.
+	 * 
+	 * @throws IOException if a file can not be read, if a partition can not be written, 
+	 * or if the keys of a partition still exceed the memory budget after {@value #MAX_SPLITS} splits.
+	 * @throws IllegalArgumentException if keyColumn is not present in the header, if the headers of the two files differ, 
+	 * or if a key is duplicated in one of the files.
+	 */
+	public <T> void diff(
+			@NonNull final FileInfo oldFile, 
+			@NonNull final FileInfo newFile, 
+			char separator, 
+			@NonNull final String keyColumn, 
+			Class<T> clazz, 
+			@NonNull final Consumer<CsvDiffRecord<T>> consumer) throws IOException {
+		DiffSide<T> oldSide = DiffSide.of(oldFile, separator, keyColumn, mapper, clazz);
+		DiffSide<T> newSide = DiffSide.of(newFile, separator, keyColumn, mapper, clazz);
+		if(!Arrays.equals(oldSide.header, newSide.header)) {
+			throw new IllegalArgumentException("The header of " + oldFile.getFullPath() + " differs from the header of " + newFile.getFullPath());
+		}
+		
+		long oldSize = Files.size(FileUtils.createPath(oldFile));
+		long newSize = Files.size(FileUtils.createPath(newFile));
+		boolean buildIsOld = oldSize <= newSize;
+		DiffSide<T> build = buildIsOld ? oldSide : newSide;
+		DiffSide<T> probe = buildIsOld ? newSide : oldSide;
+		
+		// the table holds the keys of the build side and the keys found only on the probe side
+		int partitions = (int) Math.min(MAX_PARTITIONS, (Math.max(oldSize, newSize) + memoryBudget - 1) / memoryBudget);
+		if(partitions <= 1) {
+			diffPartition(build, probe, buildIsOld, consumer, 0);
+		} else {
+			diffPartitioned(build, probe, buildIsOld, consumer, partitions, 0);
+		}
+	}
+	
+	/**
+	 * Partition both sides with the hash of level and diff the partitions one by one.
+	 */
+	private <T> void diffPartitioned(
+			DiffSide<T> build, 
+			DiffSide<T> probe, 
+			boolean buildIsOld, 
+			Consumer<CsvDiffRecord<T>> consumer, 
+			int partitions, 
+			int level) throws IOException {
+		String prefix = "csv-diff-" + UUID.randomUUID() + "-";
+		List<FileInfo> buildPartitions = partition(build, partitions, level, prefix + "build-");
+		try {
+			List<FileInfo> probePartitions = partition(probe, partitions, level, prefix + "probe-");
+			try {
+				for(int i = 0; i < partitions; i++) {
+					diffPartition(
+							build.withFile(buildPartitions.get(i)), 
+							probe.withFile(probePartitions.get(i)), 
+							buildIsOld, 
+							consumer, 
+							level + 1);
+				}
+			} finally {
+				delete(probePartitions);
+			}
+		} finally {
+			delete(buildPartitions);
+		}
+	}
+	
+	/**
+	 * @param level number of times the files have been partitioned.
+	 */
+	private <T> void diffPartition(DiffSide<T> build, DiffSide<T> probe, boolean buildIsOld, Consumer<CsvDiffRecord<T>> consumer, int level) throws IOException {
+		KeyOffsetTable table = buildTable(build);
+		if(table == null) {
+			// nothing of this partition has been passed to consumer yet, it can be split and diffed again
+			if(level >= MAX_SPLITS) {
+				throw new IOException("The keys of a partition don't fit in the memory budget of " + memoryBudget + " bytes after " + MAX_SPLITS + " splits");
+			}
+			diffPartitioned(build, probe, buildIsOld, consumer, SPLIT_PARTITIONS, level);
+			return;
+		}
+		
+		CsvDiffType probeOnly = buildIsOld ? CsvDiffType.ADDED : CsvDiffType.REMOVED;
+		CsvDiffType buildOnly = buildIsOld ? CsvDiffType.REMOVED : CsvDiffType.ADDED;
+		
+		try (CsvTokenizer tokenizer = probe.openRecords(); 
+			 FileChannel buildChannel = FileUtils.createFileChannel(build.file)) {
+			while(tokenizer.next()) {
+				String key = tokenizer.getField(probe.keyIndex);
+				int slot = table.indexOf(key);
+				if(slot == -1) {
+					// matched, so the build side doesn't report it and a second occurrence is a duplicate
+					table.setMatched(table.put(key, tokenizer.getRecordOffset(), 0, 0));
+					consumer.accept(newDiffRecord(probeOnly, key, probe.binder.bind(tokenizer), buildIsOld));
+					continue;
+				}
+				if(table.isMatched(slot)) {
+					throw new IllegalArgumentException("Duplicate key " + key);
+				}
+				table.setMatched(slot);
+				if(table.getDigest(slot) != digest(tokenizer.getRecordBytes())) {
+					T buildRecord = build.readRecord(buildChannel, table.getOffset(slot), table.getLength(slot));
+					T probeRecord = probe.binder.bind(tokenizer);
+					consumer.accept(new CsvDiffRecord<>(
+							CsvDiffType.CHANGED, 
+							key, 
+							buildIsOld ? buildRecord : probeRecord, 
+							buildIsOld ? probeRecord : buildRecord));
+				}
+			}
+		}
+		
+		try (CsvTokenizer tokenizer = build.openRecords()) {
+			while(tokenizer.next()) {
+				String key = tokenizer.getField(build.keyIndex);
+				if(!table.isMatched(table.indexOf(key))) {
+					consumer.accept(newDiffRecord(buildOnly, key, build.binder.bind(tokenizer), !buildIsOld));
+				}
+			}
+		}
+	}
+	
+	private static <T> CsvDiffRecord<T> newDiffRecord(CsvDiffType type, String key, T record, boolean recordIsNew) {
+		return recordIsNew 
+				? new CsvDiffRecord<>(type, key, null, record) 
+				: new CsvDiffRecord<>(type, key, record, null);
+	}
+	
+	/**
+	 * @return the table of the keys of the build side, or null if its estimated size exceeds the memory budget.
+	 */
+	private KeyOffsetTable buildTable(DiffSide<?> build) throws IOException {
+		KeyOffsetTable table = new KeyOffsetTable();
+		try (CsvTokenizer tokenizer = build.openRecords()) {
+			while(tokenizer.next()) {
+				byte[] bytes = tokenizer.getRecordBytes();
+				table.put(tokenizer.getField(build.keyIndex), tokenizer.getRecordOffset(), bytes.length, digest(bytes));
+				if(table.estimatedSize() > memoryBudget) {
+					if(table.size() == 1) {
+						throw new IOException("A single key doesn't fit in the memory budget of " + memoryBudget + " bytes");
+					}
+					return null;
+				}
+			}
+		}
+		return table;
+	}
+	
+	/**
+	 * Write the records of side in partitions files by hash of the key, every partition starts with the header line.
+	 */
+	private List<FileInfo> partition(DiffSide<?> side, int partitions, int level, String prefix) throws IOException {
+		List<FileInfo> files = new ArrayList<>(partitions);
+		List<OutputStream> outputStreams = new ArrayList<>(partitions);
+		try {
+			for(int i = 0; i < partitions; i++) {
+				FileInfo file = new FileInfo(tempDirectory, prefix + i, FileType.CSV);
+				files.add(file);
+				OutputStream outputStream = new BufferedOutputStream(FileUtils.createFileOutputStream(file), BUFFER_SIZE);
+				outputStreams.add(outputStream);
+				outputStream.write(side.header);
+				outputStream.write(LINE_FEED);
+			}
+			try (CsvTokenizer tokenizer = side.openRecords()) {
+				while(tokenizer.next()) {
+					int partition = partitionOf(tokenizer.getField(side.keyIndex), partitions, level);
+					OutputStream outputStream = outputStreams.get(partition);
+					outputStream.write(tokenizer.getRecordBytes());
+					outputStream.write(LINE_FEED);
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			closeAll(outputStreams);
+			delete(files);
+			throw e;
+		}
+		closeAll(outputStreams);
+		return files;
+	}
+	
+	/**
+	 * Every level hashes the key with another seed and a full avalanche (the finalizer of MurmurHash3), 
+	 * so the keys of a partition spread over all the partitions of the next level.
+	 */
+	private static int partitionOf(String key, int partitions, int level) {
+		int hash = key.hashCode() ^ (level * 0x9E3779B9);
+		hash ^= hash >>> 16;
+		hash *= 0x85EBCA6B;
+		hash ^= hash >>> 13;
+		hash *= 0xC2B2AE35;
+		hash ^= hash >>> 16;
+		return Math.floorMod(hash, partitions);
+	}
+	
+	private static void closeAll(List<OutputStream> outputStreams) throws IOException {
+		IOException exception = null;
+		for(OutputStream outputStream : outputStreams) {
+			try {
+				outputStream.close();
+			} catch (IOException e) {
+				exception = e;
+			}
+		}
+		if(exception != null) {
+			throw exception;
+		}
+	}
+	
+	private static void delete(List<FileInfo> files) throws IOException {
+		for(FileInfo file : files) {
+			Files.deleteIfExists(FileUtils.createPath(file));
+		}
+	}
+	
+	/**
+	 * 64-bit FNV-1a hash of bytes.
+	 */
+	private static long digest(byte[] bytes) {
+		long hash = FNV_OFFSET_BASIS;
+		for(byte b : bytes) {
+			hash ^= b & 0xFF;
+			hash *= FNV_PRIME;
+		}
+		return hash;
+	}
+	
+	/**
+	 * One of the two files of the diff: its header and how to bind its records.
+	 */
+	private static class DiffSide<T> {
+		
+		DiffSide(FileInfo file, char separator, byte[] header, long headerEnd, int keyIndex, CsvRecordBinder<T> binder) {
+			this.file = file;
+			this.separator = separator;
+			this.header = header;
+			this.headerEnd = headerEnd;
+			this.keyIndex = keyIndex;
+			this.binder = binder;
+		}
+		
+		static <T> DiffSide<T> of(FileInfo file, char separator, String keyColumn, CsvMapper mapper, Class<T> clazz) throws IOException {
+			try (CsvTokenizer tokenizer = new StreamCsvTokenizer(FileUtils.createFileInputStream(file), separator)) {
+				if(!tokenizer.next()) {
+					throw new IOException("Missing header in " + file.getFullPath());
+				}
+				String[] columns = tokenizer.getFields();
+				return new DiffSide<>(
+						file, 
+						separator, 
+						tokenizer.getRecordBytes(), 
+						tokenizer.getOffset(), 
+						CsvRecordBinder.indexOf(columns, keyColumn), 
+						CsvRecordBinder.of(mapper, clazz, columns, List.of()));
+			}
+		}
+		
+		final FileInfo file;
+		
+		final char separator;
+		
+		final byte[] header;
+		
+		final long headerEnd;
+		
+		final int keyIndex;
+		
+		final CsvRecordBinder<T> binder;
+		
+		/**
+		 * same side, on a partition file written with the same header.
+		 */
+		DiffSide<T> withFile(FileInfo partition) {
+			return new DiffSide<>(partition, separator, header, header.length + 1L, keyIndex, binder);
+		}
+		
+		/**
+		 * tokenizer positioned right after the header.
+		 */
+		CsvTokenizer openRecords() throws IOException {
+			return new StreamCsvTokenizer(FileUtils.createFileRangeInputStream(file, headerEnd, Long.MAX_VALUE), separator, headerEnd);
+		}
+		
+		T readRecord(FileChannel channel, long offset, int length) throws IOException {
+			ByteBuffer buffer = ByteBuffer.allocate(length);
+			while(buffer.hasRemaining()) {
+				if(channel.read(buffer, offset + buffer.position()) == -1) {
+					throw new IOException("Unexpected end of file " + file.getFullPath());
+				}
+			}
+			try (CsvTokenizer tokenizer = new StreamCsvTokenizer(new ByteArrayInputStream(buffer.array()), separator)) {
+				tokenizer.next();
+				return binder.bind(tokenizer);
+			}
+		}
+	
+	}
+	
+}
@@ -0,0 +1,147 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.diff;
+
+/**
+ * Open addressing hash table from the key of a record to the position of the record in the file and the digest of its bytes.
+ * <br>
+ * Records are not held in memory, only their key and three primitives, so the table is much smaller than the file.
+ */
+class KeyOffsetTable {
+	
+	private static final int INITIAL_CAPACITY = 1024;
+	
+	/**
+	 * bytes used by an entry beside its key: the reference to the key, offset, length, digest and matched.
+	 */
+	private static final long ENTRY_OVERHEAD = 4 + 8 + 4 + 8 + 1;
+	
+	/**
+	 * bytes used by a String beside its characters.
+	 */
+	private static final long STRING_OVERHEAD = 40;
+	
+	KeyOffsetTable() {
+		allocate(INITIAL_CAPACITY);
+	}
+	
+	private String[] keys;
+	
+	private long[] offsets;
+	
+	private int[] lengths;
+	
+	private long[] digests;
+	
+	private boolean[] matched;
+	
+	private int size;
+	
+	private long estimatedSize;
+	
+	/**
+	 * @return the slot of key.
+	 * @throws IllegalArgumentException if key is already present.
+	 */
+	int put(String key, long offset, int length, long digest) {
+		if((size + 1) * 2L > keys.length) {
+			resize();
+		}
+		int slot = slotOf(key);
+		if(keys[slot] != null) {
+			throw new IllegalArgumentException("Duplicate key " + key);
+		}
+		keys[slot] = key;
+		offsets[slot] = offset;
+		lengths[slot] = length;
+		digests[slot] = digest;
+		size++;
+		estimatedSize += STRING_OVERHEAD + key.length() + ENTRY_OVERHEAD * 2;
+		return slot;
+	}
+	
+	/**
+	 * @return the slot of key, or -1 if key is not present.
+	 */
+	int indexOf(String key) {
+		int slot = slotOf(key);
+		return keys[slot] == null ? -1 : slot;
+	}
+	
+	long getOffset(int slot) {
+		return offsets[slot];
+	}
+	
+	int getLength(int slot) {
+		return lengths[slot];
+	}
+	
+	long getDigest(int slot) {
+		return digests[slot];
+	}
+	
+	boolean isMatched(int slot) {
+		return matched[slot];
+	}
+	
+	void setMatched(int slot) {
+		matched[slot] = true;
+	}
+	
+	int size() {
+		return size;
+	}
+	
+	/**
+	 * @return approximate number of bytes used by the table, with a load factor of 0.5.
+	 */
+	long estimatedSize() {
+		return estimatedSize;
+	}
+	
+	/**
+	 * linear probing: the slot that contains key, or the empty slot where it would be inserted.
+	 */
+	private int slotOf(String key) {
+		int mask = keys.length - 1;
+		int slot = mix(key.hashCode()) & mask;
+		while(keys[slot] != null && !keys[slot].equals(key)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+	
+	private void resize() {
+		String[] oldKeys = keys;
+		long[] oldOffsets = offsets;
+		int[] oldLengths = lengths;
+		long[] oldDigests = digests;
+		boolean[] oldMatched = matched;
+		allocate(oldKeys.length * 2);
+		for(int i = 0; i < oldKeys.length; i++) {
+			if(oldKeys[i] != null) {
+				int slot = slotOf(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				offsets[slot] = oldOffsets[i];
+				lengths[slot] = oldLengths[i];
+				digests[slot] = oldDigests[i];
+				matched[slot] = oldMatched[i];
+			}
+		}
+	}
+	
+	private void allocate(int capacity) {
+		keys = new String[capacity];
+		offsets = new long[capacity];
+		lengths = new int[capacity];
+		digests = new long[capacity];
+		matched = new boolean[capacity];
+	}
+	
+	/**
+	 * spread the bits of the hash code, so keys with similar hash codes don't end up in adjacent slots.
+	 */
+	private static int mix(int hashCode) {
+		int hash = hashCode * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+	
+}
@@ -0,0 +1,166 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.index;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Optional;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvTokenizer;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Sparse index of the records of a CSV file: the byte offset of every interval-th record (header excluded).
+ * <br>
+ * A record is reached seeking to the offset of the closest indexed record before it and skipping at most interval - 1 records, 
+ * so the cost of reading any page doesn't depend on the size of the file.
+ * <br>
+ * The index is saved in a compact binary sidecar file, together with the size and the last modified time of the CSV file 
+ * in order to detect when it is stale.
+ */
+public class CsvRowIndex {
+	
+	public static final int DEFAULT_INTERVAL = 1024;
+	
+	private static final int MAGIC = 0x43535649;
+	private static final int VERSION = 1;
+	private static final String TEMP_SUFFIX = ".tmp";
+	
+	private CsvRowIndex(int interval, long rowCount, long fileSize, long lastModified, long[] offsets) {
+		this.interval = interval;
+		this.rowCount = rowCount;
+		this.fileSize = fileSize;
+		this.lastModified = lastModified;
+		this.offsets = offsets;
+	}
+	
+	/**
+	 * number of records between two indexed records.
+	 */
+	@Getter
+	private final int interval;
+	
+	/**
+	 * number of records of the file, header excluded.
+	 */
+	@Getter
+	private final long rowCount;
+	
+	/**
+	 * size of the file when the index has been built.
+	 */
+	@Getter
+	private final long fileSize;
+	
+	/**
+	 * last modified time of the file in milliseconds when the index has been built.
+	 */
+	@Getter
+	private final long lastModified;
+	
+	/**
+	 * offsets[i] is the absolute position in the file where the record i * interval starts.
+	 */
+	private final long[] offsets;
+	
+	/**
+	 * Build the index reading all the records of the tokenizer, which must be positioned right after the header.
+	 */
+	public static CsvRowIndex build(@NonNull final CsvTokenizer tokenizer, int interval, long fileSize, long lastModified) throws IOException {
+		if(interval <= 0) {
+			throw new IllegalArgumentException("interval must be greater than zero");
+		}
+		long[] offsets = new long[16];
+		int size = 0;
+		long rowCount = 0;
+		while(tokenizer.next()) {
+			if(rowCount % interval == 0) {
+				if(size == offsets.length) {
+					offsets = Arrays.copyOf(offsets, size * 2);
+				}
+				offsets[size++] = tokenizer.getRecordOffset();
+			}
+			rowCount++;
+		}
+		return new CsvRowIndex(interval, rowCount, fileSize, lastModified, Arrays.copyOf(offsets, size));
+	}
+	
+	/**
+	 * @return the index saved in path, or empty if path doesn't exist or is truncated or corrupt, so the index is built again.
+	 * @throws IOException if path can not be read or doesn't contain an index.
+	 */
+	public static Optional<CsvRowIndex> load(@NonNull final Path path) throws IOException {
+		if(!Files.exists(path)) {
+			return Optional.empty();
+		}
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+			if(input.readInt() != MAGIC || input.readInt() != VERSION) {
+				throw new IOException("Invalid index " + path);
+			}
+			int interval = input.readInt();
+			long rowCount = input.readLong();
+			long fileSize = input.readLong();
+			long lastModified = input.readLong();
+			int count = input.readInt();
+			if(interval <= 0 || rowCount < 0 || count < 0 || count != (rowCount + interval - 1) / interval) {
+				return Optional.empty();
+			}
+			long[] offsets = new long[count];
+			for(int i = 0; i < offsets.length; i++) {
+				offsets[i] = input.readLong();
+			}
+			return Optional.of(new CsvRowIndex(interval, rowCount, fileSize, lastModified, offsets));
+		} catch (EOFException e) {
+			return Optional.empty();
+		}
+	}
+	
+	/**
+	 * Save the index in path, replacing it atomically so a concurrent reader never sees a partially written index.
+	 */
+	public void save(@NonNull final Path path) throws IOException {
+		Path temp = path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeInt(interval);
+			output.writeLong(rowCount);
+			output.writeLong(fileSize);
+			output.writeLong(lastModified);
+			output.writeInt(offsets.length);
+			for(long offset : offsets) {
+				output.writeLong(offset);
+			}
+		}
+		Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+	/**
+	 * @return true if the index has been built on a file with the given size and last modified time.
+	 */
+	public boolean isValidFor(long fileSize, long lastModified) {
+		return this.fileSize == fileSize && this.lastModified == lastModified;
+	}
+	
+	/**
+	 * @return the closest indexed record at or before row.
+	 */
+	public long indexedRowAtOrBefore(long row) {
+		return Math.min(row / interval, offsets.length - 1L) * interval;
+	}
+	
+	/**
+	 * @return the absolute position in the file where the record indexedRow starts, indexedRow must be a multiple of interval.
+	 */
+	public long offsetOf(long indexedRow) {
+		return offsets[(int) (indexedRow / interval)];
+	}
+	
+}
@@ -0,0 +1,137 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.profile;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvTokenizer;
+import lombok.Getter;
+
+/**
+ * Profile of a column of a CSV file, computed in one pass with bounded memory.
+ * <br>
+ * Empty fields and fields missing from short records are counted as null. 
+ * Lengths are in bytes of the raw field, numeric statistics consider only the fields that can be parsed as a number.
+ */
+public class ColumnProfile {
+	
+	ColumnProfile(String name, int precision, int k) {
+		this.name = name;
+		this.distinct = new HyperLogLog(precision);
+		this.numbers = new QuantileSketch(k);
+		this.lengths = new QuantileSketch(k);
+	}
+	
+	@Getter
+	private final String name;
+	
+	/**
+	 * number of records, nulls included.
+	 */
+	@Getter
+	private long count;
+	
+	@Getter
+	private long nullCount;
+	
+	private final HyperLogLog distinct;
+	
+	private final QuantileSketch numbers;
+	
+	private final QuantileSketch lengths;
+	
+	/**
+	 * Add the field at index of the current record of tokenizer.
+	 */
+	void add(CsvTokenizer tokenizer, int index) {
+		count++;
+		if(index >= tokenizer.getFieldCount() || tokenizer.isFieldEmpty(index)) {
+			nullCount++;
+			return;
+		}
+		distinct.add(tokenizer.getFieldHash64(index));
+		lengths.add(tokenizer.getFieldLength(index));
+		if(tokenizer.isFieldNumericCandidate(index)) {
+			try {
+				numbers.add(tokenizer.getFieldAsDouble(index));
+			} catch (NumberFormatException e) {
+				// not a number, e.g. a date
+			}
+		}
+	}
+	
+	void merge(ColumnProfile other) {
+		count += other.count;
+		nullCount += other.nullCount;
+		distinct.merge(other.distinct);
+		numbers.merge(other.numbers);
+		lengths.merge(other.lengths);
+	}
+	
+	/**
+	 * @return nullCount / count, 0 if there are no records.
+	 */
+	public double getNullRatio() {
+		return count == 0 ? 0 : (double) nullCount / count;
+	}
+	
+	/**
+	 * @return estimated number of distinct non null values.
+	 */
+	public long getDistinctCount() {
+		return distinct.estimate();
+	}
+	
+	/**
+	 * @return number of non null values that are numbers.
+	 */
+	public long getNumericCount() {
+		return numbers.getCount();
+	}
+	
+	/**
+	 * @return true if all the non null values are numbers.
+	 */
+	public boolean isNumeric() {
+		return numbers.getCount() > 0 && numbers.getCount() == count - nullCount;
+	}
+	
+	/**
+	 * @return minimum numeric value, NaN if there are no numbers.
+	 */
+	public double getMin() {
+		return numbers.getMin();
+	}
+	
+	/**
+	 * @return maximum numeric value, NaN if there are no numbers.
+	 */
+	public double getMax() {
+		return numbers.getMax();
+	}
+	
+	/**
+	 * @return estimated numeric value at fraction of the sorted numbers, e.g. 0.5 for the median.
+	 */
+	public double getQuantile(double fraction) {
+		return numbers.getQuantile(fraction);
+	}
+	
+	/**
+	 * @return minimum length of the non null values, 0 if there are none.
+	 */
+	public int getMinLength() {
+		return lengths.getCount() == 0 ? 0 : (int) lengths.getMin();
+	}
+	
+	/**
+	 * @return maximum length of the non null values, 0 if there are none.
+	 */
+	public int getMaxLength() {
+		return lengths.getCount() == 0 ? 0 : (int) lengths.getMax();
+	}
+	
+	/**
+	 * @return estimated length at fraction of the sorted lengths, e.g. 0.5 for the median.
+	 */
+	public double getLengthQuantile(double fraction) {
+		return lengths.getQuantile(fraction);
+	}
+	
+}
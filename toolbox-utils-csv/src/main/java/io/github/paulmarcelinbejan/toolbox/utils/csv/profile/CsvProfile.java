@@ -0,0 +1,63 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.profile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvRecordBinder;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvTokenizer;
+import lombok.Getter;
+
+/**
+ * Profile of all the columns of a CSV file.
+ * <br>
+ * Profiles of different chunks of the same file can be merged, the result is the profile of all their records.
+ */
+public class CsvProfile {
+	
+	CsvProfile(String[] header, int precision, int k) {
+		this.header = header;
+		List<ColumnProfile> profiles = new ArrayList<>(header.length);
+		for(String column : header) {
+			profiles.add(new ColumnProfile(column, precision, k));
+		}
+		this.columns = Collections.unmodifiableList(profiles);
+	}
+	
+	private final String[] header;
+	
+	/**
+	 * number of records, header excluded.
+	 */
+	@Getter
+	private long rowCount;
+	
+	@Getter
+	private final List<ColumnProfile> columns;
+	
+	/**
+	 * @throws IllegalArgumentException if column is not present in the header.
+	 */
+	public ColumnProfile getColumn(String column) {
+		return columns.get(CsvRecordBinder.indexOf(header, column));
+	}
+	
+	/**
+	 * Add the current record of tokenizer.
+	 */
+	void add(CsvTokenizer tokenizer) {
+		rowCount++;
+		for(int i = 0; i < columns.size(); i++) {
+			columns.get(i).add(tokenizer, i);
+		}
+	}
+	
+	CsvProfile merge(CsvProfile other) {
+		rowCount += other.rowCount;
+		for(int i = 0; i < columns.size(); i++) {
+			columns.get(i).merge(other.columns.get(i));
+		}
+		return this;
+	}
+	
+}
@@ -0,0 +1,82 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.profile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.chunk.CsvChunk;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.chunk.CsvChunkSplitter;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvTokenizer;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.StreamCsvTokenizer;
+import io.github.paulmarcelinbejan.toolbox.utils.io.FileUtils;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+import lombok.NonNull;
+
+/**
+ * One pass profiler of CSV files: null ratio, distinct count, numeric distribution and length distribution of every column.
+ * <br>
+ * The file is split in chunks aligned to record boundaries, every chunk is profiled by a different thread of the ForkJoinPool 
+ * and the partial profiles are merged. Fields are read from the token stream and never bound, 
+ * the memory used depends on the number of columns and the sketch parameters, not on the size of the file.
+ */
+public class CsvProfiler {
+	
+	public CsvProfiler() {
+		this(HyperLogLog.DEFAULT_PRECISION, QuantileSketch.DEFAULT_K);
+	}
+	
+	/**
+	 * @param precision precision of the {@link HyperLogLog} sketches.
+	 * @param k size of the compactors of the {@link QuantileSketch} sketches.
+	 */
+	public CsvProfiler(int precision, int k) {
+		this.precision = precision;
+		this.k = k;
+	}
+	
+	private final int precision;
+	
+	private final int k;
+	
+	/**
+	 * @throws IOException if the file can not be read.
+	 */
+	public CsvProfile profile(@NonNull final FileInfo fileInfo, char separator, long chunkSize) throws IOException {
+		String[] header;
+		try (CsvTokenizer tokenizer = new StreamCsvTokenizer(FileUtils.createFileInputStream(fileInfo), separator)) {
+			header = tokenizer.next() ? tokenizer.getFields() : new String[0];
+		}
+		
+		List<CsvChunk> chunks;
+		try (FileChannel channel = FileUtils.createFileChannel(fileInfo)) {
+			long headerEnd = CsvChunkSplitter.findHeaderEnd(channel, separator);
+			chunks = CsvChunkSplitter.split(channel, separator, headerEnd, channel.size(), chunkSize);
+		}
+		
+		try {
+			return chunks.parallelStream()
+						 .map(chunk -> profileChunk(fileInfo, separator, header, chunk))
+						 .reduce(CsvProfile::merge)
+						 .orElseGet(() -> new CsvProfile(header, precision, k));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+	
+	private CsvProfile profileChunk(FileInfo fileInfo, char separator, String[] header, CsvChunk chunk) {
+		CsvProfile profile = new CsvProfile(header, precision, k);
+		try (CsvTokenizer tokenizer = new StreamCsvTokenizer(
+				FileUtils.createFileRangeInputStream(fileInfo, chunk.getStart(), chunk.getEnd()), 
+				separator, 
+				chunk.getStart())) {
+			while(tokenizer.next()) {
+				profile.add(tokenizer);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return profile;
+	}
+	
+}
@@ -0,0 +1,178 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.profile;
+
+import java.util.Arrays;
+
+import lombok.Getter;
+
+/**
+ * Mergeable quantile sketch based on compactors (a simplified KLL sketch).
+ * <br>
+ * Values are added to level 0, when a level holds k values they are sorted and every other value is promoted to the next level, 
+ * where it stands for twice as many values. Memory is O(k log(n / k)) and the rank error is about O(1 / k).
+ * <br>
+ * Two sketches with the same k can be merged, the result is the sketch of the union of their values. Minimum and maximum are exact.
+ */
+public class QuantileSketch {
+	
+	public static final int DEFAULT_K = 256;
+	
+	public QuantileSketch() {
+		this(DEFAULT_K);
+	}
+	
+	public QuantileSketch(int k) {
+		if(k < 2 || k % 2 != 0) {
+			throw new IllegalArgumentException("k must be an even number greater than zero");
+		}
+		this.k = k;
+		this.levels = new double[][] { new double[k] };
+		this.sizes = new int[1];
+	}
+	
+	@Getter
+	private final int k;
+	
+	private double[][] levels;
+	
+	private int[] sizes;
+	
+	/**
+	 * number of values added.
+	 */
+	@Getter
+	private long count;
+	
+	@Getter
+	private double min = Double.NaN;
+	
+	@Getter
+	private double max = Double.NaN;
+	
+	/**
+	 * alternates the values kept by a compaction, so that the errors of consecutive compactions cancel out.
+	 */
+	private boolean keepOdd;
+	
+	public void add(double value) {
+		if(Double.isNaN(value)) {
+			return;
+		}
+		if(count++ == 0) {
+			min = value;
+			max = value;
+		} else {
+			min = Math.min(min, value);
+			max = Math.max(max, value);
+		}
+		append(0, value);
+		if(sizes[0] >= k) {
+			compact(0);
+		}
+	}
+	
+	public void merge(QuantileSketch other) {
+		if(other.k != k) {
+			throw new IllegalArgumentException("Can not merge sketches with different k");
+		}
+		if(other.count == 0) {
+			return;
+		}
+		min = count == 0 ? other.min : Math.min(min, other.min);
+		max = count == 0 ? other.max : Math.max(max, other.max);
+		count += other.count;
+		for(int level = 0; level < other.levels.length; level++) {
+			for(int i = 0; i < other.sizes[level]; i++) {
+				append(level, other.levels[level][i]);
+			}
+		}
+		for(int level = 0; level < levels.length; level++) {
+			if(sizes[level] >= k) {
+				compact(level);
+			}
+		}
+	}
+	
+	/**
+	 * @param fraction between 0 and 1, e.g. 0.5 for the median.
+	 * @return the estimated value at fraction of the sorted values, NaN if the sketch is empty.
+	 */
+	public double getQuantile(double fraction) {
+		if(fraction < 0 || fraction > 1) {
+			throw new IllegalArgumentException("fraction must be between 0 and 1");
+		}
+		if(count == 0) {
+			return Double.NaN;
+		}
+		if(fraction == 0) {
+			return min;
+		}
+		if(fraction == 1) {
+			return max;
+		}
+		int size = 0;
+		for(int s : sizes) {
+			size += s;
+		}
+		double[] values = new double[size];
+		long[] weights = new long[size];
+		Integer[] order = new Integer[size];
+		int p = 0;
+		long totalWeight = 0;
+		for(int level = 0; level < levels.length; level++) {
+			for(int i = 0; i < sizes[level]; i++) {
+				values[p] = levels[level][i];
+				weights[p] = 1L << level;
+				order[p] = p;
+				totalWeight += weights[p];
+				p++;
+			}
+		}
+		Arrays.sort(order, (first, second) -> Double.compare(values[first], values[second]));
+		double target = fraction * totalWeight;
+		long cumulative = 0;
+		for(int i : order) {
+			cumulative += weights[i];
+			if(cumulative >= target) {
+				return values[i];
+			}
+		}
+		return max;
+	}
+	
+	private void append(int level, double value) {
+		if(level == levels.length) {
+			levels = Arrays.copyOf(levels, level + 1);
+			levels[level] = new double[k];
+			sizes = Arrays.copyOf(sizes, level + 1);
+		}
+		if(sizes[level] == levels[level].length) {
+			levels[level] = Arrays.copyOf(levels[level], sizes[level] * 2);
+		}
+		levels[level][sizes[level]++] = value;
+	}
+	
+	/**
+	 * Sort the values of level and promote every other value to the next level, an odd value left over stays in level.
+	 */
+	private void compact(int level) {
+		double[] values = levels[level];
+		int size = sizes[level];
+		Arrays.sort(values, 0, size);
+		int pairs = size / 2;
+		int offset = keepOdd ? 1 : 0;
+		keepOdd = !keepOdd;
+		double leftover = values[size - 1];
+		for(int i = 0; i < pairs; i++) {
+			append(level + 1, values[2 * i + offset]);
+		}
+		values = levels[level];
+		sizes[level] = 0;
+		if(size % 2 != 0) {
+			values[sizes[level]++] = leftover;
+		}
+		if(sizes[level + 1] >= k) {
+			compact(level + 1);
+		}
+	}
+	
+}
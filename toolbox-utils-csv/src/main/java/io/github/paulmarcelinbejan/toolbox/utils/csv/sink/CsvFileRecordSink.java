@@ -0,0 +1,68 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.sink;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * {@link CsvRecordSink} that writes to an OutputStream.
+ * <br>
+ * Records are not flushed one by one, but every batchSize records, so memory stays constant no matter how many records are written.
+ */
+public class CsvFileRecordSink<T> implements CsvRecordSink<T> {
+	
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
+	/**
+	 * outputStream is closed by the sink, also when the constructor fails.
+	 */
+	public CsvFileRecordSink(@NonNull final ObjectWriter objectWriter, @NonNull final OutputStream outputStream, int batchSize) throws IOException {
+		try {
+			if(batchSize <= 0) {
+				throw new IllegalArgumentException("batchSize must be greater than zero");
+			}
+			this.sequenceWriter = objectWriter.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+											  .writeValues(new BufferedOutputStream(outputStream, BUFFER_SIZE));
+		} catch (IOException | RuntimeException e) {
+			outputStream.close();
+			throw e;
+		}
+		this.batchSize = batchSize;
+	}
+	
+	private final SequenceWriter sequenceWriter;
+	
+	private final int batchSize;
+	
+	/**
+	 * number of records written so far
+	 */
+	@Getter
+	private long count;
+	
+	@Override
+	public void write(T record) throws IOException {
+		sequenceWriter.write(record);
+		if(++count % batchSize == 0) {
+			sequenceWriter.flush();
+		}
+	}
+	
+	@Override
+	public void flush() throws IOException {
+		sequenceWriter.flush();
+	}
+	
+	@Override
+	public void close() throws IOException {
+		sequenceWriter.close();
+	}
+	
+}
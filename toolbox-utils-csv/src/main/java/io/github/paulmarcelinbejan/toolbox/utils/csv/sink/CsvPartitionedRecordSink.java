@@ -0,0 +1,150 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.sink;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import io.github.paulmarcelinbejan.toolbox.base.functional_interfaces.consumer.ConsumerUtilsExceptionable.ConsumerWithException;
+import io.github.paulmarcelinbejan.toolbox.utils.io.FileUtils;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * {@link CsvRecordSink} that fans records out to a different file for every partition key, so one pass over the data produces all the files.
+ * <br>
+ * At most maxOpenFiles files are open at the same time: when a new one is needed the least recently used is closed, 
+ * and if a record of its partition comes later the file is opened again in append mode (the header is written only once).
+ * <br>
+ * Open files are flushed and closed in parallel. The sink is not thread-safe.
+ */
+public class CsvPartitionedRecordSink<T, K> implements CsvRecordSink<T> {
+	
+	public static final int DEFAULT_MAX_OPEN_FILES = 64;
+	
+	/**
+	 * @param objectWriter writer of the records.
+	 * @param schema CsvSchema of the files, including the header.
+	 * @param keyExtractor partition key of a record.
+	 * @param fileInfoProvider file of a partition key, it must return a different file for every key.
+	 */
+	public CsvPartitionedRecordSink(
+			@NonNull final ObjectWriter objectWriter, 
+			@NonNull final CsvSchema schema, 
+			@NonNull final Function<? super T, ? extends K> keyExtractor, 
+			@NonNull final Function<? super K, FileInfo> fileInfoProvider, 
+			int maxOpenFiles, 
+			int batchSize) {
+		if(maxOpenFiles <= 0 || batchSize <= 0) {
+			throw new IllegalArgumentException("maxOpenFiles and batchSize must be greater than zero");
+		}
+		this.writerWithHeader = objectWriter.with(schema.withHeader());
+		this.writerWithoutHeader = objectWriter.with(schema.withoutHeader());
+		this.keyExtractor = keyExtractor;
+		this.fileInfoProvider = fileInfoProvider;
+		this.maxOpenFiles = maxOpenFiles;
+		this.batchSize = batchSize;
+	}
+	
+	private final ObjectWriter writerWithHeader;
+	
+	private final ObjectWriter writerWithoutHeader;
+	
+	private final Function<? super T, ? extends K> keyExtractor;
+	
+	private final Function<? super K, FileInfo> fileInfoProvider;
+	
+	private final int maxOpenFiles;
+	
+	private final int batchSize;
+	
+	/**
+	 * open files in access order, the first one is the least recently used.
+	 */
+	private final LinkedHashMap<K, CsvFileRecordSink<T>> openSinks = new LinkedHashMap<>(16, 0.75f, true);
+	
+	private final Set<K> partitions = new HashSet<>();
+	
+	/**
+	 * number of records written so far
+	 */
+	@Getter
+	private long count;
+	
+	@Override
+	public void write(T record) throws IOException {
+		K key = keyExtractor.apply(record);
+		CsvFileRecordSink<T> sink = openSinks.get(key);
+		if(sink == null) {
+			sink = open(key);
+		}
+		sink.write(record);
+		count++;
+	}
+	
+	/**
+	 * @return the partition keys of the records written so far.
+	 */
+	public Set<K> getPartitions() {
+		return Collections.unmodifiableSet(partitions);
+	}
+	
+	@Override
+	public void flush() throws IOException {
+		forEachInParallel(openSinks.values(), CsvFileRecordSink::flush);
+	}
+	
+	@Override
+	public void close() throws IOException {
+		List<CsvFileRecordSink<T>> sinks = new ArrayList<>(openSinks.values());
+		openSinks.clear();
+		forEachInParallel(sinks, CsvFileRecordSink::close);
+	}
+	
+	private CsvFileRecordSink<T> open(K key) throws IOException {
+		if(openSinks.size() >= maxOpenFiles) {
+			Iterator<Map.Entry<K, CsvFileRecordSink<T>>> leastRecentlyUsed = openSinks.entrySet().iterator();
+			CsvFileRecordSink<T> evicted = leastRecentlyUsed.next().getValue();
+			leastRecentlyUsed.remove();
+			evicted.close();
+		}
+		
+		FileInfo fileInfo = fileInfoProvider.apply(key);
+		CsvFileRecordSink<T> sink = partitions.add(key) 
+				? new CsvFileRecordSink<>(writerWithHeader, FileUtils.createFileOutputStream(fileInfo), batchSize) 
+				: new CsvFileRecordSink<>(writerWithoutHeader, FileUtils.createFileOutputStream(fileInfo, true), batchSize);
+		openSinks.put(key, sink);
+		return sink;
+	}
+	
+	/**
+	 * Apply action to all the sinks in parallel, even if it fails on some of them.
+	 */
+	private static <T> void forEachInParallel(Collection<CsvFileRecordSink<T>> sinks, ConsumerWithException<CsvFileRecordSink<T>, IOException> action) throws IOException {
+		List<IOException> exceptions = Collections.synchronizedList(new ArrayList<>());
+		sinks.parallelStream().forEach(sink -> {
+			try {
+				action.accept(sink);
+			} catch (IOException e) {
+				exceptions.add(e);
+			}
+		});
+		if(!exceptions.isEmpty()) {
+			IOException exception = exceptions.get(0);
+			exceptions.stream().skip(1).forEach(exception::addSuppressed);
+			throw exception;
+		}
+	}
+	
+}
@@ -0,0 +1,23 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.sink;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Push-style writer of CSV records: records are written one by one, so they never need to be all in memory.
+ * <br>
+ * Remember to close the sink using <b>sink.close()</b> in order to flush the last records and release any resources associated with it.
+ */
+public interface CsvRecordSink<T> extends Closeable, Flushable {
+	
+	void write(T record) throws IOException;
+	
+	default void writeAll(Iterator<? extends T> records) throws IOException {
+		while(records.hasNext()) {
+			write(records.next());
+		}
+	}
+	
+}
@@ -0,0 +1,133 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.sink;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import io.github.paulmarcelinbejan.toolbox.utils.io.FileUtils;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+import io.github.paulmarcelinbejan.toolbox.utils.io.stream.Utf8CountingWriter;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * {@link CsvRecordSink} that splits the output in more files: a new file is started as soon as the current one reaches maxRows records or maxBytes bytes 
+ * (so a file can exceed maxBytes by at most one record).
+ * <br>
+ * The files are named after fileInfo followed by a sequence number starting from 1, see {@link FileInfo#withSequenceNumber(int)}, 
+ * and every file starts with the header.
+ * <br>
+ * Records are flushed to the file every batchSize records.
+ */
+public class CsvRollingRecordSink<T> implements CsvRecordSink<T> {
+	
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
+	/**
+	 * @param maxRows maximum number of records of a file, Long.MAX_VALUE for no limit.
+	 * @param maxBytes maximum number of bytes of a file, Long.MAX_VALUE for no limit.
+	 */
+	public CsvRollingRecordSink(
+			@NonNull final ObjectWriter objectWriter, 
+			@NonNull final CsvSchema schema, 
+			@NonNull final FileInfo fileInfo, 
+			long maxRows, 
+			long maxBytes, 
+			int batchSize) {
+		if(maxRows <= 0 || maxBytes <= 0 || batchSize <= 0) {
+			throw new IllegalArgumentException("maxRows, maxBytes and batchSize must be greater than zero");
+		}
+		// the generator flushes every record into the counting writer, but not to the file, so the size of the current file is always known
+		this.objectWriter = objectWriter.with(schema.withHeader())
+										.with(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+										.without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+		this.fileInfo = fileInfo;
+		this.maxRows = maxRows;
+		this.maxBytes = maxBytes;
+		this.batchSize = batchSize;
+	}
+	
+	private final ObjectWriter objectWriter;
+	
+	private final FileInfo fileInfo;
+	
+	private final long maxRows;
+	
+	private final long maxBytes;
+	
+	private final int batchSize;
+	
+	private final List<FileInfo> files = new ArrayList<>();
+	
+	private Writer writer;
+	
+	private Utf8CountingWriter countingWriter;
+	
+	private SequenceWriter sequenceWriter;
+	
+	private long fileCount;
+	
+	/**
+	 * number of records written so far
+	 */
+	@Getter
+	private long count;
+	
+	@Override
+	public void write(T record) throws IOException {
+		if(sequenceWriter == null || fileCount >= maxRows || countingWriter.getCount() >= maxBytes) {
+			roll();
+		}
+		sequenceWriter.write(record);
+		fileCount++;
+		if(++count % batchSize == 0) {
+			writer.flush();
+		}
+	}
+	
+	/**
+	 * @return the files written so far, in order.
+	 */
+	public List<FileInfo> getFiles() {
+		return Collections.unmodifiableList(files);
+	}
+	
+	@Override
+	public void flush() throws IOException {
+		if(sequenceWriter != null) {
+			sequenceWriter.flush();
+			writer.flush();
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		if(sequenceWriter != null) {
+			sequenceWriter.close();
+			writer.close();
+			sequenceWriter = null;
+		}
+	}
+	
+	private void roll() throws IOException {
+		close();
+		FileInfo next = fileInfo.withSequenceNumber(files.size() + 1);
+		writer = new BufferedWriter(new OutputStreamWriter(FileUtils.createFileOutputStream(next), StandardCharsets.UTF_8), BUFFER_SIZE);
+		countingWriter = new Utf8CountingWriter(writer);
+		sequenceWriter = objectWriter.writeValues(countingWriter);
+		files.add(next);
+		fileCount = 0;
+	}
+	
+}
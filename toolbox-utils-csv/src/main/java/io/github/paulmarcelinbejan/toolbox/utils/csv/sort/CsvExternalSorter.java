@@ -0,0 +1,330 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.sort;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.paulmarcelinbejan.toolbox.base.data.FieldOrder;
+import io.github.paulmarcelinbejan.toolbox.base.enums.Order;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.chunk.CsvChunk;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.chunk.CsvChunkSplitter;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.config.CsvSortConfig;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvRecordBinder;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvTokenizer;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.StreamCsvTokenizer;
+import io.github.paulmarcelinbejan.toolbox.utils.io.FileUtils;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileType;
+import lombok.NonNull;
+
+/**
+ * External merge sort of CSV files that don't fit in memory.
+ * <br>
+ * Sort phase: the file is split in chunks aligned to record boundaries, parallelism threads read the chunks 
+ * and every time the records they hold exceed their share of the memory budget, they sort them and write them in a run file of the temp directory.
+ * <br>
+ * Merge phase: the runs are merged k-way using a heap of at most mergeFanIn elements, with more runs than mergeFanIn intermediate merges are done.
+ * <br>
+ * Records are copied byte by byte (quotes included), only the fields of the sort keys are decoded. 
+ * Numbers are compared exactly by value (the same number written differently, e.g. 007 and 7, by text) and come before text. The sort is not stable.
+ */
+public class CsvExternalSorter {
+	
+	private static final byte LINE_FEED = '\n';
+	
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
+	private static final long MIN_CHUNK_SIZE = 1024 * 1024;
+	
+	public CsvExternalSorter(@NonNull final CsvSortConfig config) {
+		if(config.getMemoryBudget() <= 0 || config.getParallelism() <= 0 || config.getMergeFanIn() < 2) {
+			throw new IllegalArgumentException("memoryBudget and parallelism must be greater than zero, mergeFanIn at least 2");
+		}
+		this.config = config;
+		this.tempDirectory = config.getTempDirectory().endsWith(File.separator) || config.getTempDirectory().endsWith("/") 
+				? config.getTempDirectory() 
+				: config.getTempDirectory() + File.separator;
+	}
+	
+	private final CsvSortConfig config;
+	
+	private final String tempDirectory;
+	
+	/**
+	 * Sort the records of input by orders and write them in output, the header line is kept as first line.
+	 * 
+	 * @throws IOException if input can not be read, if output or a run can not be written, or if the temp directory budget is exceeded.
+	 * @throws IllegalArgumentException if the field of an order is not present in the header.
+	 */
+	public void sort(@NonNull final FileInfo input, @NonNull final FileInfo output, char separator, @NonNull final List<FieldOrder> orders) throws IOException {
+		byte[] header;
+		int[] keyIndexes = new int[orders.size()];
+		boolean[] descending = new boolean[orders.size()];
+		long headerEnd;
+		
+		try (CsvTokenizer tokenizer = new StreamCsvTokenizer(FileUtils.createFileInputStream(input), separator)) {
+			if(!tokenizer.next()) {
+				FileUtils.createFileOutputStream(output).close();
+				return;
+			}
+			String[] columns = tokenizer.getFields();
+			for(int i = 0; i < orders.size(); i++) {
+				keyIndexes[i] = CsvRecordBinder.indexOf(columns, orders.get(i).getField());
+				descending[i] = orders.get(i).getOrder() == Order.DESC;
+			}
+			header = tokenizer.getRecordBytes();
+			headerEnd = tokenizer.getOffset();
+		}
+		
+		SortContext context = new SortContext(input, separator, keyIndexes, new SortRecordComparator(descending));
+		try {
+			List<FileInfo> runs = sortRuns(context, headerEnd);
+			
+			while(runs.size() > config.getMergeFanIn()) {
+				runs = mergePass(context, runs);
+			}
+			
+			try (OutputStream outputStream = new BufferedOutputStream(FileUtils.createFileOutputStream(output), BUFFER_SIZE)) {
+				outputStream.write(header);
+				outputStream.write(LINE_FEED);
+				merge(context, runs, outputStream, false);
+			}
+		} finally {
+			context.deleteRuns();
+		}
+	}
+	
+	/**
+	 * Sort phase: return the sorted runs written by the threads.
+	 */
+	private List<FileInfo> sortRuns(SortContext context, long headerEnd) throws IOException {
+		long memoryBudgetPerThread = Math.max(1, config.getMemoryBudget() / config.getParallelism());
+		
+		Queue<CsvChunk> chunks;
+		try (FileChannel channel = FileUtils.createFileChannel(context.input)) {
+			long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(CsvChunkSplitter.DEFAULT_CHUNK_SIZE, memoryBudgetPerThread / 2));
+			chunks = new ConcurrentLinkedQueue<>(CsvChunkSplitter.split(channel, context.separator, headerEnd, channel.size(), chunkSize));
+		}
+		
+		List<FileInfo> runs = Collections.synchronizedList(new ArrayList<>());
+		ExecutorService executor = Executors.newFixedThreadPool(config.getParallelism());
+		try {
+			List<Future<Void>> futures = new ArrayList<>();
+			for(int i = 0; i < config.getParallelism(); i++) {
+				futures.add(executor.submit(() -> {
+					sortChunks(context, chunks, memoryBudgetPerThread, runs);
+					return null;
+				}));
+			}
+			for(Future<Void> future : futures) {
+				await(future);
+			}
+		} finally {
+			stop(executor);
+		}
+		return new ArrayList<>(runs);
+	}
+	
+	/**
+	 * Interrupt the threads and wait until they stopped, so no run is written after the runs have been deleted. 
+	 * The wait is not interrupted, the interrupt status is restored once the threads stopped.
+	 */
+	private static void stop(ExecutorService executor) {
+		executor.shutdownNow();
+		boolean interrupted = false;
+		boolean terminated = false;
+		while(!terminated) {
+			try {
+				terminated = executor.awaitTermination(1, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if(interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	private void sortChunks(SortContext context, Queue<CsvChunk> chunks, long memoryBudget, List<FileInfo> runs) throws IOException {
+		List<SortRecord> records = new ArrayList<>();
+		long size = 0;
+		CsvChunk chunk;
+		while((chunk = chunks.poll()) != null) {
+			try (CsvTokenizer tokenizer = new StreamCsvTokenizer(
+					FileUtils.createFileRangeInputStream(context.input, chunk.getStart(), chunk.getEnd()), 
+					context.separator, 
+					chunk.getStart())) {
+				while(tokenizer.next()) {
+					SortRecord record = SortRecord.of(tokenizer, context.keyIndexes);
+					records.add(record);
+					size += record.estimatedSize();
+					if(size >= memoryBudget) {
+						runs.add(writeRun(context, records));
+						records.clear();
+						size = 0;
+					}
+				}
+			}
+		}
+		if(!records.isEmpty()) {
+			runs.add(writeRun(context, records));
+		}
+	}
+	
+	private FileInfo writeRun(SortContext context, List<SortRecord> records) throws IOException {
+		records.sort(context.comparator);
+		FileInfo run = context.newRun();
+		try (OutputStream outputStream = new BufferedOutputStream(FileUtils.createFileOutputStream(run), BUFFER_SIZE)) {
+			for(SortRecord record : records) {
+				context.writeRecord(record, outputStream, true);
+			}
+		}
+		return run;
+	}
+	
+	/**
+	 * Merge the runs in groups of mergeFanIn, return the merged runs.
+	 */
+	private List<FileInfo> mergePass(SortContext context, List<FileInfo> runs) throws IOException {
+		List<FileInfo> merged = new ArrayList<>();
+		for(int i = 0; i < runs.size(); i += config.getMergeFanIn()) {
+			List<FileInfo> group = runs.subList(i, Math.min(i + config.getMergeFanIn(), runs.size()));
+			if(group.size() == 1) {
+				merged.add(group.get(0));
+				continue;
+			}
+			FileInfo run = context.newRun();
+			try (OutputStream outputStream = new BufferedOutputStream(FileUtils.createFileOutputStream(run), BUFFER_SIZE)) {
+				merge(context, group, outputStream, true);
+			}
+			context.deleteRuns(group);
+			merged.add(run);
+		}
+		return merged;
+	}
+	
+	/**
+	 * k-way merge of the runs, the heap holds the current record of every run.
+	 */
+	private void merge(SortContext context, List<FileInfo> runs, OutputStream outputStream, boolean temp) throws IOException {
+		PriorityQueue<SortRunReader> heap = new PriorityQueue<>(
+				Math.max(1, runs.size()), 
+				(first, second) -> context.comparator.compare(first.getCurrent(), second.getCurrent()));
+		List<SortRunReader> readers = new ArrayList<>(runs.size());
+		try {
+			for(FileInfo run : runs) {
+				SortRunReader reader = new SortRunReader(run, context.separator, context.keyIndexes);
+				readers.add(reader);
+				if(reader.advance()) {
+					heap.add(reader);
+				}
+			}
+			while(!heap.isEmpty()) {
+				SortRunReader reader = heap.poll();
+				context.writeRecord(reader.getCurrent(), outputStream, temp);
+				if(reader.advance()) {
+					heap.add(reader);
+				}
+			}
+		} finally {
+			for(SortRunReader reader : readers) {
+				reader.close();
+			}
+		}
+	}
+	
+	private static void await(Future<Void> future) throws IOException {
+		try {
+			future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Sort interrupted", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if(cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if(cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+	
+	/**
+	 * State of a single sort: the runs written in the temp directory and the bytes they use.
+	 */
+	private class SortContext {
+		
+		SortContext(FileInfo input, char separator, int[] keyIndexes, SortRecordComparator comparator) {
+			this.input = input;
+			this.separator = separator;
+			this.keyIndexes = keyIndexes;
+			this.comparator = comparator;
+		}
+		
+		final FileInfo input;
+		
+		final char separator;
+		
+		final int[] keyIndexes;
+		
+		final SortRecordComparator comparator;
+		
+		final String runPrefix = "csv-sort-" + UUID.randomUUID() + "-";
+		
+		final AtomicInteger runCount = new AtomicInteger();
+		
+		final AtomicLong tempBytes = new AtomicLong();
+		
+		final List<FileInfo> runs = Collections.synchronizedList(new ArrayList<>());
+		
+		FileInfo newRun() {
+			FileInfo run = new FileInfo(tempDirectory, runPrefix + runCount.incrementAndGet(), FileType.CSV);
+			runs.add(run);
+			return run;
+		}
+		
+		void writeRecord(SortRecord record, OutputStream outputStream, boolean temp) throws IOException {
+			if(temp && tempBytes.addAndGet(record.bytes.length + 1L) > config.getTempDirectoryBudget()) {
+				throw new IOException("Temp directory budget of " + config.getTempDirectoryBudget() + " bytes exceeded");
+			}
+			outputStream.write(record.bytes);
+			outputStream.write(LINE_FEED);
+		}
+		
+		void deleteRuns(List<FileInfo> toDelete) throws IOException {
+			for(FileInfo run : new ArrayList<>(toDelete)) {
+				tempBytes.addAndGet(-Files.size(FileUtils.createPath(run)));
+				Files.delete(FileUtils.createPath(run));
+				runs.remove(run);
+			}
+		}
+		
+		void deleteRuns() throws IOException {
+			for(FileInfo run : new ArrayList<>(runs)) {
+				Files.deleteIfExists(FileUtils.createPath(run));
+			}
+			runs.clear();
+		}
+	
+	}
+	
+}
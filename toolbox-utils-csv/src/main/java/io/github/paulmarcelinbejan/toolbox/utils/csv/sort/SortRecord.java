@@ -0,0 +1,93 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.sort;
+
+import java.math.BigDecimal;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvNumbers;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvTokenizer;
+
+/**
+ * Raw bytes of a record together with the values of its sort keys.
+ * <br>
+ * When the field is a number for {@link CsvNumbers} the key is exact, as the filters of the records: 
+ * a Long when the field is an integer written as Long.toString would write it, otherwise a {@link NumberKey}. 
+ * Otherwise the key is the String value of the field (empty if the field is missing).
+ */
+class SortRecord {
+	
+	private static final long OBJECT_OVERHEAD = 48;
+	private static final long STRING_OVERHEAD = 40;
+	private static final long LONG_SIZE = 16;
+	private static final long NUMBER_KEY_SIZE = 24 + 40;
+	
+	SortRecord(byte[] bytes, Object[] keys) {
+		this.bytes = bytes;
+		this.keys = keys;
+	}
+	
+	static SortRecord of(CsvTokenizer tokenizer, int[] keyIndexes) {
+		Object[] keys = new Object[keyIndexes.length];
+		for(int i = 0; i < keyIndexes.length; i++) {
+			keys[i] = keyIndexes[i] < tokenizer.getFieldCount() ? toKey(tokenizer.getField(keyIndexes[i])) : "";
+		}
+		return new SortRecord(tokenizer.getRecordBytes(), keys);
+	}
+	
+	final byte[] bytes;
+	
+	final Object[] keys;
+	
+	/**
+	 * @return approximate number of bytes of heap used by this record.
+	 */
+	long estimatedSize() {
+		long size = OBJECT_OVERHEAD + bytes.length + 8L * keys.length;
+		for(Object key : keys) {
+			if(key instanceof String) {
+				size += STRING_OVERHEAD + 2L * ((String) key).length();
+			} else if(key instanceof NumberKey) {
+				size += NUMBER_KEY_SIZE + STRING_OVERHEAD + 2L * ((NumberKey) key).text.length();
+			} else {
+				size += LONG_SIZE;
+			}
+		}
+		return size;
+	}
+	
+	private static Object toKey(String field) {
+		String value = field.trim();
+		if(!CsvNumbers.isNumber(value)) {
+			return field;
+		}
+		if(CsvNumbers.isInteger(value)) {
+			try {
+				long integer = Long.parseLong(value);
+				if(Long.toString(integer).equals(value)) {
+					return integer;
+				}
+			} catch (NumberFormatException e) {
+				// it doesn't fit in a long
+			}
+		}
+		return new NumberKey(new BigDecimal(value), value);
+	}
+	
+	/**
+	 * Number that is not a Long in canonical form (e.g. 007, +2., -1.5e3 or an integer that doesn't fit in a long).
+	 * <br>
+	 * The text is kept so numbers with the same value but written differently (e.g. 007 and 7) are ordered by their text, 
+	 * instead of being equal.
+	 */
+	static final class NumberKey {
+		
+		NumberKey(BigDecimal value, String text) {
+			this.value = value;
+			this.text = text;
+		}
+		
+		final BigDecimal value;
+		
+		final String text;
+		
+	}
+	
+}
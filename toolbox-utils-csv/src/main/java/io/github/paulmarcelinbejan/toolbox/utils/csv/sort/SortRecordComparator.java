@@ -0,0 +1,59 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.sort;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.sort.SortRecord.NumberKey;
+
+/**
+ * Compare {@link SortRecord} key by key: numbers are compared exactly by value and come before text, text is compared lexicographically.
+ * <br>
+ * Numbers with the same value but written differently (e.g. 007 and 7) are ordered by their text.
+ */
+class SortRecordComparator implements Comparator<SortRecord> {
+	
+	SortRecordComparator(boolean[] descending) {
+		this.descending = descending;
+	}
+	
+	private final boolean[] descending;
+	
+	@Override
+	public int compare(SortRecord first, SortRecord second) {
+		for(int i = 0; i < descending.length; i++) {
+			int comparison = compareKeys(first.keys[i], second.keys[i]);
+			if(comparison != 0) {
+				return descending[i] ? -comparison : comparison;
+			}
+		}
+		return 0;
+	}
+	
+	private static int compareKeys(Object first, Object second) {
+		if(first instanceof Long && second instanceof Long) {
+			return Long.compare((Long) first, (Long) second);
+		}
+		boolean firstIsNumber = !(first instanceof String);
+		boolean secondIsNumber = !(second instanceof String);
+		if(firstIsNumber && secondIsNumber) {
+			int comparison = toBigDecimal(first).compareTo(toBigDecimal(second));
+			return comparison != 0 ? comparison : toText(first).compareTo(toText(second));
+		}
+		if(firstIsNumber) {
+			return -1;
+		}
+		if(secondIsNumber) {
+			return 1;
+		}
+		return ((String) first).compareTo((String) second);
+	}
+	
+	private static BigDecimal toBigDecimal(Object number) {
+		return number instanceof Long ? BigDecimal.valueOf((Long) number) : ((NumberKey) number).value;
+	}
+	
+	private static String toText(Object number) {
+		return number instanceof Long ? number.toString() : ((NumberKey) number).text;
+	}
+	
+}
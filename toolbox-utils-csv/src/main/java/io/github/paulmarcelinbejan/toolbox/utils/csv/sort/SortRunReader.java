@@ -0,0 +1,46 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.sort;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvTokenizer;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.StreamCsvTokenizer;
+import io.github.paulmarcelinbejan.toolbox.utils.io.FileUtils;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+
+/**
+ * Read back the records of a sorted run, one at a time.
+ */
+class SortRunReader implements Closeable {
+	
+	SortRunReader(FileInfo run, char separator, int[] keyIndexes) throws IOException {
+		this.tokenizer = new StreamCsvTokenizer(FileUtils.createFileInputStream(run), separator);
+		this.keyIndexes = keyIndexes;
+	}
+	
+	private final CsvTokenizer tokenizer;
+	
+	private final int[] keyIndexes;
+	
+	private SortRecord current;
+	
+	/**
+	 * Move to the next record of the run.
+	 * 
+	 * @return false if there are no more records.
+	 */
+	boolean advance() throws IOException {
+		current = tokenizer.next() ? SortRecord.of(tokenizer, keyIndexes) : null;
+		return current != null;
+	}
+	
+	SortRecord getCurrent() {
+		return current;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		tokenizer.close();
+	}
+	
+}
@@ -0,0 +1,41 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.token;
+
+import java.util.regex.Pattern;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * What a number is in the raw fields of a CSV file, shared by the filters and the sort of the records.
+ * <br>
+ * Only plain decimal notation is a number (e.g. 10, -1.5e3, .5, +2.): 1d, 0x1p3, NaN and Infinity are text.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CsvNumbers {
+	
+	private static final Pattern NUMBER = Pattern.compile("[+-]?(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?");
+	
+	private static final Pattern INTEGER = Pattern.compile("[+-]?\\d+");
+	
+	/**
+	 * @param value a trimmed value.
+	 */
+	public static boolean isNumber(String value) {
+		return !value.isEmpty() && isNumberStart(value.charAt(0)) && NUMBER.matcher(value).matches();
+	}
+	
+	/**
+	 * @param value a trimmed value.
+	 */
+	public static boolean isInteger(String value) {
+		return INTEGER.matcher(value).matches();
+	}
+	
+	/**
+	 * cheap check before the pattern, most text fields don't start like a number.
+	 */
+	private static boolean isNumberStart(char first) {
+		return (first >= '0' && first <= '9') || first == '-' || first == '+' || first == '.';
+	}
+	
+}
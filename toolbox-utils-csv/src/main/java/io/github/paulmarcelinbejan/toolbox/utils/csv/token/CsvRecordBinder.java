@@ -0,0 +1,127 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.token;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.fasterxml.jackson.dataformat.csv.CsvFactory;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Bind the fields of the current record of a {@link CsvTokenizer} to an instance of T.
+ * <br>
+ * Only the fields of the selected columns are decoded, every value is passed to Jackson as a String, 
+ * exactly like jackson-dataformat-csv does, so the same coercions and deserializers apply.
+ */
+public class CsvRecordBinder<T> {
+	
+	public CsvRecordBinder(
+			@NonNull final ObjectReader objectReader, 
+			@NonNull final String[] columns, 
+			@NonNull final int[] indexes, 
+			boolean emptyStringAsNull, 
+			boolean trimSpaces) {
+		if(columns.length != indexes.length) {
+			throw new IllegalArgumentException("columns and indexes must have the same length");
+		}
+		this.objectReader = objectReader;
+		this.columns = columns;
+		this.indexes = indexes;
+		this.emptyStringAsNull = emptyStringAsNull;
+		this.trimSpaces = trimSpaces;
+	}
+	
+	/**
+	 * Binder of the given columns, using the configuration of the mapper (also {@link CsvParser.Feature#EMPTY_STRING_AS_NULL} and {@link CsvParser.Feature#TRIM_SPACES}).
+	 * 
+	 * @param header columns of the header line of the file
+	 * @param columns columns to bind, if null or empty all the columns of the header are bound
+	 */
+	public static <T> CsvRecordBinder<T> of(@NonNull final CsvMapper mapper, Class<T> clazz, @NonNull final String[] header, List<String> columns) {
+		return of(mapper, mapper.readerFor(clazz), header, columns);
+	}
+	
+	/**
+	 * Binder of the given columns using objectReader (e.g. a cached one), which must be created by mapper for T.
+	 * 
+	 * @param header columns of the header line of the file
+	 * @param columns columns to bind, if null or empty all the columns of the header are bound
+	 */
+	public static <T> CsvRecordBinder<T> of(@NonNull final CsvMapper mapper, @NonNull final ObjectReader objectReader, @NonNull final String[] header, List<String> columns) {
+		String[] selectedColumns = columns == null || columns.isEmpty() ? header : columns.toArray(String[]::new);
+		
+		int[] indexes = new int[selectedColumns.length];
+		for(int i = 0; i < selectedColumns.length; i++) {
+			indexes[i] = indexOf(header, selectedColumns[i]);
+		}
+		
+		CsvFactory csvFactory = mapper.getFactory();
+		
+		return new CsvRecordBinder<>(
+				objectReader, 
+				selectedColumns, 
+				indexes, 
+				csvFactory.isEnabled(CsvParser.Feature.EMPTY_STRING_AS_NULL), 
+				csvFactory.isEnabled(CsvParser.Feature.TRIM_SPACES));
+	}
+	
+	/**
+	 * @return the position of column in header
+	 * @throws IllegalArgumentException if header doesn't contain column
+	 */
+	public static int indexOf(String[] header, String column) {
+		for(int i = 0; i < header.length; i++) {
+			if(header[i].equals(column)) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Column " + column + " not found in header");
+	}
+	
+	private final ObjectReader objectReader;
+	
+	@Getter
+	private final String[] columns;
+	
+	@Getter
+	private final int[] indexes;
+	
+	private final boolean emptyStringAsNull;
+	
+	private final boolean trimSpaces;
+	
+	/**
+	 * Fields missing from the current record (shorter than the header) are not bound.
+	 */
+	public T bind(CsvTokenizer tokenizer) throws IOException {
+		TokenBuffer tokenBuffer = new TokenBuffer(null, false);
+		tokenBuffer.writeStartObject();
+		for(int i = 0; i < indexes.length; i++) {
+			int index = indexes[i];
+			if(index >= tokenizer.getFieldCount()) {
+				continue;
+			}
+			tokenBuffer.writeFieldName(columns[i]);
+			writeValue(tokenBuffer, tokenizer.getField(index));
+		}
+		tokenBuffer.writeEndObject();
+		return objectReader.readValue(tokenBuffer.asParser());
+	}
+	
+	private void writeValue(TokenBuffer tokenBuffer, String value) throws IOException {
+		if(trimSpaces) {
+			value = value.trim();
+		}
+		if(emptyStringAsNull && value.isEmpty()) {
+			tokenBuffer.writeNull();
+		} else {
+			tokenBuffer.writeString(value);
+		}
+	}
+	
+}
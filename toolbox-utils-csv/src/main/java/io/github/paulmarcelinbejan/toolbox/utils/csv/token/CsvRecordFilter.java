@@ -0,0 +1,295 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.token;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+
+import io.github.paulmarcelinbejan.toolbox.base.data.FieldFilter;
+import io.github.paulmarcelinbejan.toolbox.base.enums.ComparisonOperator;
+import lombok.NonNull;
+
+/**
+ * All the {@link FieldFilter} of a list evaluated on the raw fields of the current record of a {@link CsvTokenizer}, 
+ * so the records that don't match are skipped before being bound.
+ * <br>
+ * When the value of a filter is a number the field is compared as a number (a field that is not a number doesn't match): 
+ * integers exactly, as long or as BigDecimal, decimals as double. 
+ * Otherwise the field is compared as a String, equality is checked on the raw bytes without decoding the field.
+ * <br>
+ * Missing fields are treated as empty.
+ */
+public class CsvRecordFilter {
+	
+	/**
+	 * filter that accepts every record.
+	 */
+	public static final CsvRecordFilter ACCEPT_ALL = new CsvRecordFilter(new int[0], new FieldPredicate[0]);
+	
+	private static final String VALUES_SEPARATOR = ",";
+	
+	/**
+	 * returned by a {@link FieldComparison} when the field is missing, empty or not a number.
+	 */
+	private static final int NOT_A_NUMBER = Integer.MIN_VALUE;
+	
+	private CsvRecordFilter(int[] indexes, FieldPredicate[] predicates) {
+		this.indexes = indexes;
+		this.predicates = predicates;
+	}
+	
+	/**
+	 * Filter using the configuration of the mapper: with {@link CsvParser.Feature#TRIM_SPACES} the fields are trimmed before being compared, 
+	 * as the {@link CsvRecordBinder} does before binding them.
+	 * 
+	 * @param header columns of the header line of the file
+	 * @param filters conditions that a record must satisfy, if null or empty every record is accepted
+	 * @throws IllegalArgumentException if the field of a filter is not present in the header, or if a filter is not valid.
+	 */
+	public static CsvRecordFilter of(@NonNull final CsvMapper mapper, @NonNull final String[] header, List<FieldFilter> filters) {
+		if(filters == null || filters.isEmpty()) {
+			return ACCEPT_ALL;
+		}
+		
+		boolean trimSpaces = mapper.getFactory().isEnabled(CsvParser.Feature.TRIM_SPACES);
+		int[] indexes = new int[filters.size()];
+		FieldPredicate[] predicates = new FieldPredicate[filters.size()];
+		for(int i = 0; i < filters.size(); i++) {
+			FieldFilter filter = filters.get(i);
+			indexes[i] = CsvRecordBinder.indexOf(header, filter.getField());
+			predicates[i] = compile(filter, trimSpaces);
+		}
+		
+		return new CsvRecordFilter(indexes, predicates);
+	}
+	
+	private final int[] indexes;
+	
+	private final FieldPredicate[] predicates;
+	
+	/**
+	 * @return true if the current record of the tokenizer satisfies all the filters.
+	 */
+	public boolean test(CsvTokenizer tokenizer) {
+		for(int i = 0; i < predicates.length; i++) {
+			if(!predicates[i].test(tokenizer, indexes[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	@FunctionalInterface
+	private interface FieldPredicate {
+		
+		boolean test(CsvTokenizer tokenizer, int index);
+	
+	}
+	
+	@FunctionalInterface
+	private interface FieldComparison {
+		
+		/**
+		 * @return the sign of the comparison of the field with the value of the filter (-1, 0 or 1), or NOT_A_NUMBER.
+		 */
+		int compare(CsvTokenizer tokenizer, int index);
+	
+	}
+	
+	private static FieldPredicate compile(FieldFilter filter, boolean trimSpaces) {
+		ComparisonOperator comparisonOperator = filter.getComparisonOperator();
+		String value = filter.getValue();
+		if(comparisonOperator == null || value == null) {
+			throw new IllegalArgumentException("comparisonOperator and value of the filter on " + filter.getField() + " are mandatory");
+		}
+		
+		switch (comparisonOperator) {
+			case IS_EQUAL_TO:
+				return isEqualTo(value, trimSpaces);
+			case IS_NOT_EQUAL_TO:
+				return not(isEqualTo(value, trimSpaces));
+			case IS_LESS_THAN:
+				return compareTo(value, trimSpaces, comparison -> comparison < 0);
+			case IS_LESS_THAN_OR_EQUAL:
+				return compareTo(value, trimSpaces, comparison -> comparison <= 0);
+			case IS_GREATER_THAN:
+				return compareTo(value, trimSpaces, comparison -> comparison > 0);
+			case IS_GREATER_THAN_OR_EQUAL:
+				return compareTo(value, trimSpaces, comparison -> comparison >= 0);
+			case IS_IN:
+				return isIn(split(value), trimSpaces);
+			case IS_NOT_IN:
+				return not(isIn(split(value), trimSpaces));
+			case IS_BETWEEN:
+				return isBetween(split(value), trimSpaces);
+			case IS_LIKE:
+				Pattern pattern = toPattern(value);
+				return (tokenizer, index) -> pattern.matcher(getField(tokenizer, index, trimSpaces)).matches();
+			case STARTS_WITH:
+				return (tokenizer, index) -> getField(tokenizer, index, trimSpaces).startsWith(value);
+			case ENDS_WITH:
+				return (tokenizer, index) -> getField(tokenizer, index, trimSpaces).endsWith(value);
+			default:
+				throw new IllegalArgumentException("ComparisonOperator " + comparisonOperator + " not supported");
+		}
+	}
+	
+	private static FieldPredicate isEqualTo(String value, boolean trimSpaces) {
+		if(isNumber(value)) {
+			FieldComparison comparison = compareToNumber(value.trim());
+			return (tokenizer, index) -> comparison.compare(tokenizer, index) == 0;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		return (tokenizer, index) -> {
+			if(index >= tokenizer.getFieldCount()) {
+				return value.isEmpty();
+			}
+			boolean escaped = tokenizer.isFieldEscaped(index);
+			if(!escaped && tokenizer.fieldEquals(index, bytes)) {
+				return true;
+			}
+			// the raw bytes differ, only the decoded or trimmed field can still be equal
+			return (escaped || trimSpaces) && getField(tokenizer, index, trimSpaces).equals(value);
+		};
+	}
+	
+	private static FieldPredicate compareTo(String value, boolean trimSpaces, IntPredicate expected) {
+		if(isNumber(value)) {
+			FieldComparison comparison = compareToNumber(value.trim());
+			return (tokenizer, index) -> {
+				int result = comparison.compare(tokenizer, index);
+				return result != NOT_A_NUMBER && expected.test(result);
+			};
+		}
+		return (tokenizer, index) -> expected.test(getField(tokenizer, index, trimSpaces).compareTo(value));
+	}
+	
+	private static FieldPredicate isIn(String[] values, boolean trimSpaces) {
+		FieldPredicate[] predicates = Arrays.stream(values)
+											.map(value -> isEqualTo(value, trimSpaces))
+											.toArray(FieldPredicate[]::new);
+		return (tokenizer, index) -> {
+			for(FieldPredicate predicate : predicates) {
+				if(predicate.test(tokenizer, index)) {
+					return true;
+				}
+			}
+			return false;
+		};
+	}
+	
+	private static FieldPredicate isBetween(String[] values, boolean trimSpaces) {
+		if(values.length != 2) {
+			throw new IllegalArgumentException("IS_BETWEEN requires two comma separated values, found: " + String.join(VALUES_SEPARATOR, values));
+		}
+		FieldPredicate from = compareTo(values[0], trimSpaces, comparison -> comparison >= 0);
+		FieldPredicate to = compareTo(values[1], trimSpaces, comparison -> comparison <= 0);
+		return (tokenizer, index) -> from.test(tokenizer, index) && to.test(tokenizer, index);
+	}
+	
+	private static FieldPredicate not(FieldPredicate predicate) {
+		return (tokenizer, index) -> !predicate.test(tokenizer, index);
+	}
+	
+	/**
+	 * Integers are compared exactly: as long while both the number and the field fit in a long (parsed from the bytes), 
+	 * otherwise as BigDecimal. Decimals are compared as double.
+	 * 
+	 * @param number a trimmed value that is a number for {@link CsvNumbers}.
+	 */
+	private static FieldComparison compareToNumber(String number) {
+		if(!CsvNumbers.isInteger(number)) {
+			double decimal = Double.parseDouble(number);
+			return (tokenizer, index) -> {
+				double field = getFieldAsNumber(tokenizer, index);
+				if(Double.isNaN(field)) {
+					return NOT_A_NUMBER;
+				}
+				return field == decimal ? 0 : (field < decimal ? -1 : 1);
+			};
+		}
+		
+		BigDecimal integer = new BigDecimal(number);
+		if(integer.toBigInteger().bitLength() >= Long.SIZE) {
+			return (tokenizer, index) -> compareAsBigDecimal(tokenizer, index, integer);
+		}
+		long exact = integer.longValueExact();
+		return (tokenizer, index) -> {
+			if(index < tokenizer.getFieldCount() && tokenizer.isFieldLongCandidate(index)) {
+				return Long.compare(tokenizer.getFieldAsLong(index), exact);
+			}
+			return compareAsBigDecimal(tokenizer, index, integer);
+		};
+	}
+	
+	private static int compareAsBigDecimal(CsvTokenizer tokenizer, int index, BigDecimal number) {
+		if(index >= tokenizer.getFieldCount() || tokenizer.isFieldEmpty(index)) {
+			return NOT_A_NUMBER;
+		}
+		String field = tokenizer.getField(index).trim();
+		return isNumber(field) ? new BigDecimal(field).compareTo(number) : NOT_A_NUMBER;
+	}
+	
+	/**
+	 * @return the value of the field, trimmed if trimSpaces, or an empty String if the record doesn't have it.
+	 */
+	private static String getField(CsvTokenizer tokenizer, int index, boolean trimSpaces) {
+		if(index >= tokenizer.getFieldCount()) {
+			return "";
+		}
+		return trimSpaces ? tokenizer.getField(index).trim() : tokenizer.getField(index);
+	}
+	
+	/**
+	 * @return the value of the field as a number, or NaN if the field is missing, empty or not a number.
+	 */
+	private static double getFieldAsNumber(CsvTokenizer tokenizer, int index) {
+		if(index >= tokenizer.getFieldCount() || tokenizer.isFieldEmpty(index)) {
+			return Double.NaN;
+		}
+		try {
+			return tokenizer.getFieldAsDouble(index);
+		} catch (NumberFormatException e) {
+			return Double.NaN;
+		}
+	}
+	
+	private static boolean isNumber(String value) {
+		return CsvNumbers.isNumber(value.trim());
+	}
+	
+	private static String[] split(String value) {
+		return Arrays.stream(value.split(VALUES_SEPARATOR))
+					 .map(String::trim)
+					 .toArray(String[]::new);
+	}
+	
+	/**
+	 * @return the regex equivalent to the like pattern, where % matches any sequence of characters and _ matches a single character.
+	 */
+	private static Pattern toPattern(String like) {
+		StringBuilder regex = new StringBuilder();
+		StringBuilder literal = new StringBuilder();
+		for(char current : like.toCharArray()) {
+			if(current == '%' || current == '_') {
+				if(literal.length() > 0) {
+					regex.append(Pattern.quote(literal.toString()));
+					literal.setLength(0);
+				}
+				regex.append(current == '%' ? ".*" : ".");
+			} else {
+				literal.append(current);
+			}
+		}
+		if(literal.length() > 0) {
+			regex.append(Pattern.quote(literal.toString()));
+		}
+		return Pattern.compile(regex.toString(), Pattern.DOTALL);
+	}
+	
+}
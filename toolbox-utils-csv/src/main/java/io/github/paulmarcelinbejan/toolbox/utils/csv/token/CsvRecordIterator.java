@@ -0,0 +1,166 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.token;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.sink.CsvRecordSink;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Iterator over the records of a {@link CsvTokenizer}, each record is bound using a {@link CsvRecordBinder}.
+ * <br>
+ * Records that don't satisfy the {@link CsvRecordFilter} are skipped without being bound.
+ * <br>
+ * Tolerant mode: when a quarantine sink is given, records that can not be bound are written to it as {@link CsvRejectedRecord} 
+ * and the iteration goes on, otherwise the iteration stops with the exception. 
+ * The quarantine sink is flushed when the iterator is closed, but it is not closed.
+ * <br>
+ * Remember to close the iterator using <b>iterator.close()</b> in order to release any resources associated with it.
+ */
+public class CsvRecordIterator<T> implements Iterator<T>, Closeable {
+	
+	public CsvRecordIterator(@NonNull final CsvTokenizer tokenizer, @NonNull final CsvRecordBinder<T> binder) {
+		this(tokenizer, binder, CsvRecordFilter.ACCEPT_ALL);
+	}
+	
+	public CsvRecordIterator(@NonNull final CsvTokenizer tokenizer, @NonNull final CsvRecordBinder<T> binder, @NonNull final CsvRecordFilter filter) {
+		this(tokenizer, binder, filter, null);
+	}
+	
+	/**
+	 * @param quarantine sink of the records that can not be bound, if null the iteration stops at the first one.
+	 */
+	public CsvRecordIterator(
+			@NonNull final CsvTokenizer tokenizer, 
+			@NonNull final CsvRecordBinder<T> binder, 
+			@NonNull final CsvRecordFilter filter, 
+			final CsvRecordSink<CsvRejectedRecord> quarantine) {
+		this.tokenizer = tokenizer;
+		this.binder = binder;
+		this.filter = filter;
+		this.quarantine = quarantine;
+	}
+	
+	private final CsvTokenizer tokenizer;
+	
+	private final CsvRecordBinder<T> binder;
+	
+	private final CsvRecordFilter filter;
+	
+	private final CsvRecordSink<CsvRejectedRecord> quarantine;
+	
+	/**
+	 * number of records read so far, including the rejected ones and the ones that don't satisfy the filter.
+	 */
+	@Getter
+	private long rowsRead;
+	
+	/**
+	 * number of records written to the quarantine sink so far.
+	 */
+	@Getter
+	private long rowsRejected;
+	
+	/**
+	 * absolute position in the file right after the last record returned by {@link #next()}, the iteration can be resumed from there.
+	 */
+	@Getter
+	private long lastReturnedOffset;
+	
+	/**
+	 * number of records read up to the last record returned by {@link #next()} (included).
+	 */
+	@Getter
+	private long lastReturnedRowsRead;
+	
+	private T nextRecord;
+	
+	private boolean finished;
+	
+	@Override
+	public boolean hasNext() {
+		if(nextRecord == null && !finished) {
+			try {
+				while(nextRecord == null && tokenizer.next()) {
+					rowsRead++;
+					if(filter.test(tokenizer)) {
+						nextRecord = bind();
+					}
+				}
+				finished = nextRecord == null;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return nextRecord != null;
+	}
+	
+	@Override
+	public T next() {
+		if(!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		T record = nextRecord;
+		nextRecord = null;
+		lastReturnedOffset = tokenizer.getOffset();
+		lastReturnedRowsRead = rowsRead;
+		return record;
+	}
+	
+	/**
+	 * @return absolute position in the file right after the last record read.
+	 */
+	public long getBytesConsumed() {
+		return tokenizer.getOffset();
+	}
+	
+	/**
+	 * Read all the remaining records.
+	 */
+	public List<T> readAll() {
+		List<T> records = new ArrayList<>();
+		while(hasNext()) {
+			records.add(next());
+		}
+		return records;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		try {
+			if(quarantine != null) {
+				quarantine.flush();
+			}
+		} finally {
+			tokenizer.close();
+		}
+	}
+	
+	/**
+	 * @return the bound record, or null if it has been rejected.
+	 */
+	private T bind() throws IOException {
+		if(quarantine == null) {
+			return binder.bind(tokenizer);
+		}
+		try {
+			return binder.bind(tokenizer);
+		} catch (IOException | RuntimeException e) {
+			quarantine.write(new CsvRejectedRecord(
+					tokenizer.getLineNumber(), 
+					tokenizer.getRecordOffset(), 
+					new String(tokenizer.getRecordBytes(), StandardCharsets.UTF_8), 
+					e));
+			rowsRejected++;
+			return null;
+		}
+	}
+	
+}
@@ -0,0 +1,41 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.token;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Record that could not be bound, with the position where it starts in the file and the reason.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@JsonPropertyOrder({ "lineNumber", "offset", "error", "record" })
+public class CsvRejectedRecord {
+	
+	/**
+	 * line number (starting from 1) where the record starts.
+	 */
+	private final long lineNumber;
+	
+	/**
+	 * absolute position in the file where the record starts.
+	 */
+	private final long offset;
+	
+	/**
+	 * raw text of the record, as it appears in the file.
+	 */
+	private final String record;
+	
+	@JsonIgnore
+	private final Exception exception;
+	
+	public String getError() {
+		return exception.getClass().getSimpleName() + ": " + exception.getMessage();
+	}
+	
+}
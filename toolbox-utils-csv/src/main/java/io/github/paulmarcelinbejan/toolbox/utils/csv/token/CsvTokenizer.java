@@ -0,0 +1,584 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.token;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import lombok.Getter;
+
+/**
+ * Byte-level CSV tokenizer for UTF-8 files.
+ * <br>
+ * {@link #next()} only records where every field of the record starts and ends,
+ * fields are decoded to String only when requested with {@link #getField(int)},
+ * so fields that are never requested do not produce any String.
+ * <br>
+ * Numeric fields can be parsed directly from the bytes, without decoding them to String.
+ * <br>
+ * Quoted values (with quotes escaped by doubling them) can contain separators and line breaks.
+ * Empty lines are skipped.
+ * <br>
+ * The bytes are read through a {@link ByteBuffer} provided by the implementation: 
+ * {@link StreamCsvTokenizer} reads them from an InputStream, 
+ * {@link MappedCsvTokenizer} maps the file in memory without copying it.
+ */
+public abstract class CsvTokenizer implements Closeable {
+	
+	private static final int DEFAULT_FIELDS_SIZE = 16;
+	
+	private static final byte QUOTE = '"';
+	private static final byte LINE_FEED = '\n';
+	private static final byte CARRIAGE_RETURN = '\r';
+	
+	private static final String ESCAPED_QUOTE = "\"\"";
+	private static final String QUOTE_AS_STRING = "\"";
+	
+	/**
+	 * up to 15 digits a long converts exactly to double.
+	 */
+	private static final int MAX_EXACT_DOUBLE_DIGITS = 15;
+	
+	/**
+	 * up to 18 digits a number fits in a long whatever the digits.
+	 */
+	private static final int MAX_LONG_CANDIDATE_DIGITS = 18;
+	
+	/**
+	 * up to 18 digits a decimal number always fits in a long.
+	 */
+	private static final int MAX_LONG_DIGITS = 18;
+	
+	private static final double[] DOUBLE_POWERS_OF_TEN = { 
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+	
+	private static final long[] LONG_POWERS_OF_TEN = { 
+			1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L, 
+			10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L, 
+			1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L };
+	
+	/**
+	 * @param offset absolute position in the file of the first byte to tokenize, it must be the beginning of a record.
+	 */
+	protected CsvTokenizer(char separator, long offset) {
+		if(separator > 0x7F || separator == QUOTE || separator == LINE_FEED || separator == CARRIAGE_RETURN) {
+			throw new IllegalArgumentException("separator must be an ASCII character different from quote and line breaks");
+		}
+		this.separator = (byte) separator;
+		this.bufferOffset = offset;
+		this.checkByteOrderMark = offset == 0;
+	}
+	
+	private final byte separator;
+	
+	/**
+	 * bytes available to the tokenizer, from index 0 (included) to limit (excluded).
+	 */
+	protected ByteBuffer buffer = ByteBuffer.allocate(0);
+	
+	/**
+	 * absolute position in the file of the byte at index 0 of the buffer
+	 */
+	protected long bufferOffset;
+	
+	protected int limit;
+	
+	/**
+	 * index in the buffer where the record to parse starts.
+	 */
+	protected int position;
+	
+	/**
+	 * index in the buffer where the current record starts.
+	 */
+	protected int recordStart;
+	
+	protected boolean endOfInput;
+	
+	private boolean checkByteOrderMark;
+	
+	private int[] fieldStarts = new int[DEFAULT_FIELDS_SIZE];
+	private int[] fieldEnds = new int[DEFAULT_FIELDS_SIZE];
+	private boolean[] fieldEscaped = new boolean[DEFAULT_FIELDS_SIZE];
+	
+	@Getter
+	private int fieldCount;
+	
+	/**
+	 * index in the buffer where the content of the current record ends, before the line break.
+	 */
+	private int recordEnd;
+	
+	private int parsedRecordEnd;
+	
+	private int lineFeeds;
+	
+	private long lineCount;
+	
+	/**
+	 * line number (starting from 1) where the current record starts, relative to the first byte tokenized.
+	 */
+	@Getter
+	private long lineNumber;
+	
+	/**
+	 * Move to the next record.
+	 * 
+	 * @return false if there are no more records.
+	 */
+	public boolean next() throws IOException {
+		while(true) {
+			int nextPosition = parseRecord(position);
+			if(nextPosition >= 0) {
+				recordStart = position;
+				recordEnd = parsedRecordEnd;
+				position = nextPosition;
+				lineNumber = lineCount + 1;
+				lineCount += lineFeeds;
+				if(isEmptyLine()) {
+					continue;
+				}
+				return true;
+			}
+			if(endOfInput) {
+				fieldCount = 0;
+				return false;
+			}
+			fill();
+			skipByteOrderMark();
+		}
+	}
+	
+	/**
+	 * @return the field at index decoded as String, quotes are removed and escaped quotes unescaped.
+	 */
+	public String getField(int index) {
+		checkIndex(index);
+		String value = decode(fieldStarts[index], fieldEnds[index]);
+		return fieldEscaped[index] ? value.replace(ESCAPED_QUOTE, QUOTE_AS_STRING) : value;
+	}
+	
+	/**
+	 * @return all the fields of the current record decoded as String.
+	 */
+	public String[] getFields() {
+		String[] fields = new String[fieldCount];
+		for(int i = 0; i < fieldCount; i++) {
+			fields[i] = getField(i);
+		}
+		return fields;
+	}
+	
+	public boolean isFieldEmpty(int index) {
+		checkIndex(index);
+		return fieldStarts[index] == fieldEnds[index];
+	}
+	
+	/**
+	 * @return true if the field at index contains escaped quotes, so its raw bytes differ from its value.
+	 */
+	public boolean isFieldEscaped(int index) {
+		checkIndex(index);
+		return fieldEscaped[index];
+	}
+	
+	/**
+	 * @return the raw bytes of the current record as they appear in the file (quotes included), without the line break.
+	 */
+	public byte[] getRecordBytes() {
+		return copyBytes(recordStart, recordEnd);
+	}
+	
+	/**
+	 * @return the raw bytes of the field at index, quotes are removed but escaped quotes are not unescaped.
+	 */
+	public byte[] getFieldBytes(int index) {
+		checkIndex(index);
+		return copyBytes(fieldStarts[index], fieldEnds[index]);
+	}
+	
+	/**
+	 * @return hash code of the raw bytes of the field at index, consistent with {@link Arrays#hashCode(byte[])} of {@link #getFieldBytes(int)}.
+	 */
+	public int getFieldHashCode(int index) {
+		checkIndex(index);
+		int hash = 1;
+		for(int p = fieldStarts[index]; p < fieldEnds[index]; p++) {
+			hash = 31 * hash + buffer.get(p);
+		}
+		return hash;
+	}
+	
+	/**
+	 * @return 64-bit hash of the raw bytes of the field at index (FNV-1a followed by the MurmurHash3 finalizer), 
+	 * all the bits are well distributed so it can feed cardinality sketches.
+	 */
+	public long getFieldHash64(int index) {
+		checkIndex(index);
+		long hash = 0xcbf29ce484222325L;
+		for(int p = fieldStarts[index]; p < fieldEnds[index]; p++) {
+			hash ^= buffer.get(p) & 0xFF;
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+	
+	/**
+	 * @return number of raw bytes of the field at index.
+	 */
+	public int getFieldLength(int index) {
+		checkIndex(index);
+		return fieldEnds[index] - fieldStarts[index];
+	}
+	
+	/**
+	 * @return true if the field at index starts like a number (a digit, a sign or a dot), 
+	 * so it is worth trying to parse it without paying for an exception on plain text.
+	 */
+	public boolean isFieldNumericCandidate(int index) {
+		checkIndex(index);
+		if(fieldStarts[index] == fieldEnds[index]) {
+			return false;
+		}
+		byte first = buffer.get(fieldStarts[index]);
+		return (first >= '0' && first <= '9') || first == '-' || first == '+' || first == '.';
+	}
+	
+	/**
+	 * @return true if the field at index is an optional sign followed by 1 to 18 digits, 
+	 * so {@link #getFieldAsLong(int)} parses it from the bytes and it can't overflow.
+	 */
+	public boolean isFieldLongCandidate(int index) {
+		checkIndex(index);
+		int p = fieldStarts[index];
+		int end = fieldEnds[index];
+		if(p < end && (buffer.get(p) == '-' || buffer.get(p) == '+')) {
+			p++;
+		}
+		if(p == end || end - p > MAX_LONG_CANDIDATE_DIGITS) {
+			return false;
+		}
+		for(; p < end; p++) {
+			byte current = buffer.get(p);
+			if(current < '0' || current > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * @return true if the raw bytes of the field at index are equal to bytes.
+	 */
+	public boolean fieldEquals(int index, byte[] bytes) {
+		checkIndex(index);
+		int start = fieldStarts[index];
+		if(fieldEnds[index] - start != bytes.length) {
+			return false;
+		}
+		for(int i = 0; i < bytes.length; i++) {
+			if(buffer.get(start + i) != bytes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * @throws NumberFormatException if the field is not an int.
+	 */
+	public int getFieldAsInt(int index) {
+		long value = getFieldAsLong(index);
+		if(value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			return Integer.parseInt(getField(index).trim());
+		}
+		return (int) value;
+	}
+	
+	/**
+	 * Plain integers are parsed directly from the bytes, anything else falls back to {@link Long#parseLong(String)}.
+	 * 
+	 * @throws NumberFormatException if the field is not a long.
+	 */
+	public long getFieldAsLong(int index) {
+		checkIndex(index);
+		int p = fieldStarts[index];
+		int end = fieldEnds[index];
+		boolean negative = p < end && buffer.get(p) == '-';
+		if(p < end && (buffer.get(p) == '-' || buffer.get(p) == '+')) {
+			p++;
+		}
+		if(p == end) {
+			return Long.parseLong(getField(index).trim());
+		}
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long multiplyMin = limit / 10;
+		// accumulating negatively, like Long.parseLong, handles Long.MIN_VALUE
+		long result = 0;
+		for(; p < end; p++) {
+			int digit = buffer.get(p) - '0';
+			if(digit < 0 || digit > 9 || result < multiplyMin || result * 10 < limit + digit) {
+				return Long.parseLong(getField(index).trim());
+			}
+			result = result * 10 - digit;
+		}
+		return negative ? result : -result;
+	}
+	
+	/**
+	 * Decimal numbers with up to 15 digits and without exponent are parsed directly from the bytes (the result is correctly rounded), 
+	 * anything else falls back to {@link Double#parseDouble(String)}.
+	 * 
+	 * @throws NumberFormatException if the field is not a double.
+	 */
+	public double getFieldAsDouble(int index) {
+		checkIndex(index);
+		int p = fieldStarts[index];
+		int end = fieldEnds[index];
+		boolean negative = p < end && buffer.get(p) == '-';
+		if(p < end && (buffer.get(p) == '-' || buffer.get(p) == '+')) {
+			p++;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int fractionDigits = -1;
+		for(; p < end; p++) {
+			byte current = buffer.get(p);
+			if(current == '.' && fractionDigits == -1) {
+				fractionDigits = 0;
+				continue;
+			}
+			int digit = current - '0';
+			if(digit < 0 || digit > 9 || ++digits > MAX_EXACT_DOUBLE_DIGITS) {
+				return Double.parseDouble(getField(index).trim());
+			}
+			mantissa = mantissa * 10 + digit;
+			if(fractionDigits >= 0) {
+				fractionDigits++;
+			}
+		}
+		if(digits == 0) {
+			return Double.parseDouble(getField(index).trim());
+		}
+		double value = fractionDigits > 0 ? mantissa / DOUBLE_POWERS_OF_TEN[fractionDigits] : mantissa;
+		return negative ? -value : value;
+	}
+	
+	/**
+	 * @return the decimal value of the field multiplied by 10^scale, e.g. "12.5" with scale 2 returns 1250.
+	 * <br>
+	 * Decimal numbers with no more than scale fraction digits are parsed directly from the bytes, 
+	 * anything else falls back to {@link BigDecimal} rounding {@link RoundingMode#HALF_UP}.
+	 * 
+	 * @throws NumberFormatException if the field is not a decimal number.
+	 * @throws ArithmeticException if the scaled value does not fit in a long.
+	 */
+	public long getFieldAsScaledLong(int index, int scale) {
+		checkIndex(index);
+		if(scale < 0 || scale > MAX_LONG_DIGITS) {
+			throw new IllegalArgumentException("scale must be between 0 and " + MAX_LONG_DIGITS);
+		}
+		int p = fieldStarts[index];
+		int end = fieldEnds[index];
+		boolean negative = p < end && buffer.get(p) == '-';
+		if(p < end && (buffer.get(p) == '-' || buffer.get(p) == '+')) {
+			p++;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int fractionDigits = -1;
+		for(; p < end; p++) {
+			byte current = buffer.get(p);
+			if(current == '.' && fractionDigits == -1) {
+				fractionDigits = 0;
+				continue;
+			}
+			int digit = current - '0';
+			if(digit < 0 || digit > 9 || ++digits > MAX_LONG_DIGITS || fractionDigits >= scale) {
+				return scaledLongFallback(index, scale);
+			}
+			mantissa = mantissa * 10 + digit;
+			if(fractionDigits >= 0) {
+				fractionDigits++;
+			}
+		}
+		int missingDigits = scale - Math.max(fractionDigits, 0);
+		if(digits == 0 || digits + missingDigits > MAX_LONG_DIGITS) {
+			return scaledLongFallback(index, scale);
+		}
+		long value = mantissa * LONG_POWERS_OF_TEN[missingDigits];
+		return negative ? -value : value;
+	}
+	
+	/**
+	 * @return absolute position in the file where the current record starts.
+	 */
+	public long getRecordOffset() {
+		return bufferOffset + recordStart;
+	}
+	
+	/**
+	 * @return absolute position in the file right after the current record, which is where the next record starts.
+	 */
+	public long getOffset() {
+		return bufferOffset + position;
+	}
+	
+	/**
+	 * Make more bytes available after position.
+	 * <br>
+	 * The bytes from position to limit must be kept, the implementation can move them 
+	 * updating buffer, bufferOffset, limit, position and recordStart accordingly.
+	 * <br>
+	 * When there are no more bytes it must set endOfInput.
+	 */
+	protected abstract void fill() throws IOException;
+	
+	/**
+	 * @return the position right after the record that starts at start, or -1 if more bytes are needed to find out.
+	 */
+	private int parseRecord(int start) {
+		if(start >= limit) {
+			return -1;
+		}
+		
+		fieldCount = 0;
+		lineFeeds = 0;
+		int p = start;
+		
+		while(true) {
+			if(p < limit && buffer.get(p) == QUOTE) {
+				int fieldStart = ++p;
+				boolean escaped = false;
+				while(true) {
+					if(p >= limit) {
+						if(!endOfInput) {
+							return -1;
+						}
+						// unterminated quoted value, it ends with the input
+						addField(fieldStart, p, escaped);
+						parsedRecordEnd = limit;
+						return limit;
+					}
+					byte current = buffer.get(p);
+					if(current == QUOTE) {
+						if(p + 1 >= limit && !endOfInput) {
+							return -1;
+						}
+						if(p + 1 < limit && buffer.get(p + 1) == QUOTE) {
+							escaped = true;
+							p += 2;
+							continue;
+						}
+						addField(fieldStart, p, escaped);
+						p++;
+						break;
+					}
+					if(current == LINE_FEED) {
+						lineFeeds++;
+					}
+					p++;
+				}
+				// anything between the closing quote and the separator is ignored
+				while(p < limit && !isDelimiter(buffer.get(p))) {
+					p++;
+				}
+			} else {
+				int fieldStart = p;
+				while(p < limit && !isDelimiter(buffer.get(p))) {
+					p++;
+				}
+				addField(fieldStart, p, false);
+			}
+			
+			if(p >= limit) {
+				parsedRecordEnd = limit;
+				return endOfInput ? limit : -1;
+			}
+			
+			byte delimiter = buffer.get(p++);
+			if(delimiter == separator) {
+				continue;
+			}
+			parsedRecordEnd = p - 1;
+			if(delimiter == CARRIAGE_RETURN) {
+				if(p >= limit && !endOfInput) {
+					return -1;
+				}
+				if(p < limit && buffer.get(p) == LINE_FEED) {
+					p++;
+				}
+			}
+			lineFeeds++;
+			return p;
+		}
+	}
+	
+	private boolean isDelimiter(byte current) {
+		return current == separator || current == LINE_FEED || current == CARRIAGE_RETURN;
+	}
+	
+	private boolean isEmptyLine() {
+		return fieldCount == 1 
+				&& fieldStarts[0] == fieldEnds[0] 
+				&& (buffer.get(recordStart) == LINE_FEED || buffer.get(recordStart) == CARRIAGE_RETURN);
+	}
+	
+	private void addField(int start, int end, boolean escaped) {
+		if(fieldCount == fieldStarts.length) {
+			int size = fieldCount * 2;
+			fieldStarts = Arrays.copyOf(fieldStarts, size);
+			fieldEnds = Arrays.copyOf(fieldEnds, size);
+			fieldEscaped = Arrays.copyOf(fieldEscaped, size);
+		}
+		fieldStarts[fieldCount] = start;
+		fieldEnds[fieldCount] = end;
+		fieldEscaped[fieldCount] = escaped;
+		fieldCount++;
+	}
+	
+	private long scaledLongFallback(int index, int scale) {
+		return new BigDecimal(getField(index).trim())
+				.setScale(scale, RoundingMode.HALF_UP)
+				.unscaledValue()
+				.longValueExact();
+	}
+	
+	private void checkIndex(int index) {
+		if(index < 0 || index >= fieldCount) {
+			throw new IndexOutOfBoundsException("Field " + index + " not present, the record has " + fieldCount + " fields");
+		}
+	}
+	
+	private String decode(int start, int end) {
+		if(buffer.hasArray()) {
+			return new String(buffer.array(), buffer.arrayOffset() + start, end - start, StandardCharsets.UTF_8);
+		}
+		return new String(copyBytes(start, end), StandardCharsets.UTF_8);
+	}
+	
+	private byte[] copyBytes(int start, int end) {
+		byte[] bytes = new byte[end - start];
+		buffer.get(start, bytes);
+		return bytes;
+	}
+	
+	private void skipByteOrderMark() {
+		if(checkByteOrderMark && (limit >= 3 || endOfInput)) {
+			checkByteOrderMark = false;
+			if(limit >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF) {
+				position = 3;
+			}
+		}
+	}
+	
+}
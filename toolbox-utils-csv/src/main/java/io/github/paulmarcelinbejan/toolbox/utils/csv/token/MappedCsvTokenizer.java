@@ -0,0 +1,81 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.token;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import lombok.NonNull;
+
+/**
+ * {@link CsvTokenizer} that maps the file in memory, the bytes are read directly from the page cache without copying them in a heap buffer.
+ * <br>
+ * The file is mapped through a window that slides forward record by record, 
+ * so files bigger than 2GB can be read and only windowSize bytes are mapped at a time 
+ * (the window grows only if a single record doesn't fit in it).
+ * <br>
+ * Windows that are no longer used are unmapped when they are garbage collected.
+ */
+public class MappedCsvTokenizer extends CsvTokenizer {
+	
+	public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+	
+	public MappedCsvTokenizer(@NonNull final Path path, char separator) throws IOException {
+		this(path, separator, 0, Long.MAX_VALUE, DEFAULT_WINDOW_SIZE);
+	}
+	
+	/**
+	 * Tokenize only the bytes between start (inclusive) and end (exclusive).
+	 * 
+	 * @param start absolute position in the file of the first byte to tokenize, it must be the beginning of a record.
+	 */
+	public MappedCsvTokenizer(@NonNull final Path path, char separator, long start, long end, int windowSize) throws IOException {
+		super(separator, start);
+		if(start < 0 || end < start) {
+			throw new IllegalArgumentException("Invalid range [" + start + ", " + end + ")");
+		}
+		if(windowSize <= 0) {
+			throw new IllegalArgumentException("windowSize must be greater than 0");
+		}
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		this.end = Math.min(end, channel.size());
+		this.windowSize = windowSize;
+	}
+	
+	private final FileChannel channel;
+	
+	private final long end;
+	
+	private final int windowSize;
+	
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+	
+	/**
+	 * Slide the window to the record being parsed, doubling it if the record didn't fit in the previous one.
+	 */
+	@Override
+	protected void fill() throws IOException {
+		long windowStart = bufferOffset + position;
+		int pending = limit - position;
+		if(windowStart + pending >= end) {
+			endOfInput = true;
+			return;
+		}
+		long size = pending < windowSize ? windowSize : 2L * pending;
+		size = Math.min(Math.min(size, Integer.MAX_VALUE - 8), end - windowStart);
+		if(size <= pending) {
+			throw new IOException("Record at offset " + windowStart + " is too big to be mapped");
+		}
+		buffer = channel.map(MapMode.READ_ONLY, windowStart, size);
+		bufferOffset = windowStart;
+		recordStart -= position;
+		limit = (int) size;
+		position = 0;
+		endOfInput = windowStart + size >= end;
+	}
+	
+}
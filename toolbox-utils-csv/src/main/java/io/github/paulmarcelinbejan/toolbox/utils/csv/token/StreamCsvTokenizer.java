@@ -0,0 +1,65 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.token;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import lombok.NonNull;
+
+/**
+ * {@link CsvTokenizer} that reads the bytes from an InputStream into a heap buffer.
+ */
+public class StreamCsvTokenizer extends CsvTokenizer {
+	
+	private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+	
+	public StreamCsvTokenizer(@NonNull final InputStream inputStream, char separator) {
+		this(inputStream, separator, 0);
+	}
+	
+	/**
+	 * @param offset absolute position in the file of the first byte of the inputStream, it must be the beginning of a record.
+	 */
+	public StreamCsvTokenizer(@NonNull final InputStream inputStream, char separator, long offset) {
+		super(separator, offset);
+		this.inputStream = inputStream;
+		this.bytes = new byte[DEFAULT_BUFFER_SIZE];
+		this.buffer = ByteBuffer.wrap(bytes);
+	}
+	
+	private final InputStream inputStream;
+	
+	private byte[] bytes;
+	
+	@Override
+	public void close() throws IOException {
+		inputStream.close();
+	}
+	
+	/**
+	 * Move the record being parsed at the beginning of the buffer (growing it if the record doesn't fit) and read more bytes.
+	 */
+	@Override
+	protected void fill() throws IOException {
+		if(position > 0) {
+			int remaining = limit - position;
+			System.arraycopy(bytes, position, bytes, 0, remaining);
+			bufferOffset += position;
+			recordStart -= position;
+			limit = remaining;
+			position = 0;
+		}
+		if(limit == bytes.length) {
+			bytes = Arrays.copyOf(bytes, bytes.length * 2);
+			buffer = ByteBuffer.wrap(bytes);
+		}
+		int read = inputStream.read(bytes, limit, bytes.length - limit);
+		if(read == -1) {
+			endOfInput = true;
+		} else {
+			limit += read;
+		}
+	}
+	
+}
@@ -0,0 +1,534 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv;
+
+import static io.github.paulmarcelinbejan.toolbox.utils.io.config.FileType.CSV;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.paulmarcelinbejan.toolbox.base.data.FieldFilter;
+import io.github.paulmarcelinbejan.toolbox.base.data.FieldOrder;
+import io.github.paulmarcelinbejan.toolbox.base.enums.ComparisonOperator;
+import io.github.paulmarcelinbejan.toolbox.base.enums.Order;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.checkpoint.CsvCheckpoint;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.checkpoint.CsvCheckpointingIterator;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.columnar.ColumnDefinition;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.columnar.CsvColumnBatch;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.columnar.DecimalColumn;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.columnar.DictionaryColumn;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.columnar.IntColumn;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.config.CsvDiffConfig;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.config.CsvReadEngine;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.config.CsvReadOrder;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.config.CsvReaderConfig;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.config.CsvSortConfig;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.config.CsvWriterConfig;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.diff.CsvDiffRecord;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.diff.CsvDiffType;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.dummy.Employee;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.index.CsvRowIndex;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.profile.ColumnProfile;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.profile.CsvProfile;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.sink.CsvPartitionedRecordSink;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.sink.CsvRecordSink;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.sink.CsvRollingRecordSink;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvRecordIterator;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvRejectedRecord;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+import io.github.paulmarcelinbejan.toolbox.utils.io.enums.DirectoryPath;
+import io.github.paulmarcelinbejan.toolbox.utils.jackson.config.AccelerationConfig;
+
+class CsvFileUtilsTest {
+	
+	private static final char SEPARATOR = ',';
+	
+	/**
+	 * files generated by the tests, they are not kept in src/test/resources.
+	 */
+	@TempDir
+	Path directory;
+	
+	@Test
+	void testRead() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "employees", CSV);
+		List<Employee> employees = csv.read(fileInfo, SEPARATOR, Employee.class);
+		assertNotNull(employees);
+		assertEquals(10, employees.size());
+		assertEquals("team\nlead", employees.get(2).getRole());
+	}
+	
+	@Test
+	void testAccelerated() throws IOException {
+		CsvReaderConfig readerConfig = new CsvReaderConfig(
+				Collections.emptyList(), 
+				Collections.emptyList(), 
+				Collections.emptyList(), 
+				Collections.emptyList(), 
+				Collections.emptyList(), 
+				Collections.emptyMap(), 
+				AccelerationConfig.blackbird(new Employee("Paul", "P", "developer", 30)));
+		assertTrue(readerConfig.isAccelerated());
+		assertFalse(CsvReaderConfig.DEFAULT.isAccelerated());
+		
+		CsvFileUtils csv = new CsvFileUtils(readerConfig, CsvWriterConfig.DEFAULT);
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "employees", CSV);
+		assertEquals(new CsvFileUtils().read(fileInfo, SEPARATOR, Employee.class), csv.read(fileInfo, SEPARATOR, Employee.class));
+	}
+	
+	@Test
+	void testReadProjection() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "employees", CSV);
+		List<Employee> expected = csv.read(fileInfo, SEPARATOR, Employee.class);
+		List<Employee> employees = csv.read(fileInfo, SEPARATOR, List.of("role", "firstName"), Employee.class);
+		assertEquals(expected.size(), employees.size());
+		for(int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getFirstName(), employees.get(i).getFirstName());
+			assertEquals(expected.get(i).getRole(), employees.get(i).getRole());
+			assertNull(employees.get(i).getLastName());
+			assertEquals(0, employees.get(i).getAge());
+		}
+	}
+	
+	@Test
+	void testReadMapped() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "employees", CSV);
+		List<Employee> expected = csv.read(fileInfo, SEPARATOR, Employee.class);
+		assertEquals(expected, csv.read(fileInfo, SEPARATOR, Employee.class, CsvReadEngine.MAPPED));
+		assertEquals(expected, csv.read(fileInfo, SEPARATOR, Employee.class, CsvReadEngine.STREAM));
+	}
+	
+	@Test
+	void testReadFiltered() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "employees", CSV);
+		List<Employee> employees = csv.read(fileInfo, SEPARATOR, Employee.class);
+		
+		List<Employee> developers = csv.read(fileInfo, SEPARATOR, Employee.class, List.of(
+				new FieldFilter("role", ComparisonOperator.IS_EQUAL_TO, "developer"), 
+				new FieldFilter("age", ComparisonOperator.IS_LESS_THAN, "50")));
+		assertEquals(employees.stream().filter(e -> e.getRole().equals("developer") && e.getAge() < 50).toList(), developers);
+		
+		assertEquals(employees.stream().filter(e -> e.getAge() >= 30 && e.getAge() <= 40).toList(), 
+				csv.read(fileInfo, SEPARATOR, Employee.class, List.of(new FieldFilter("age", ComparisonOperator.IS_BETWEEN, "30,40"))));
+		assertEquals(employees.stream().filter(e -> e.getLastName().equals("O\"Neil") || e.getLastName().equals("Doe")).toList(), 
+				csv.read(fileInfo, SEPARATOR, Employee.class, List.of(new FieldFilter("lastName", ComparisonOperator.IS_IN, "O\"Neil, Doe"))));
+		assertEquals(employees.stream().filter(e -> e.getRole().contains("\"senior\"")).toList(), 
+				csv.read(fileInfo, SEPARATOR, Employee.class, List.of(new FieldFilter("role", ComparisonOperator.IS_LIKE, "%\"senior_"))));
+		assertEquals(employees.stream().filter(e -> !e.getFirstName().startsWith("N")).toList(), 
+				csv.read(fileInfo, SEPARATOR, Employee.class, List.of(new FieldFilter("firstName", ComparisonOperator.IS_NOT_IN, "Nina"))));
+		
+		assertThrows(IllegalArgumentException.class, () -> csv.read(fileInfo, SEPARATOR, Employee.class, List.of(
+				new FieldFilter("salary", ComparisonOperator.IS_EQUAL_TO, "1"))));
+	}
+	
+	@Test
+	void testReadTolerant() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "employeesMalformed", CSV);
+		FileInfo quarantineFileInfo = new FileInfo(directory.toString() + "/", "employeesMalformedQuarantine", CSV);
+		
+		try (CsvRecordSink<CsvRejectedRecord> quarantine = csv.quarantineSink(quarantineFileInfo, SEPARATOR);
+			 CsvRecordIterator<Employee> iterator = csv.iterator(fileInfo, SEPARATOR, Employee.class, quarantine)) {
+			List<Employee> employees = iterator.readAll();
+			assertEquals(List.of("Paul", "Mark", "Eva"), employees.stream().map(Employee::getFirstName).toList());
+			assertEquals(5, iterator.getRowsRead());
+			assertEquals(2, iterator.getRowsRejected());
+			assertEquals(Files.size(Path.of(fileInfo.getFullPath())), iterator.getBytesConsumed());
+		}
+		
+		List<Map> rejected = csv.read(quarantineFileInfo, SEPARATOR, List.of("lineNumber", "record"), Map.class);
+		assertEquals(List.of(
+				Map.of("lineNumber", "3", "record", "Anna,\"Smith, Jr.\",manager,forty-one"), 
+				Map.of("lineNumber", "6", "record", "Luca,Rossi,tester,2.8.1")), rejected);
+		
+		assertThrows(RuntimeException.class, () -> csv.read(fileInfo, SEPARATOR, List.of(), Employee.class));
+	}
+	
+	@Test
+	void testReadProjectionUnknownColumn() {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "employees", CSV);
+		assertThrows(IllegalArgumentException.class, () -> csv.read(fileInfo, SEPARATOR, List.of("salary"), Employee.class));
+	}
+	
+	@Test
+	void testReadColumns() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "measures", CSV);
+		CsvColumnBatch batch = csv.readColumns(fileInfo, SEPARATOR, List.of(
+				ColumnDefinition.longColumn("id"),
+				ColumnDefinition.dictionaryColumn("city"),
+				ColumnDefinition.doubleColumn("temperature"),
+				ColumnDefinition.decimalColumn("price", 2),
+				ColumnDefinition.intColumn("count")));
+		
+		assertEquals(5, batch.getRowCount());
+		assertArrayEquals(new long[] { 1, 2, 3, Long.MAX_VALUE, 5 }, batch.getLongColumn("id").toArray());
+		assertArrayEquals(new double[] { 21.5, -3.75, 18, 0.1, 1000 }, batch.getDoubleColumn("temperature").toArray());
+		
+		DecimalColumn price = batch.getDecimalColumn("price");
+		assertArrayEquals(new long[] { 1025, 50, 123456789, -200, 314 }, price.toUnscaledArray());
+		assertEquals(new BigDecimal("10.25"), price.getBigDecimal(0));
+		
+		DictionaryColumn city = batch.getDictionaryColumn("city");
+		assertEquals(List.of("Rome", "Milan", "Turin"), city.getDictionary());
+		assertArrayEquals(new int[] { 0, 1, 0, 2, -1 }, city.toCodeArray());
+		assertTrue(city.isNull(4));
+		
+		IntColumn count = batch.getIntColumn("count");
+		assertArrayEquals(new int[] { 3, 0, 7, 0, -12 }, count.toArray());
+		assertTrue(count.isNull(1));
+		assertFalse(count.isNull(3));
+	}
+	
+	@Test
+	void testStreamOrdered() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "employees", CSV);
+		List<Employee> expected = csv.read(fileInfo, SEPARATOR, Employee.class);
+		for(long chunkSize = 1; chunkSize < 64; chunkSize++) {
+			try (Stream<Employee> stream = csv.stream(fileInfo, SEPARATOR, Employee.class, CsvReadOrder.ORDERED, chunkSize)) {
+				assertEquals(expected, stream.toList());
+			}
+		}
+	}
+	
+	@Test
+	void testStreamStrayQuote() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo fileInfo = new FileInfo(directory.toString() + "/", "employeesStrayQuote", CSV);
+		// a quote inside an unquoted value is literal text and must not flip the quote state of the following chunks
+		Files.writeString(Path.of(fileInfo.getFullPath()), 
+				"firstName,lastName,role,age\n" 
+				+ "Paul,Bejan,24\" monitor tester,30\n" 
+				+ "Anna,\"Smith\nJr.\",manager,41\n" 
+				+ "Mark,\"the \"\"boss\"\"\",director,50\n" 
+				+ "Luca,Rossi,developer,22\n" 
+				+ "Sara,Bianchi,\"analyst\nsenior\",35\n");
+		List<Employee> expected = csv.read(fileInfo, SEPARATOR, Employee.class);
+		assertEquals(5, expected.size());
+		assertEquals("24\" monitor tester", expected.get(0).getRole());
+		for(long chunkSize = 1; chunkSize < 64; chunkSize++) {
+			try (Stream<Employee> stream = csv.stream(fileInfo, SEPARATOR, Employee.class, CsvReadOrder.ORDERED, chunkSize)) {
+				assertEquals(expected, stream.toList());
+			}
+		}
+		assertEquals(5, csv.profile(fileInfo, SEPARATOR, 8).getRowCount());
+	}
+	
+	@Test
+	void testStreamUnordered() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "employees", CSV);
+		Comparator<Employee> byFirstName = Comparator.comparing(Employee::getFirstName);
+		List<Employee> expected = csv.read(fileInfo, SEPARATOR, Employee.class).stream().sorted(byFirstName).toList();
+		try (Stream<Employee> stream = csv.stream(fileInfo, SEPARATOR, Employee.class, CsvReadOrder.UNORDERED, 16)) {
+			assertEquals(expected, stream.sorted(byFirstName).toList());
+		}
+	}
+	
+	@Test
+	void testStreamEarlyClose() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "employees", CSV);
+		try (Stream<Employee> stream = csv.stream(fileInfo, SEPARATOR, Employee.class, CsvReadOrder.UNORDERED)) {
+			assertTrue(stream.anyMatch(employee -> employee.getAge() > 40));
+		}
+	}
+	
+	@Test
+	void testSort() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo input = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "employees", CSV);
+		FileInfo output = new FileInfo(directory.toString() + "/", "employeesSortedByJava", CSV);
+		List<Employee> expected = csv.read(input, SEPARATOR, Employee.class)
+									 .stream()
+									 .sorted(Comparator.comparing(Employee::getRole).thenComparing(Comparator.comparingInt(Employee::getAge).reversed()))
+									 .toList();
+		
+		// a tiny memory budget writes a run for every record, a fan in of 2 forces intermediate merges
+		CsvSortConfig sortConfig = new CsvSortConfig(100, System.getProperty("java.io.tmpdir"), Long.MAX_VALUE, 2, 2);
+		csv.sort(input, output, SEPARATOR, List.of(new FieldOrder("role", Order.ASC), new FieldOrder("age", Order.DESC)), sortConfig);
+		assertEquals(expected, csv.read(output, SEPARATOR, Employee.class));
+		
+		csv.sort(input, output, SEPARATOR, List.of(new FieldOrder("role", Order.ASC), new FieldOrder("age", Order.DESC)));
+		assertEquals(expected, csv.read(output, SEPARATOR, Employee.class));
+		
+		CsvSortConfig smallTempDirectory = new CsvSortConfig(100, System.getProperty("java.io.tmpdir"), 100, 2, 2);
+		assertThrows(IOException.class, () -> csv.sort(input, output, SEPARATOR, List.of(new FieldOrder("age", Order.ASC)), smallTempDirectory));
+	}
+	
+	@Test
+	void testDiff() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo oldFile = new FileInfo(directory.toString() + "/", "employeesDiffOld", CSV);
+		FileInfo newFile = new FileInfo(directory.toString() + "/", "employeesDiffNew", CSV);
+		csv.write(oldFile, SEPARATOR, Employee.class, IntStream.range(0, 100)
+															   .mapToObj(i -> new Employee("first" + i, "last" + i, "role" + i % 7, 30)));
+		csv.write(newFile, SEPARATOR, Employee.class, IntStream.range(10, 120)
+															   .mapToObj(i -> new Employee("first" + i, "last" + i, "role" + i % 7, i % 10 == 0 ? 40 : 30)));
+		
+		// the old file is the smaller one and becomes the build side, 
+		// a tiny memory budget forces the partitioning of both files and the split of the partitions whose keys don't fit in it
+		for(CsvDiffConfig diffConfig : List.of(CsvDiffConfig.DEFAULT, new CsvDiffConfig(500, System.getProperty("java.io.tmpdir")))) {
+			for(boolean swap : List.of(false, true)) {
+				List<CsvDiffRecord<Employee>> diff = new ArrayList<>();
+				csv.diff(swap ? newFile : oldFile, swap ? oldFile : newFile, SEPARATOR, "firstName", Employee.class, diff::add, diffConfig);
+				
+				Map<CsvDiffType, Long> counts = diff.stream().collect(Collectors.groupingBy(CsvDiffRecord::getType, Collectors.counting()));
+				assertEquals(Map.of(CsvDiffType.ADDED, swap ? 10L : 20L, CsvDiffType.REMOVED, swap ? 20L : 10L, CsvDiffType.CHANGED, 9L), counts);
+				for(CsvDiffRecord<Employee> record : diff) {
+					Employee employee = record.getType() == CsvDiffType.ADDED ? record.getNewRecord() : record.getOldRecord();
+					assertEquals(record.getKey(), employee.getFirstName());
+					if(record.getType() == CsvDiffType.CHANGED) {
+						assertEquals(swap ? 40 : 30, record.getOldRecord().getAge());
+						assertEquals(swap ? 30 : 40, record.getNewRecord().getAge());
+					}
+				}
+			}
+		}
+		
+		CsvDiffConfig keyTooBig = new CsvDiffConfig(50, System.getProperty("java.io.tmpdir"));
+		assertThrows(IOException.class, () -> csv.diff(oldFile, newFile, SEPARATOR, "firstName", Employee.class, diff -> {}, keyTooBig));
+	}
+	
+	@Test
+	void testDiffInvalid() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo small = new FileInfo(directory.toString() + "/", "employeesSmall", CSV);
+		FileInfo reordered = new FileInfo(directory.toString() + "/", "employeesReordered", CSV);
+		FileInfo duplicated = new FileInfo(directory.toString() + "/", "employeesDuplicated", CSV);
+		Files.writeString(Path.of(small.getFullPath()), "firstName,lastName,role,age\na,a,developer,20\n");
+		Files.writeString(Path.of(reordered.getFullPath()), "lastName,firstName,role,age\na,a,developer,20\n");
+		// the bigger file is the probe side, its duplicated key is not in the small file
+		Files.writeString(Path.of(duplicated.getFullPath()), "firstName,lastName,role,age\na,a,developer,20\nb,b,manager,30\nb,b,manager,31\n");
+		
+		assertThrows(IllegalArgumentException.class, () -> csv.diff(small, reordered, SEPARATOR, "firstName", Employee.class, diff -> {}));
+		assertThrows(IllegalArgumentException.class, () -> csv.diff(small, duplicated, SEPARATOR, "firstName", Employee.class, diff -> {}));
+		assertThrows(IllegalArgumentException.class, () -> csv.diff(duplicated, small, SEPARATOR, "firstName", Employee.class, diff -> {}));
+	}
+	
+	@Test
+	void testProfile() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "employees", CSV);
+		
+		// tiny chunks force the merge of many partial profiles
+		CsvProfile profile = csv.profile(fileInfo, SEPARATOR, 64);
+		assertEquals(10, profile.getRowCount());
+		ColumnProfile age = profile.getColumn("age");
+		assertTrue(age.isNumeric());
+		assertEquals(22, age.getMin());
+		assertEquals(50, age.getMax());
+		assertEquals(10, age.getDistinctCount());
+		ColumnProfile role = profile.getColumn("role");
+		assertFalse(role.isNumeric());
+		assertEquals(8, role.getDistinctCount());
+		assertEquals(0, role.getNullRatio());
+		assertEquals("tester".length(), role.getMinLength());
+		
+		FileInfo bigFileInfo = new FileInfo(directory.toString() + "/", "employeesProfiled", CSV);
+		csv.write(bigFileInfo, SEPARATOR, Employee.class, IntStream.range(0, 5000)
+																   .mapToObj(i -> new Employee("first" + i, i % 4 == 0 ? "" : "last" + i, "role" + i % 7, i % 60)));
+		CsvProfile bigProfile = csv.profile(bigFileInfo, SEPARATOR, 8 * 1024);
+		assertEquals(5000, bigProfile.getRowCount());
+		assertEquals(5000, bigProfile.getColumn("firstName").getDistinctCount(), 5000 * 0.03);
+		assertEquals(0.25, bigProfile.getColumn("lastName").getNullRatio());
+		assertEquals(7, bigProfile.getColumn("role").getDistinctCount());
+		assertEquals(60, bigProfile.getColumn("age").getDistinctCount(), 60 * 0.05);
+		assertEquals(30, bigProfile.getColumn("age").getQuantile(0.5), 3);
+		assertEquals(54, bigProfile.getColumn("age").getQuantile(0.9), 3);
+	}
+	
+	@Test
+	void testPrewarm() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		csv.prewarm(SEPARATOR, Employee.class);
+		FileInfo fileInfo = new FileInfo(directory.toString() + "/", "employeesPrewarmed", CSV);
+		// the cached writers and readers are reused by every write and read
+		for(int i = 0; i < 3; i++) {
+			List<Employee> employees = List.of(new Employee("a" + i, "a", "developer", 20 + i), new Employee("b" + i, "b", "manager", 30 + i));
+			csv.write(fileInfo, SEPARATOR, Employee.class, employees);
+			assertEquals(employees, csv.read(fileInfo, SEPARATOR, Employee.class));
+			assertEquals(employees, csv.read(fileInfo, SEPARATOR, List.of(), Employee.class));
+		}
+	}
+	
+	@Test
+	void testWriteStream() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo fileInfo = new FileInfo(directory.toString() + "/", "employeesWrittenByJava", CSV);
+		List<Employee> employees = IntStream.range(0, 2500)
+											.mapToObj(i -> new Employee("first" + i, "last" + i, "role" + i % 7, i % 60))
+											.toList();
+		csv.write(fileInfo, SEPARATOR, Employee.class, employees.stream());
+		assertEquals(employees, csv.read(fileInfo, SEPARATOR, Employee.class));
+	}
+	
+	@Test
+	void testWriteSink() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo fileInfo = new FileInfo(directory.toString() + "/", "employeesWrittenBySink", CSV);
+		List<String> columns = List.of("lastName", "firstName", "role", "age");
+		try (CsvRecordSink<Employee> sink = csv.sink(fileInfo, SEPARATOR, columns, Employee.class)) {
+			sink.write(new Employee("a", "a", "developer", 20));
+			sink.write(new Employee("b", "b", "manager", 30));
+		}
+		assertEquals(2, csv.read(fileInfo, SEPARATOR, Employee.class).size());
+	}
+	
+	@Test
+	void testWritePartitioned() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		List<Employee> employees = IntStream.range(0, 100)
+											.mapToObj(i -> new Employee("first" + i, "last" + i, "role" + i % 7, i % 60))
+											.toList();
+		Function<Boolean, FileInfo> fileInfoProvider = key -> new FileInfo(directory.toString() + "/", "employeesPartitioned_" + key, CSV);
+		
+		// a single open file forces the sink to close and reopen in append mode the files when the key changes
+		try (CsvPartitionedRecordSink<Employee, Boolean> sink = csv.partitionedSink(SEPARATOR, Employee.class, e -> e.getAge() >= 35, fileInfoProvider, 1)) {
+			sink.writeAll(employees.iterator());
+			assertEquals(Set.of(true, false), sink.getPartitions());
+		}
+		assertEquals(employees.stream().filter(e -> e.getAge() >= 35).toList(), csv.read(fileInfoProvider.apply(true), SEPARATOR, Employee.class));
+		assertEquals(employees.stream().filter(e -> e.getAge() < 35).toList(), csv.read(fileInfoProvider.apply(false), SEPARATOR, Employee.class));
+		
+		assertEquals(Set.of(true, false), csv.writePartitioned(SEPARATOR, Employee.class, e -> e.getAge() >= 35, fileInfoProvider, employees.stream()));
+		assertEquals(employees.stream().filter(e -> e.getAge() >= 35).toList(), csv.read(fileInfoProvider.apply(true), SEPARATOR, Employee.class));
+	}
+	
+	@Test
+	void testWriteRolling() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo fileInfo = new FileInfo(directory.toString() + "/", "employeesRolling", CSV);
+		List<Employee> employees = IntStream.range(0, 25)
+											.mapToObj(i -> new Employee("first" + i, "last" + i, "role" + i % 7, i % 60))
+											.toList();
+		
+		List<FileInfo> files = csv.writeRolling(fileInfo, SEPARATOR, Employee.class, 10, Long.MAX_VALUE, employees.stream());
+		assertEquals(3, files.size());
+		assertEquals(fileInfo.withSequenceNumber(1).getFullPath(), files.get(0).getFullPath());
+		List<Employee> read = new ArrayList<>();
+		for(FileInfo file : files) {
+			read.addAll(csv.read(file, SEPARATOR, Employee.class));
+		}
+		assertEquals(employees, read);
+		
+		try (CsvRollingRecordSink<Employee> sink = csv.rollingSink(fileInfo, SEPARATOR, Employee.class, Long.MAX_VALUE, 200)) {
+			sink.writeAll(employees.iterator());
+			assertTrue(sink.getFiles().size() > 1);
+			// every file but the last one is already closed
+			for(FileInfo file : sink.getFiles().subList(0, sink.getFiles().size() - 1)) {
+				long size = Files.size(Path.of(file.getFullPath()));
+				assertTrue(size >= 200 && size < 250, "size of " + file.getFullPath() + " is " + size);
+			}
+		}
+	}
+	
+	@Test
+	void testCheckpointingIterator() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "employees", CSV);
+		Path checkpointPath = Path.of(fileInfo.getFullPath() + CsvFileUtils.CHECKPOINT_SUFFIX);
+		Files.deleteIfExists(checkpointPath);
+		List<Employee> employees = csv.read(fileInfo, SEPARATOR, Employee.class);
+		
+		try (CsvCheckpointingIterator<Employee> iterator = csv.checkpointingIterator(fileInfo, SEPARATOR, Employee.class, 2)) {
+			assertEquals(0, iterator.getStart().getRowNumber());
+			for(int i = 0; i < 5; i++) {
+				assertEquals(employees.get(i), iterator.next());
+				iterator.commit();
+			}
+			// processed but not committed
+			iterator.next();
+		}
+		assertTrue(Files.exists(checkpointPath));
+		
+		List<Employee> resumed = new ArrayList<>();
+		try (CsvCheckpointingIterator<Employee> iterator = csv.checkpointingIterator(fileInfo, SEPARATOR, Employee.class, 2)) {
+			assertEquals(5, iterator.getStart().getRowNumber());
+			iterator.forEachRemaining(resumed::add);
+			iterator.commit();
+			assertEquals(employees.size(), iterator.getCheckpoint().getRowNumber());
+			iterator.deleteCheckpoint();
+		}
+		assertEquals(employees.subList(5, employees.size()), resumed);
+		assertFalse(Files.exists(checkpointPath));
+		
+		long fileSize = Files.size(Path.of(fileInfo.getFullPath()));
+		long fileLastModified = Files.getLastModifiedTime(Path.of(fileInfo.getFullPath())).toMillis();
+		try {
+			// saved for another version of the file
+			new CsvCheckpoint(100, 5, fileSize + 1, fileLastModified).save(checkpointPath);
+			assertThrows(IOException.class, () -> csv.checkpointingIterator(fileInfo, SEPARATOR, Employee.class, 2));
+			new CsvCheckpoint(100, 5, fileSize, fileLastModified + 1).save(checkpointPath);
+			assertThrows(IOException.class, () -> csv.checkpointingIterator(fileInfo, SEPARATOR, Employee.class, 2));
+			// offset past the end of the file
+			new CsvCheckpoint(fileSize + 1, 5, fileSize, fileLastModified).save(checkpointPath);
+			assertThrows(IOException.class, () -> csv.checkpointingIterator(fileInfo, SEPARATOR, Employee.class, 2));
+		} finally {
+			Files.deleteIfExists(checkpointPath);
+		}
+	}
+	
+	@Test
+	void testReadRange() throws IOException {
+		CsvFileUtils csv = new CsvFileUtils();
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "employees", CSV);
+		Path indexPath = Path.of(fileInfo.getFullPath() + CsvFileUtils.INDEX_SUFFIX);
+		List<Employee> employees = csv.read(fileInfo, SEPARATOR, Employee.class);
+		
+		CsvRowIndex index = csv.buildIndex(fileInfo, SEPARATOR, 3);
+		assertEquals(employees.size(), index.getRowCount());
+		assertTrue(Files.exists(indexPath));
+		
+		for(int fromRow = 0; fromRow < employees.size(); fromRow++) {
+			int toRow = Math.min(employees.size(), fromRow + 4);
+			assertEquals(employees.subList(fromRow, toRow), csv.readRange(fileInfo, SEPARATOR, fromRow, 4, Employee.class));
+		}
+		assertTrue(csv.readRange(fileInfo, SEPARATOR, employees.size(), 4, Employee.class).isEmpty());
+		
+		// a missing index is rebuilt on the first read
+		Files.delete(indexPath);
+		assertEquals(employees.subList(1, 3), csv.readRange(fileInfo, SEPARATOR, 1, 2, Employee.class));
+		assertEquals(CsvRowIndex.DEFAULT_INTERVAL, CsvRowIndex.load(indexPath).orElseThrow().getInterval());
+		
+		// a corrupt or truncated index is stale and it is rebuilt
+		byte[] saved = Files.readAllBytes(indexPath);
+		ByteBuffer.wrap(saved).putInt(8, 0);
+		Files.write(indexPath, saved);
+		assertTrue(CsvRowIndex.load(indexPath).isEmpty());
+		assertEquals(employees.subList(1, 3), csv.readRange(fileInfo, SEPARATOR, 1, 2, Employee.class));
+		Files.write(indexPath, Arrays.copyOf(Files.readAllBytes(indexPath), 30));
+		assertTrue(CsvRowIndex.load(indexPath).isEmpty());
+		assertEquals(employees.subList(1, 3), csv.readRange(fileInfo, SEPARATOR, 1, 2, Employee.class));
+		Files.delete(indexPath);
+	}
+	
+}
@@ -0,0 +1,20 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.dummy;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Employee {
+	
+	private String firstName;
+	
+	private String lastName;
+	
+	private String role;
+	
+	private int age;
+
+}
@@ -0,0 +1,74 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.sort;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.paulmarcelinbejan.toolbox.utils.csv.sort.SortRecord.NumberKey;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.CsvTokenizer;
+import io.github.paulmarcelinbejan.toolbox.utils.csv.token.StreamCsvTokenizer;
+
+class SortRecordTest {
+	
+	@Test
+	void testKeys() throws IOException {
+		SortRecord record = records("10, -1.5e3 ,.5,+2.,1d,0x1p3,NaN,Infinity,-,abc,007,99999999999999999999").get(0);
+		Object[] keys = record.keys;
+		assertEquals(13, keys.length);
+		assertEquals(10L, keys[0]);
+		assertNumberKey(keys[1], "-1500", "-1.5e3");
+		assertNumberKey(keys[2], "0.5", ".5");
+		assertNumberKey(keys[3], "2", "+2.");
+		assertEquals(List.of("1d", "0x1p3", "NaN", "Infinity", "-", "abc"), List.of(keys).subList(4, 10));
+		assertNumberKey(keys[10], "7", "007");
+		assertNumberKey(keys[11], "99999999999999999999", "99999999999999999999");
+		assertEquals("", keys[12]);
+	}
+	
+	@Test
+	void testCompareExactly() throws IOException {
+		List<SortRecord> records = records(
+				"abc", 
+				"99999999999999999999", 
+				"9007199254740993", 
+				"7", 
+				"9007199254740992", 
+				"007", 
+				"-1.5e3", 
+				"6.5");
+		records.sort(new SortRecordComparator(new boolean[] { false }));
+		
+		List<String> sorted = new ArrayList<>();
+		for(SortRecord record : records) {
+			sorted.add(new String(record.bytes, StandardCharsets.UTF_8));
+		}
+		assertEquals(List.of("-1.5e3", "6.5", "007", "7", "9007199254740992", "9007199254740993", "99999999999999999999", "abc"), sorted);
+	}
+	
+	private static void assertNumberKey(Object key, String value, String text) {
+		NumberKey numberKey = assertInstanceOf(NumberKey.class, key);
+		assertEquals(0, new BigDecimal(value).compareTo(numberKey.value));
+		assertEquals(text, numberKey.text);
+	}
+	
+	private static List<SortRecord> records(String... lines) throws IOException {
+		byte[] bytes = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+		List<SortRecord> records = new ArrayList<>();
+		try (CsvTokenizer tokenizer = new StreamCsvTokenizer(new ByteArrayInputStream(bytes), ',')) {
+			while(tokenizer.next()) {
+				records.add(SortRecord.of(tokenizer, new int[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 }));
+			}
+		}
+		assertEquals(lines.length, records.size());
+		return records;
+	}
+	
+}
@@ -0,0 +1,66 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.token;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+
+import io.github.paulmarcelinbejan.toolbox.base.data.FieldFilter;
+import io.github.paulmarcelinbejan.toolbox.base.enums.ComparisonOperator;
+
+class CsvRecordFilterTest {
+	
+	private static final String CSV = "id,name\n"
+									+ "9007199254740992,a\n"
+									+ "9007199254740993, Paul \n"
+									+ "-9223372036854775808,b\n"
+									+ "123456789012345678901234567890,c\n"
+									+ "10.0,d\n"
+									+ "1e1,e\n"
+									+ "x,f\n";
+	
+	@Test
+	void testExactIntegers() throws IOException {
+		CsvMapper mapper = new CsvMapper();
+		assertEquals(List.of("9007199254740993"), ids(mapper, new FieldFilter("id", ComparisonOperator.IS_EQUAL_TO, "9007199254740993")));
+		assertEquals(List.of("9007199254740992", "-9223372036854775808", "10.0", "1e1"), 
+				ids(mapper, new FieldFilter("id", ComparisonOperator.IS_LESS_THAN, "9007199254740993")));
+		assertEquals(List.of("-9223372036854775808"), ids(mapper, new FieldFilter("id", ComparisonOperator.IS_EQUAL_TO, "-9223372036854775808")));
+		assertEquals(List.of("123456789012345678901234567890"), 
+				ids(mapper, new FieldFilter("id", ComparisonOperator.IS_EQUAL_TO, "123456789012345678901234567890")));
+		assertEquals(List.of("10.0", "1e1"), ids(mapper, new FieldFilter("id", ComparisonOperator.IS_EQUAL_TO, "10")));
+		assertEquals(List.of("10.0", "1e1"), ids(mapper, new FieldFilter("id", ComparisonOperator.IS_EQUAL_TO, "10.0")));
+	}
+	
+	@Test
+	void testTrimSpaces() throws IOException {
+		FieldFilter filter = new FieldFilter("name", ComparisonOperator.IS_EQUAL_TO, "Paul");
+		assertEquals(List.of(), ids(new CsvMapper(), filter));
+		assertEquals(List.of("9007199254740993"), ids(CsvMapper.builder().enable(CsvParser.Feature.TRIM_SPACES).build(), filter));
+		assertEquals(List.of("9007199254740993"), 
+				ids(CsvMapper.builder().enable(CsvParser.Feature.TRIM_SPACES).build(), new FieldFilter("name", ComparisonOperator.STARTS_WITH, "Pa")));
+	}
+	
+	private static List<String> ids(CsvMapper mapper, FieldFilter filter) throws IOException {
+		List<String> ids = new ArrayList<>();
+		try (CsvTokenizer tokenizer = new StreamCsvTokenizer(new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8)), ',')) {
+			tokenizer.next();
+			CsvRecordFilter recordFilter = CsvRecordFilter.of(mapper, tokenizer.getFields(), List.of(filter));
+			while(tokenizer.next()) {
+				if(recordFilter.test(tokenizer)) {
+					ids.add(tokenizer.getField(0));
+				}
+			}
+		}
+		return ids;
+	}
+	
+}
@@ -0,0 +1,111 @@
+package io.github.paulmarcelinbejan.toolbox.utils.csv.token;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CsvTokenizerTest {
+	
+	private static final String CSV = "\uFEFFa,b,c\r\n"
+									+ "1,\"x, \"\"y\"\"\",\r\n"
+									+ "\r\n"
+									+ "2,\"multi\nline\",è\n"
+									+ "3,,\"\"";
+	
+	@Test
+	void testTokenize() throws IOException {
+		List<String[]> records = tokenize(new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8)));
+		assertEquals(4, records.size());
+		assertArrayEquals(new String[] { "a", "b", "c" }, records.get(0));
+		assertArrayEquals(new String[] { "1", "x, \"y\"", "" }, records.get(1));
+		assertArrayEquals(new String[] { "2", "multi\nline", "è" }, records.get(2));
+		assertArrayEquals(new String[] { "3", "", "" }, records.get(3));
+	}
+	
+	@Test
+	void testTokenizeOneByteAtATime() throws IOException {
+		byte[] bytes = CSV.getBytes(StandardCharsets.UTF_8);
+		List<String[]> expected = tokenize(new ByteArrayInputStream(bytes));
+		List<String[]> records = tokenize(new OneByteInputStream(bytes));
+		assertEquals(expected.size(), records.size());
+		for(int i = 0; i < expected.size(); i++) {
+			assertArrayEquals(expected.get(i), records.get(i));
+		}
+	}
+	
+	@Test
+	void testMappedTokenizerSlidingWindow(@TempDir Path directory) throws IOException {
+		byte[] bytes = CSV.getBytes(StandardCharsets.UTF_8);
+		Path path = Files.write(directory.resolve("tokenizer.csv"), bytes);
+		List<String[]> expected = tokenize(new ByteArrayInputStream(bytes));
+		for(int windowSize = 1; windowSize <= bytes.length; windowSize++) {
+			List<String[]> records = new ArrayList<>();
+			try (CsvTokenizer tokenizer = new MappedCsvTokenizer(path, ',', 0, Long.MAX_VALUE, windowSize)) {
+				while(tokenizer.next()) {
+					records.add(tokenizer.getFields());
+				}
+				assertEquals(bytes.length, tokenizer.getOffset());
+			}
+			assertEquals(expected.size(), records.size());
+			for(int i = 0; i < expected.size(); i++) {
+				assertArrayEquals(expected.get(i), records.get(i));
+			}
+		}
+	}
+	
+	@Test
+	void testOffsetsAndLineNumbers() throws IOException {
+		byte[] bytes = CSV.getBytes(StandardCharsets.UTF_8);
+		try (CsvTokenizer tokenizer = new StreamCsvTokenizer(new ByteArrayInputStream(bytes), ',')) {
+			assertTrue(tokenizer.next());
+			assertEquals(3, tokenizer.getRecordOffset());
+			assertEquals(1, tokenizer.getLineNumber());
+			assertTrue(tokenizer.next());
+			assertEquals(10, tokenizer.getRecordOffset());
+			assertEquals(2, tokenizer.getLineNumber());
+			assertTrue(tokenizer.next());
+			assertEquals(4, tokenizer.getLineNumber());
+			assertTrue(tokenizer.next());
+			assertEquals(6, tokenizer.getLineNumber());
+			assertEquals(bytes.length, tokenizer.getOffset());
+			assertFalse(tokenizer.next());
+		}
+	}
+	
+	private static List<String[]> tokenize(InputStream inputStream) throws IOException {
+		List<String[]> records = new ArrayList<>();
+		try (CsvTokenizer tokenizer = new StreamCsvTokenizer(inputStream, ',')) {
+			while(tokenizer.next()) {
+				records.add(tokenizer.getFields());
+			}
+		}
+		return records;
+	}
+	
+	private static class OneByteInputStream extends ByteArrayInputStream {
+		
+		OneByteInputStream(byte[] bytes) {
+			super(bytes);
+		}
+		
+		@Override
+		public synchronized int read(byte[] bytes, int offset, int length) {
+			return super.read(bytes, offset, Math.min(1, length));
+		}
+	
+	}
+	
+}
@@ -7,8 +7,12 @@ import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+import io.github.paulmarcelinbejan.toolbox.utils.io.stream.FileRangeInputStream;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
@@ -19,6 +23,17 @@ public class FileUtils {
 		return new File(fileInfo.getFullPath());
 	}
 	
+	public static Path createPath(final FileInfo fileInfo) {
+		return Path.of(fileInfo.getFullPath());
+	}
+	
+	/**
+	 * Path of a sidecar file that lives next to the file, named as the file followed by suffix (e.g. data.csv.checkpoint).
+	 */
+	public static Path createSidecarPath(final FileInfo fileInfo, final String suffix) {
+		return Path.of(fileInfo.getFullPath() + suffix);
+	}
+	
 	public static FileReader createFileReader(final FileInfo fileInfo) throws FileNotFoundException {
 		return new FileReader(fileInfo.getFullPath());
 	}
@@ -31,8 +46,29 @@ public class FileUtils {
 		return new FileInputStream(createFile(fileInfo));
 	}
 	
+	/**
+	 * InputStream that reads only the bytes between start (inclusive) and end (exclusive).
+	 */
+	public static FileRangeInputStream createFileRangeInputStream(final FileInfo fileInfo, long start, long end) throws IOException {
+		return new FileRangeInputStream(createPath(fileInfo), start, end);
+	}
+	
+	/**
+	 * FileChannel opened in read mode.
+	 */
+	public static FileChannel createFileChannel(final FileInfo fileInfo) throws IOException {
+		return FileChannel.open(createPath(fileInfo), StandardOpenOption.READ);
+	}
+	
 	public static FileOutputStream createFileOutputStream(final FileInfo fileInfo) throws FileNotFoundException {
 		return new FileOutputStream(createFile(fileInfo));
 	}
 	
+	/**
+	 * @param append if true, bytes are written at the end of the file rather than overwriting it.
+	 */
+	public static FileOutputStream createFileOutputStream(final FileInfo fileInfo, boolean append) throws FileNotFoundException {
+		return new FileOutputStream(createFile(fileInfo), append);
+	}
+	
 }
@@ -0,0 +1,15 @@
+package io.github.paulmarcelinbejan.toolbox.utils.io.cache;
+
+import java.io.IOException;
+
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+
+/**
+ * Parse a file, e.g. fileInfo -> jsonFileUtils.read(fileInfo, Employee.class)
+ */
+@FunctionalInterface
+public interface FileLoader<T> {
+	
+	T load(FileInfo fileInfo) throws IOException;
+	
+}
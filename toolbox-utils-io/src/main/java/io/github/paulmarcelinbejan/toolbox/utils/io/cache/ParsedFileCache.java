@@ -0,0 +1,230 @@
+package io.github.paulmarcelinbejan.toolbox.utils.io.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import io.github.paulmarcelinbejan.toolbox.utils.io.FileUtils;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.ParsedFileCacheConfig;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+
+/**
+ * Cache of parsed files, shared by the readers of JSON, YAML and CSV files, keyed by (file, type, prefix), see {@link #get(FileInfo, Class, String, FileLoader)}.
+ * <br>
+ * Every get reads the size and the modification time of the file (a single stat) and reloads it if one of them changed.
+ * <br>
+ * Entries are evicted least recently used first, when there are more than maxEntries or their weight (the size of their files) is more than maxWeight. 
+ * A file bigger than maxWeight is parsed but not kept.
+ * <br>
+ * Concurrent misses on the same key wait for a single load.
+ * <br>
+ * The cached values are shared by every caller, they must not be modified.
+ */
+public class ParsedFileCache {
+	
+	public ParsedFileCache() {
+		this(ParsedFileCacheConfig.DEFAULT);
+	}
+	
+	public ParsedFileCache(@NonNull final ParsedFileCacheConfig config) {
+		if(config.getMaxEntries() <= 0 || config.getMaxWeight() <= 0) {
+			throw new IllegalArgumentException("maxEntries and maxWeight must be greater than zero");
+		}
+		this.config = config;
+	}
+	
+	private final ParsedFileCacheConfig config;
+	
+	/**
+	 * Access ordered, guarded by itself.
+	 */
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	
+	private final Map<Key, FutureTask<Entry>> loading = new ConcurrentHashMap<>();
+	
+	private long weight;
+	
+	public <T> T get(FileInfo fileInfo, Class<T> type, FileLoader<? extends T> loader) throws IOException {
+		return get(fileInfo, type, null, loader);
+	}
+	
+	/**
+	 * The key is (file, type, prefix): the cache doesn't know how loader parses the file, 
+	 * so type and prefix must tell apart every loader used for the same file.
+	 * 
+	 * @param type class of the parsed value, the value returned by loader is checked against it 
+	 * (e.g. Employee.class for an Employee, List.class for a List of Employee).
+	 * @param prefix everything else that changes the parsed value: the part of the file that is parsed (e.g. a YAML prefix or a JSON Pointer), 
+	 * the type of the elements of a collection and the settings of the reader (e.g. the separator of a CSV file), null if there is nothing else.
+	 * @param loader called only if the file is not cached or it changed since it was cached.
+	 * @throws ClassCastException if loader returns a value that is not an instance of type.
+	 */
+	public <T> T get(@NonNull FileInfo fileInfo, @NonNull Class<T> type, String prefix, @NonNull FileLoader<? extends T> loader) throws IOException {
+		Path path = FileUtils.createPath(fileInfo).toAbsolutePath().normalize();
+		Key key = new Key(path, type, prefix);
+		BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+		
+		Entry cached = cached(key, attributes);
+		if(cached != null) {
+			return type.cast(cached.value);
+		}
+		
+		FutureTask<Entry> task = new FutureTask<>(() -> {
+			// another load of the key may have been published and removed between the miss and putIfAbsent
+			Entry published = cached(key, attributes);
+			return published != null ? published : load(fileInfo, path, type, loader);
+		});
+		FutureTask<Entry> running = loading.putIfAbsent(key, task);
+		Entry entry;
+		if(running == null) {
+			try {
+				task.run();
+				entry = await(task);
+				put(key, entry);
+			} finally {
+				// removed only once the entry is published, so a miss in between waits for this load instead of starting another one
+				loading.remove(key, task);
+			}
+		} else {
+			entry = await(running);
+		}
+		return type.cast(entry.value);
+	}
+	
+	/**
+	 * Remove every entry of the file, whatever the type and the prefix.
+	 */
+	public void invalidate(@NonNull FileInfo fileInfo) {
+		Path path = FileUtils.createPath(fileInfo).toAbsolutePath().normalize();
+		synchronized (entries) {
+			Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+			while(iterator.hasNext()) {
+				Map.Entry<Key, Entry> entry = iterator.next();
+				if(entry.getKey().path.equals(path)) {
+					weight -= entry.getValue().size;
+					iterator.remove();
+				}
+			}
+		}
+	}
+	
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+			weight = 0;
+		}
+	}
+	
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+	
+	/**
+	 * Sum of the sizes in bytes of the files cached.
+	 */
+	public long weight() {
+		synchronized (entries) {
+			return weight;
+		}
+	}
+	
+	/**
+	 * @return the entry of key if it is still valid for the attributes of the file, otherwise null.
+	 */
+	private Entry cached(Key key, BasicFileAttributes attributes) {
+		synchronized (entries) {
+			Entry entry = entries.get(key);
+			return entry != null && entry.isValidFor(attributes) ? entry : null;
+		}
+	}
+	
+	/**
+	 * The attributes are read before parsing, so a file modified while it is parsed is reloaded by the next get.
+	 * <br>
+	 * The value is checked against type before being cached, so a value of another type is never returned by a later get.
+	 */
+	private static Entry load(FileInfo fileInfo, Path path, Class<?> type, FileLoader<?> loader) throws IOException {
+		BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+		return new Entry(type.cast(loader.load(fileInfo)), attributes.size(), attributes.lastModifiedTime().toMillis());
+	}
+	
+	private void put(Key key, Entry entry) {
+		synchronized (entries) {
+			Entry previous = entries.remove(key);
+			if(previous != null) {
+				weight -= previous.size;
+			}
+			if(entry.size > config.getMaxWeight()) {
+				return;
+			}
+			entries.put(key, entry);
+			weight += entry.size;
+			Iterator<Entry> eldest = entries.values().iterator();
+			while(entries.size() > config.getMaxEntries() || weight > config.getMaxWeight()) {
+				weight -= eldest.next().size;
+				eldest.remove();
+			}
+		}
+	}
+	
+	private static Entry await(FutureTask<Entry> task) throws IOException {
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Load interrupted", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if(cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if(cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if(cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+	
+	@EqualsAndHashCode
+	@AllArgsConstructor
+	private static class Key {
+		
+		final Path path;
+		
+		final Class<?> type;
+		
+		final String prefix;
+		
+	}
+	
+	@AllArgsConstructor
+	private static class Entry {
+		
+		final Object value;
+		
+		final long size;
+		
+		final long lastModified;
+		
+		boolean isValidFor(BasicFileAttributes attributes) {
+			return size == attributes.size() && lastModified == attributes.lastModifiedTime().toMillis();
+		}
+	
+	}
+	
+}
@@ -6,6 +6,8 @@ import lombok.NonNull;
 
 public class FileInfo {
 
+	private static final String SEQUENCE_NUMBER_FORMAT = "%05d";
+	
 	@NonNull 
 	private final String directoryPath;
 	
@@ -35,6 +37,22 @@ public class FileInfo {
 				.toString();
 	}
 	
+	/**
+	 * This method returns a new FileInfo in the same directory and with the same type, 
+	 * whose name is followed by the sequence number padded to 5 digits (e.g. report_00001).
+	 * Useful to split an output in more files.
+	 */
+	public final FileInfo withSequenceNumber(int sequenceNumber) {
+		return new FileInfo(
+				directoryPath, 
+				new StringBuilder()
+					.append(fileNameWithoutExtension)
+					.append(UNDERSCORE)
+					.append(String.format(SEQUENCE_NUMBER_FORMAT, sequenceNumber))
+					.toString(), 
+				fileType);
+	}
+	
 	/**
 	 * This method append a currentTimeMillis to the name of the file.
 	 * Useful when you don't want to override files.
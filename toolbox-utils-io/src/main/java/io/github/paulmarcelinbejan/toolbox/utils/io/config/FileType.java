@@ -2,9 +2,12 @@ package io.github.paulmarcelinbejan.toolbox.utils.io.config;
 
 public enum FileType {
 
+	CBOR(".cbor"),
 	CSV(".csv"),
 	JSON(".json"),
+	NDJSON(".ndjson"),
 	PDF(".pdf"),
+	SMILE(".sml"),
 	YAML(".yaml");
 	
 	public final String extension;
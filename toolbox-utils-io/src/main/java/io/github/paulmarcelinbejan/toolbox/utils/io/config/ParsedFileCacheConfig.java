@@ -0,0 +1,24 @@
+package io.github.paulmarcelinbejan.toolbox.utils.io.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ParsedFileCacheConfig {
+	
+	public static final ParsedFileCacheConfig DEFAULT = new ParsedFileCacheConfig(
+			1024, 
+			256L * 1024 * 1024);
+	
+	/**
+	 * max number of parsed files kept.
+	 */
+	private final int maxEntries;
+	
+	/**
+	 * max sum of the sizes in bytes of the parsed files kept, the size of a file is the estimate of the memory used by its parsed value.
+	 */
+	private final long maxWeight;
+	
+}
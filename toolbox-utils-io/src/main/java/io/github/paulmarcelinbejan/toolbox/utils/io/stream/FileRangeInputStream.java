@@ -0,0 +1,87 @@
+package io.github.paulmarcelinbejan.toolbox.utils.io.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * InputStream that reads only the bytes of a file between start (inclusive) and end (exclusive).
+ * <br>
+ * It uses positional reads on its own FileChannel, so many instances can read different ranges of the same file concurrently.
+ */
+public class FileRangeInputStream extends InputStream {
+	
+	public FileRangeInputStream(@NonNull final Path path, long start, long end) throws IOException {
+		if(start < 0 || end < start) {
+			throw new IllegalArgumentException("Invalid range [" + start + ", " + end + ")");
+		}
+		FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			this.end = Math.min(end, fileChannel.size());
+		} catch (IOException | RuntimeException e) {
+			fileChannel.close();
+			throw e;
+		}
+		this.channel = fileChannel;
+		this.position = start;
+	}
+	
+	private final FileChannel channel;
+	
+	private final long end;
+	
+	/**
+	 * absolute position in the file of the next byte to read
+	 */
+	@Getter
+	private long position;
+	
+	@Override
+	public int read() throws IOException {
+		byte[] single = new byte[1];
+		int read = read(single, 0, 1);
+		return read == -1 ? -1 : single[0] & 0xFF;
+	}
+	
+	@Override
+	public int read(byte[] bytes, int offset, int length) throws IOException {
+		if(length == 0) {
+			return 0;
+		}
+		long remaining = end - position;
+		if(remaining <= 0) {
+			return -1;
+		}
+		int toRead = (int) Math.min(length, remaining);
+		int read = channel.read(ByteBuffer.wrap(bytes, offset, toRead), position);
+		if(read == -1) {
+			return -1;
+		}
+		position += read;
+		return read;
+	}
+	
+	@Override
+	public long skip(long n) {
+		long skipped = Math.max(0, Math.min(n, end - position));
+		position += skipped;
+		return skipped;
+	}
+	
+	@Override
+	public int available() {
+		return (int) Math.min(Integer.MAX_VALUE, end - position);
+	}
+	
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+}
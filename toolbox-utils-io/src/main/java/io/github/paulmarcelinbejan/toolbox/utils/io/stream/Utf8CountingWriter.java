@@ -0,0 +1,62 @@
+package io.github.paulmarcelinbejan.toolbox.utils.io.stream;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Writer that counts how many bytes the characters written to the wrapped Writer take once encoded in UTF-8.
+ * <br>
+ * The count is updated as soon as the characters are written, even if the wrapped Writer buffers them.
+ */
+public class Utf8CountingWriter extends FilterWriter {
+	
+	public Utf8CountingWriter(@NonNull final Writer writer) {
+		super(writer);
+	}
+	
+	/**
+	 * number of UTF-8 bytes written so far
+	 */
+	@Getter
+	private long count;
+	
+	@Override
+	public void write(int c) throws IOException {
+		out.write(c);
+		count += utf8Length((char) c);
+	}
+	
+	@Override
+	public void write(char[] chars, int offset, int length) throws IOException {
+		out.write(chars, offset, length);
+		for(int i = offset; i < offset + length; i++) {
+			count += utf8Length(chars[i]);
+		}
+	}
+	
+	@Override
+	public void write(String string, int offset, int length) throws IOException {
+		out.write(string, offset, length);
+		for(int i = offset; i < offset + length; i++) {
+			count += utf8Length(string.charAt(i));
+		}
+	}
+	
+	/**
+	 * a surrogate pair takes 4 bytes, so each of its chars counts 2.
+	 */
+	private static int utf8Length(char c) {
+		if(c < 0x80) {
+			return 1;
+		}
+		if(c < 0x800 || Character.isSurrogate(c)) {
+			return 2;
+		}
+		return 3;
+	}
+	
+}
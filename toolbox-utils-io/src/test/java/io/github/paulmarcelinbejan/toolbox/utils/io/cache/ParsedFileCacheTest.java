@@ -0,0 +1,160 @@
+package io.github.paulmarcelinbejan.toolbox.utils.io.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.paulmarcelinbejan.toolbox.utils.io.FileUtils;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileType;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.ParsedFileCacheConfig;
+
+class ParsedFileCacheTest {
+	
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static final Class<List<String>> LINES = (Class) List.class;
+	
+	@TempDir
+	Path directory;
+	
+	@Test
+	void testConcurrentMissesLoadOnce() throws Exception {
+		FileInfo fileInfo = write("employees", "a");
+		
+		ParsedFileCache cache = new ParsedFileCache();
+		AtomicInteger loads = new AtomicInteger();
+		FileLoader<List<String>> loader = file -> {
+			loads.incrementAndGet();
+			LockSupport.parkNanos(50_000_000L);
+			return Files.readAllLines(FileUtils.createPath(file));
+		};
+		
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			for(int round = 0; round < 20; round++) {
+				cache.clear();
+				loads.set(0);
+				List<Future<List<String>>> futures = new ArrayList<>();
+				for(int i = 0; i < 8; i++) {
+					futures.add(executor.submit(() -> cache.get(fileInfo, LINES, loader)));
+				}
+				for(Future<List<String>> future : futures) {
+					assertEquals(List.of("a"), future.get());
+				}
+				assertEquals(1, loads.get());
+				assertEquals(1, cache.size());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	void testReloadWhenFileChanges() throws IOException {
+		FileInfo fileInfo = write("employees", "a");
+		
+		ParsedFileCache cache = new ParsedFileCache();
+		AtomicInteger loads = new AtomicInteger();
+		FileLoader<List<String>> loader = file -> {
+			loads.incrementAndGet();
+			return Files.readAllLines(FileUtils.createPath(file));
+		};
+		
+		List<String> first = cache.get(fileInfo, LINES, loader);
+		assertSame(first, cache.get(fileInfo, LINES, loader));
+		assertEquals(1, loads.get());
+		
+		write("employees", "a", "b");
+		List<String> second = cache.get(fileInfo, LINES, loader);
+		assertEquals(List.of("a", "b"), second);
+		assertNotSame(first, second);
+		assertEquals(2, loads.get());
+		assertSame(second, cache.get(fileInfo, LINES, loader));
+		assertEquals(2, loads.get());
+	}
+	
+	@Test
+	void testKeyAndInvalidate() throws IOException {
+		FileInfo fileInfo = write("employees", "a", "b");
+		
+		ParsedFileCache cache = new ParsedFileCache();
+		FileLoader<List<String>> all = file -> Files.readAllLines(FileUtils.createPath(file));
+		FileLoader<String> first = file -> Files.readAllLines(FileUtils.createPath(file)).get(0);
+		
+		assertEquals(List.of("a", "b"), cache.get(fileInfo, LINES, all));
+		assertEquals("a", cache.get(fileInfo, String.class, first));
+		assertEquals("a", cache.get(fileInfo, String.class, "first", first));
+		assertEquals(3, cache.size());
+		
+		// the value is checked against the type before being cached, so it is never returned for another type
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		FileLoader<Integer> wrongType = (FileLoader) first;
+		assertThrows(ClassCastException.class, () -> cache.get(fileInfo, Integer.class, wrongType));
+		assertEquals(3, cache.size());
+		
+		cache.invalidate(fileInfo);
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.weight());
+	}
+	
+	@Test
+	void testFailedLoadIsNotCached() throws IOException {
+		FileInfo fileInfo = write("employees", "a");
+		
+		ParsedFileCache cache = new ParsedFileCache();
+		FileLoader<List<String>> failing = file -> {
+			throw new IOException("broken");
+		};
+		
+		assertThrows(IOException.class, () -> cache.get(fileInfo, LINES, failing));
+		assertEquals(0, cache.size());
+		assertEquals(List.of("a"), cache.get(fileInfo, LINES, file -> Files.readAllLines(FileUtils.createPath(file))));
+	}
+	
+	@Test
+	void testEviction() throws IOException {
+		ParsedFileCache cache = new ParsedFileCache(new ParsedFileCacheConfig(2, Long.MAX_VALUE));
+		FileLoader<List<String>> loader = file -> Files.readAllLines(FileUtils.createPath(file));
+		
+		FileInfo a = write("a", "a");
+		FileInfo b = write("b", "b");
+		FileInfo c = write("c", "c");
+		cache.get(a, LINES, loader);
+		cache.get(b, LINES, loader);
+		cache.get(a, LINES, loader);
+		cache.get(c, LINES, loader);
+		assertEquals(2, cache.size());
+		
+		AtomicInteger loads = new AtomicInteger();
+		FileLoader<List<String>> counting = file -> {
+			loads.incrementAndGet();
+			return loader.load(file);
+		};
+		cache.get(a, LINES, counting);
+		assertEquals(0, loads.get());
+		cache.get(b, LINES, counting);
+		assertEquals(1, loads.get());
+	}
+	
+	private FileInfo write(String name, String... lines) throws IOException {
+		FileInfo fileInfo = new FileInfo(directory.toString() + "/", name, FileType.CSV);
+		Files.write(FileUtils.createPath(fileInfo), List.of(lines));
+		return fileInfo;
+	}
+	
+}
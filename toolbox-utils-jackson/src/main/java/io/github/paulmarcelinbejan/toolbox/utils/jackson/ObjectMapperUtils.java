@@ -1,5 +1,6 @@
 package io.github.paulmarcelinbejan.toolbox.utils.jackson;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -7,6 +8,7 @@ import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,6 +16,9 @@ import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import io.github.paulmarcelinbejan.toolbox.utils.jackson.config.AccelerationConfig;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -57,6 +62,40 @@ public class ObjectMapperUtils {
 		registerModule(mapper, new JavaTimeModule());
 	}
 	
+	/**
+	 * Register the Blackbird module if acceleration is enabled and a copy of mapper with the module 
+	 * round trips every sample as mapper does, otherwise mapper is left as it is.
+	 * <br>
+	 * Every sample is serialized to a tree by the copy, bound back to its class and serialized again by mapper: 
+	 * both trees must be equal to the one written by mapper.
+	 * The round trip is independent of the data format (e.g. the CSV schema), it verifies only the binding of the classes.
+	 * <br>
+	 * To be called after every other module has been registered.
+	 * 
+	 * @return true if mapper has been accelerated.
+	 */
+	public static <Mapper extends ObjectMapper> boolean accelerate(Mapper mapper, AccelerationConfig acceleration) {
+		if(acceleration == null || !acceleration.isEnabled()) {
+			return false;
+		}
+		try {
+			ObjectMapper probe = mapper.copy();
+			probe.registerModule(new BlackbirdModule());
+			for(Object sample : acceleration.getSamples()) {
+				JsonNode expected = mapper.valueToTree(sample);
+				JsonNode serialized = probe.valueToTree(sample);
+				Object deserialized = probe.treeToValue(serialized, sample.getClass());
+				if(!expected.equals(serialized) || !expected.equals(mapper.valueToTree(deserialized))) {
+					return false;
+				}
+			}
+		} catch (IOException | RuntimeException | LinkageError e) {
+			return false;
+		}
+		registerModule(mapper, new BlackbirdModule());
+		return true;
+	}
+	
 	public static <Mapper extends ObjectMapper> void enableDeserializationFeature(Mapper mapper, DeserializationFeature feature) {
 		mapper.enable(feature);
 	}
@@ -0,0 +1,34 @@
+package io.github.paulmarcelinbejan.toolbox.utils.jackson.codec;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Key of a codec in the {@link CodecRegistry}: the class it binds and everything else that changes its configuration 
+ * (e.g. separator and columns of a CSV schema, prefix of a YAML file).
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CodecKey {
+	
+	private final Class<?> type;
+	
+	private final List<Object> variant;
+	
+	/**
+	 * @param variant values that identify the configuration of the codec, they must implement equals and hashCode and must not change.
+	 */
+	public static CodecKey of(Class<?> type, Object... variant) {
+		return new CodecKey(type, Collections.unmodifiableList(Arrays.asList(variant)));
+	}
+	
+}
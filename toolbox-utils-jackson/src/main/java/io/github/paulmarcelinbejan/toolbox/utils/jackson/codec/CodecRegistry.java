@@ -0,0 +1,62 @@
+package io.github.paulmarcelinbejan.toolbox.utils.jackson.codec;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.FormatSchema;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Cache of fully configured ObjectReader, ObjectWriter and FormatSchema instances.
+ * <br>
+ * Creating them means introspecting the class and looking up its (de)serializers, 
+ * while they are immutable and thread-safe once created, so they can be reused for every file with the same {@link CodecKey}.
+ * <br>
+ * The codecs of a registry must be created by the same mapper, which is why every FileUtils has its own registry.
+ */
+public class CodecRegistry {
+	
+	private final ConcurrentMap<CodecKey, ObjectReader> readers = new ConcurrentHashMap<>();
+	
+	private final ConcurrentMap<CodecKey, ObjectWriter> writers = new ConcurrentHashMap<>();
+	
+	private final ConcurrentMap<CodecKey, FormatSchema> schemas = new ConcurrentHashMap<>();
+	
+	/**
+	 * @return the reader of key, created by factory the first time.
+	 */
+	public ObjectReader reader(CodecKey key, Function<CodecKey, ObjectReader> factory) {
+		return readers.computeIfAbsent(key, factory);
+	}
+	
+	/**
+	 * @return the writer of key, created by factory the first time.
+	 */
+	public ObjectWriter writer(CodecKey key, Function<CodecKey, ObjectWriter> factory) {
+		return writers.computeIfAbsent(key, factory);
+	}
+	
+	/**
+	 * @return the schema of key, created by factory the first time.
+	 */
+	@SuppressWarnings("unchecked")
+	public <S extends FormatSchema> S schema(CodecKey key, Function<CodecKey, S> factory) {
+		return (S) schemas.computeIfAbsent(key, factory);
+	}
+	
+	/**
+	 * @return number of cached readers, writers and schemas.
+	 */
+	public int size() {
+		return readers.size() + writers.size() + schemas.size();
+	}
+	
+	public void clear() {
+		readers.clear();
+		writers.clear();
+		schemas.clear();
+	}
+	
+}
@@ -0,0 +1,43 @@
+package io.github.paulmarcelinbejan.toolbox.utils.jackson.config;
+
+import java.util.Collections;
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * Bytecode acceleration of databind: the Blackbird module replaces the reflective access to getters, setters, fields and constructors 
+ * with generated lambdas.
+ * <br>
+ * Before accelerating a mapper, a copy of it with the module registered serializes and deserializes every sample, 
+ * if that fails or the result differs from the one of the reflective mapper, the mapper is left reflective.
+ */
+@Getter
+public class AccelerationConfig {
+	
+	public static final AccelerationConfig DISABLED = new AccelerationConfig(false, Collections.emptyList());
+	
+	/**
+	 * @throws IllegalArgumentException if enabled without samples, since nothing would be verified.
+	 */
+	public AccelerationConfig(boolean enabled, List<?> samples) {
+		if(enabled && (samples == null || samples.isEmpty())) {
+			throw new IllegalArgumentException("at least one sample is required to verify the acceleration");
+		}
+		this.enabled = enabled;
+		this.samples = samples == null ? Collections.emptyList() : List.copyOf(samples);
+	}
+	
+	private final boolean enabled;
+	
+	/**
+	 * instances of the classes that the accelerated mapper must be able to serialize and deserialize, 
+	 * with their fields set as in the files read (e.g. no null collections if the files never omit them).
+	 */
+	private final List<?> samples;
+	
+	public static AccelerationConfig blackbird(Object... samples) {
+		return new AccelerationConfig(true, List.of(samples));
+	}
+	
+}
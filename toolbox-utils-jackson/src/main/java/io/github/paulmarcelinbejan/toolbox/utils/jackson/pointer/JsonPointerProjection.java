@@ -0,0 +1,133 @@
+package io.github.paulmarcelinbejan.toolbox.utils.jackson.pointer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import lombok.NonNull;
+
+/**
+ * Projection of a JSON document on a set of JSON Pointers (RFC 6901) using the streaming parser.
+ * <br>
+ * The subtrees that don't lead to a pointer are skipped with {@link JsonParser#skipChildren()} without being bound, 
+ * and the parsing stops as soon as every pointer has been found, so the rest of the document is never read.
+ * <br>
+ * If a pointer is a prefix of another one (e.g. /a and /a/b), the subtree of the shorter one is read as a tree and both values are bound from it.
+ */
+public class JsonPointerProjection {
+	
+	/**
+	 * @param readers reader used to bind the value of every pointer, the iteration order is kept in the result.
+	 */
+	public JsonPointerProjection(@NonNull final Map<String, ObjectReader> readers) {
+		this.readers = readers;
+		this.root = new Node();
+		for(String pointer : readers.keySet()) {
+			Node node = root;
+			for(JsonPointer segment = JsonPointer.compile(pointer); !segment.matches(); segment = segment.tail()) {
+				node = node.children.computeIfAbsent(segment.getMatchingProperty(), name -> new Node());
+			}
+			node.pointer = pointer;
+		}
+	}
+	
+	private final Map<String, ObjectReader> readers;
+	
+	private final Node root;
+	
+	/**
+	 * Read the values of the pointers from the parser, the pointers not present in the document are not in the result.
+	 */
+	public Map<String, Object> read(@NonNull final JsonParser parser) throws IOException {
+		Map<String, Object> found = new HashMap<>();
+		if(parser.nextToken() != null) {
+			walk(parser, root, found);
+		}
+		Map<String, Object> values = new LinkedHashMap<>();
+		for(String pointer : readers.keySet()) {
+			if(found.containsKey(pointer)) {
+				values.put(pointer, found.get(pointer));
+			}
+		}
+		return values;
+	}
+	
+	/**
+	 * The parser is positioned on the first token of the value of node, when the method returns it is positioned on its last token.
+	 * 
+	 * @return true if every pointer has been found, so the parsing can stop.
+	 */
+	private boolean walk(JsonParser parser, Node node, Map<String, Object> found) throws IOException {
+		if(node.pointer != null) {
+			if(node.children.isEmpty()) {
+				found.put(node.pointer, readers.get(node.pointer).readValue(parser));
+			} else {
+				bind(parser.readValueAsTree(), node, found);
+			}
+			return found.size() == readers.size();
+		}
+		
+		JsonToken token = parser.currentToken();
+		if(token == JsonToken.START_OBJECT) {
+			while(parser.nextToken() == JsonToken.FIELD_NAME) {
+				Node child = node.children.get(parser.currentName());
+				parser.nextToken();
+				if(child == null) {
+					parser.skipChildren();
+				} else if(walk(parser, child, found)) {
+					return true;
+				}
+			}
+		} else if(token == JsonToken.START_ARRAY) {
+			int index = 0;
+			while(parser.nextToken() != JsonToken.END_ARRAY) {
+				Node child = node.children.get(String.valueOf(index++));
+				if(child == null) {
+					parser.skipChildren();
+				} else if(walk(parser, child, found)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Bind the values of node and of the pointers below it from the tree already read.
+	 */
+	private void bind(JsonNode tree, Node node, Map<String, Object> found) throws IOException {
+		if(tree.isMissingNode()) {
+			return;
+		}
+		if(node.pointer != null) {
+			found.put(node.pointer, readers.get(node.pointer).readValue(tree));
+		}
+		for(Map.Entry<String, Node> child : node.children.entrySet()) {
+			bind(tree.isArray() ? tree.path(indexOf(child.getKey())) : tree.path(child.getKey()), child.getValue(), found);
+		}
+	}
+	
+	private static int indexOf(String segment) {
+		try {
+			return Integer.parseInt(segment);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+	
+	private static class Node {
+		
+		String pointer;
+		
+		final Map<String, Node> children = new HashMap<>();
+	
+	}
+	
+}
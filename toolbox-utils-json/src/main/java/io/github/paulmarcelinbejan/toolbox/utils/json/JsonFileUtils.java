@@ -1,53 +1,118 @@
 package io.github.paulmarcelinbejan.toolbox.utils.json;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.MappingIterator;
-import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import io.github.paulmarcelinbejan.toolbox.utils.io.FileUtils;
 import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+import io.github.paulmarcelinbejan.toolbox.utils.jackson.codec.CodecKey;
+import io.github.paulmarcelinbejan.toolbox.utils.jackson.codec.CodecRegistry;
+import io.github.paulmarcelinbejan.toolbox.utils.jackson.pointer.JsonPointerProjection;
+import io.github.paulmarcelinbejan.toolbox.utils.json.array.JsonArrayIndexer;
+import io.github.paulmarcelinbejan.toolbox.utils.json.array.JsonArrayWriter;
 import io.github.paulmarcelinbejan.toolbox.utils.json.config.JsonFileUtilsConfig;
 import io.github.paulmarcelinbejan.toolbox.utils.json.config.JsonReaderConfig;
 import io.github.paulmarcelinbejan.toolbox.utils.json.config.JsonWriterConfig;
+import io.github.paulmarcelinbejan.toolbox.utils.json.lines.JsonLinesSplitter;
+import io.github.paulmarcelinbejan.toolbox.utils.json.lines.JsonLinesWriter;
 
 public class JsonFileUtils {
+	
+	private static final String PRETTY = "pretty";
+	private static final String LINES = "lines";
+	private static final String ARRAY = "array";
+	private static final byte[] ARRAY_START = { '[' };
+	private static final byte[] ARRAY_END = { ']' };
 
 	/**
 	 * This constructor will use default configuration. 
 	 */
     public JsonFileUtils() {
-		this.mapperReader = JsonFileUtilsConfig.DEFAULT.getReaderConfig().getJsonMapper();
-		this.mapperWriter = JsonFileUtilsConfig.DEFAULT.getWriterConfig().getJsonMapper();
+		this.mapperReader = JsonFileUtilsConfig.DEFAULT.getReaderConfig().getObjectMapper();
+		this.mapperWriter = JsonFileUtilsConfig.DEFAULT.getWriterConfig().getObjectMapper();
 	}
     
     public JsonFileUtils(JsonFileUtilsConfig jsonFileUtilsConfig) {
-		this.mapperReader = jsonFileUtilsConfig.getReaderConfig().getJsonMapper();
-		this.mapperWriter = jsonFileUtilsConfig.getWriterConfig().getJsonMapper();
+		this.mapperReader = jsonFileUtilsConfig.getReaderConfig().getObjectMapper();
+		this.mapperWriter = jsonFileUtilsConfig.getWriterConfig().getObjectMapper();
 	}
     
     public JsonFileUtils(JsonReaderConfig readerConfig, JsonWriterConfig writerConfig) {
-		this.mapperReader = readerConfig.getJsonMapper();
-		this.mapperWriter = writerConfig.getJsonMapper();
+		this.mapperReader = readerConfig.getObjectMapper();
+		this.mapperWriter = writerConfig.getObjectMapper();
 	}
     
-	private final JsonMapper mapperReader;
-	private final JsonMapper mapperWriter;
+	private final ObjectMapper mapperReader;
+	private final ObjectMapper mapperWriter;
+	private final CodecRegistry codecs = new CodecRegistry();
+	
+	/**
+	 * Create and cache the readers used to read the classes and the pretty printing writer, 
+	 * so the first read or write doesn't pay for the introspection of the classes (e.g. to be called at startup).
+	 */
+	public void prewarm(Class<?>... classes) {
+		for(Class<?> clazz : classes) {
+			reader(clazz);
+		}
+		prettyWriter();
+	}
 
     /**
      * JSON file starts with curly brackets
      */
 	public <T> T read(FileInfo fileInfo, Class<T> clazz) throws IOException {
     	try (InputStream fileInputStream = FileUtils.createFileInputStream(fileInfo)) {
-    		return mapperReader.readValue(fileInputStream, clazz);
+    		return reader(clazz).readValue(fileInputStream);
 		}
     }
 	
+    /**
+     * Read only the value at jsonPointer (e.g. /employees/0/address), the rest of the document is skipped 
+     * and the reading stops once the value has been found.
+     * 
+     * @return null if the document doesn't contain jsonPointer.
+     */
+	public <T> T read(FileInfo fileInfo, Class<T> clazz, String jsonPointer) throws IOException {
+		return clazz.cast(read(fileInfo, Map.<String, Class<?>>of(jsonPointer, clazz)).get(jsonPointer));
+	}
+	
+    /**
+     * Read only the values at the JSON Pointers, every one bound to its class, in a single pass: 
+     * the rest of the document is skipped and the reading stops once every value has been found.
+     * 
+     * @return the values by pointer, the pointers not contained in the document are not present.
+     */
+	public Map<String, Object> read(FileInfo fileInfo, Map<String, Class<?>> jsonPointers) throws IOException {
+		Map<String, ObjectReader> readers = new LinkedHashMap<>();
+		jsonPointers.forEach((jsonPointer, clazz) -> readers.put(jsonPointer, reader(clazz)));
+		try (JsonParser parser = mapperReader.createParser(FileUtils.createFileInputStream(fileInfo))) {
+			return new JsonPointerProjection(readers).read(parser);
+		}
+	}
+	
     /**
      * JSON file starts with square brackets
      */
@@ -64,8 +129,7 @@ public class JsonFileUtils {
      */
 	public <T> MappingIterator<T> iterator(FileInfo fileInfo, Class<T> clazz) throws IOException {
 		InputStream fileInputStream = FileUtils.createFileInputStream(fileInfo);
-        return mapperReader.readerFor(clazz)
-        			 	   .readValues(fileInputStream);
+        return reader(clazz).readValues(fileInputStream);
     }
 	
     /**
@@ -73,9 +137,7 @@ public class JsonFileUtils {
      */
     public <T> void write(FileInfo fileInfo, T object) throws IOException {
     	try (OutputStream fileOutputStream = FileUtils.createFileOutputStream(fileInfo)) {
-			mapperWriter.writer()
-						.with(prettyPrinter())
-						.writeValue(fileOutputStream, object);
+			prettyWriter().writeValue(fileOutputStream, object);
 		}
     }
     
@@ -84,12 +146,233 @@ public class JsonFileUtils {
      */
     public <T> void writeList(FileInfo fileInfo, List<T> objects) throws IOException {
     	try (OutputStream fileOutputStream = FileUtils.createFileOutputStream(fileInfo)) {
-			mapperWriter.writer()
-						.with(prettyPrinter())
-						.writeValue(fileOutputStream, objects);
+			prettyWriter().writeValue(fileOutputStream, objects);
 		}
     }
     
+    /**
+     * Write the elements as a JSON array one at a time, without keeping them all in memory.
+     * <br>
+     * If an element can not be read or written the file is deleted, instead of being left as a truncated array.
+     * 
+     * @param pretty if true, the array is written with the pretty printer.
+     */
+    public <T> void writeArray(FileInfo fileInfo, Iterator<? extends T> objects, boolean pretty) throws IOException {
+    	JsonArrayWriter<T> writer = arrayWriter(fileInfo, pretty, JsonArrayWriter.DEFAULT_FLUSH_INTERVAL);
+    	try {
+    		writer.writeAll(objects);
+    	} catch (IOException | RuntimeException e) {
+    		try {
+    			writer.abort();
+    			Files.deleteIfExists(FileUtils.createPath(fileInfo));
+    		} catch (IOException suppressed) {
+    			e.addSuppressed(suppressed);
+    		}
+    		throw e;
+    	}
+    	writer.close();
+    }
+    
+    /**
+     * Write the elements as a JSON array one at a time, without keeping them all in memory.
+     * <br>
+     * The stream is consumed sequentially, in encounter order.
+     * 
+     * @param pretty if true, the array is written with the pretty printer.
+     */
+    public <T> void writeArray(FileInfo fileInfo, Stream<? extends T> objects, boolean pretty) throws IOException {
+    	writeArray(fileInfo, objects.iterator(), pretty);
+    }
+    
+    /**
+     * Writer of a JSON array whose elements are written one at a time and flushed every flushInterval elements.
+     * <br>
+     * Remember to close the writer using <b>writer.close()</b> in order to write the end of the array and release any resources associated with it.
+     * 
+     * @param pretty if true, the array is written with the pretty printer.
+     */
+    public <T> JsonArrayWriter<T> arrayWriter(FileInfo fileInfo, boolean pretty, int flushInterval) throws IOException {
+    	return new JsonArrayWriter<>(arrayWriter(pretty), new BufferedOutputStream(FileUtils.createFileOutputStream(fileInfo)), flushInterval);
+    }
+    
+    /**
+     * JSON Lines file: one JSON value per line.
+     * <br>
+     * The file is split in chunks of about {@link JsonLinesSplitter#DEFAULT_CHUNK_SIZE} bytes on line boundaries, 
+     * every chunk is parsed by a different thread of the ForkJoinPool, the order of the lines is kept.
+     */
+    public <T> List<T> readLines(FileInfo fileInfo, Class<T> clazz) throws IOException {
+    	return readLines(fileInfo, clazz, JsonLinesSplitter.DEFAULT_CHUNK_SIZE);
+    }
+    
+    /**
+     * JSON Lines file: one JSON value per line.
+     * <br>
+     * The file is split in chunks of about chunkSize bytes on line boundaries, 
+     * every chunk is parsed by a different thread of the ForkJoinPool, the order of the lines is kept.
+     */
+    public <T> List<T> readLines(FileInfo fileInfo, Class<T> clazz, long chunkSize) throws IOException {
+    	requireText(mapperReader);
+    	List<long[]> chunks;
+    	try (FileChannel fileChannel = FileUtils.createFileChannel(fileInfo)) {
+    		chunks = JsonLinesSplitter.split(fileChannel, chunkSize);
+    	}
+    	ObjectReader reader = reader(clazz);
+    	try {
+    		return chunks.parallelStream()
+    					 .map(chunk -> JsonFileUtils.<T>readChunk(reader, fileInfo, chunk[0], chunk[1]))
+    					 .flatMap(List::stream)
+    					 .collect(Collectors.toList());
+    	} catch (UncheckedIOException e) {
+    		throw e.getCause();
+    	}
+    }
+    
+    /**
+     * JSON Lines file: one JSON value per line.
+     * 
+     * Remember to close the Reader usign <b>iterator.close()</b> in order to release any resources associated with it.
+     */
+    public <T> MappingIterator<T> linesIterator(FileInfo fileInfo, Class<T> clazz) throws IOException {
+    	InputStream fileInputStream = FileUtils.createFileInputStream(fileInfo);
+    	return reader(clazz).readValues(fileInputStream);
+    }
+    
+    /**
+     * JSON Lines file: every object is written compact on its own line.
+     * 
+     * @param append if true, the lines are added at the end of the file.
+     */
+    public <T> void writeLines(FileInfo fileInfo, List<T> objects, boolean append) throws IOException {
+    	try (JsonLinesWriter<T> writer = linesWriter(fileInfo, append)) {
+    		writer.writeAll(objects.iterator());
+    	}
+    }
+    
+    /**
+     * JSON Lines file: every object is written compact on its own line.
+     * <br>
+     * Remember to close the writer using <b>writer.close()</b> in order to flush the last lines and release any resources associated with it.
+     * 
+     * @param append if true, the lines are added at the end of the file.
+     */
+    public <T> JsonLinesWriter<T> linesWriter(FileInfo fileInfo, boolean append) throws IOException {
+    	requireText(mapperWriter);
+    	return new JsonLinesWriter<>(linesWriter(), new BufferedOutputStream(FileUtils.createFileOutputStream(fileInfo, append)));
+    }
+    
+    /**
+     * JSON file starts with square brackets
+     * <br>
+     * Parallel read of a big array in two phases: 
+     * a byte level pass over the memory mapped file finds the boundaries of the top level elements ({@link JsonArrayIndexer}), 
+     * then chunks of about {@link JsonArrayIndexer#DEFAULT_CHUNK_SIZE} bytes are bound by the threads of the ForkJoinPool.
+     * <br>
+     * An error reading a chunk is thrown by the terminal operation as UncheckedIOException.
+     * 
+     * @param ordered if false, the elements are returned in the order the chunks are bound, which is cheaper for the stream.
+     */
+    public <T> Stream<T> parallelStream(FileInfo fileInfo, Class<T> clazz, boolean ordered) throws IOException {
+    	return parallelStream(fileInfo, clazz, ordered, JsonArrayIndexer.DEFAULT_CHUNK_SIZE);
+    }
+    
+    /**
+     * JSON file starts with square brackets
+     * <br>
+     * Parallel read of a big array in two phases: 
+     * a byte level pass over the memory mapped file finds the boundaries of the top level elements ({@link JsonArrayIndexer}), 
+     * then chunks of about chunkSize bytes are bound by the threads of the ForkJoinPool.
+     * <br>
+     * An error reading a chunk is thrown by the terminal operation as UncheckedIOException.
+     * 
+     * @param ordered if false, the elements are returned in the order the chunks are bound, which is cheaper for the stream.
+     */
+    public <T> Stream<T> parallelStream(FileInfo fileInfo, Class<T> clazz, boolean ordered, long chunkSize) throws IOException {
+    	requireText(mapperReader);
+    	List<long[]> chunks;
+    	try (FileChannel fileChannel = FileUtils.createFileChannel(fileInfo)) {
+    		chunks = JsonArrayIndexer.split(fileChannel, chunkSize);
+    	}
+    	ObjectReader reader = reader(clazz);
+    	Stream<long[]> stream = ordered ? chunks.parallelStream() : chunks.parallelStream().unordered();
+    	return stream.map(chunk -> JsonFileUtils.<T>readArrayChunk(reader, fileInfo, chunk[0], chunk[1]))
+    				 .flatMap(List::stream);
+    }
+    
+    private static <T> List<T> readChunk(ObjectReader reader, FileInfo fileInfo, long start, long end) {
+    	try {
+    		return readAll(reader, FileUtils.createFileRangeInputStream(fileInfo, start, end));
+    	} catch (IOException e) {
+    		throw new UncheckedIOException(e);
+    	}
+    }
+    
+    /**
+     * the elements of the range are wrapped in square brackets, so they are read as an array
+     */
+    private static <T> List<T> readArrayChunk(ObjectReader reader, FileInfo fileInfo, long start, long end) {
+    	try {
+    		return readAll(reader, new SequenceInputStream(Collections.enumeration(List.of(
+    				new ByteArrayInputStream(ARRAY_START), 
+    				FileUtils.createFileRangeInputStream(fileInfo, start, end), 
+    				new ByteArrayInputStream(ARRAY_END)))));
+    	} catch (IOException e) {
+    		throw new UncheckedIOException(e);
+    	}
+    }
+    
+    private static <T> List<T> readAll(ObjectReader reader, InputStream inputStream) throws IOException {
+    	try (MappingIterator<T> iterator = reader.readValues(inputStream)) {
+    		return iterator.readAll();
+    	}
+    }
+    
+    /**
+     * JSON Lines and the structural index of arrays work on the bytes of the text encoding
+     */
+    private static void requireText(ObjectMapper mapper) {
+    	if(mapper.getFactory().canHandleBinaryNatively()) {
+    		throw new UnsupportedOperationException("Operation not supported by the binary format " + mapper.getFactory().getFormatName());
+    	}
+    }
+    
+    /**
+     * cached reader of clazz
+     */
+    private ObjectReader reader(Class<?> clazz) {
+    	return codecs.reader(CodecKey.of(clazz), key -> mapperReader.readerFor(clazz));
+    }
+    
+    /**
+     * cached writer with the pretty printer, the pretty printer is copied for every value written so it can be shared
+     */
+    private ObjectWriter prettyWriter() {
+    	return codecs.writer(CodecKey.of(Object.class, PRETTY), key -> mapperWriter.writer().with(prettyPrinter()));
+    }
+    
+    /**
+     * cached writer of JSON arrays written element by element, flushed by {@link JsonArrayWriter}
+     */
+    private ObjectWriter arrayWriter(boolean pretty) {
+    	if(pretty) {
+    		// resolved before, the registry must not be updated from inside its own mapping function
+    		ObjectWriter prettyWriter = prettyWriter();
+    		return codecs.writer(CodecKey.of(Object.class, ARRAY, PRETTY), key -> prettyWriter.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+    	}
+    	return codecs.writer(CodecKey.of(Object.class, ARRAY), key -> mapperWriter.writer()
+    																  .without(SerializationFeature.INDENT_OUTPUT)
+    																  .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+    }
+    
+    /**
+     * cached writer of JSON Lines: compact and flushed only when the buffer is full
+     */
+    private ObjectWriter linesWriter() {
+    	return codecs.writer(CodecKey.of(Object.class, LINES), key -> mapperWriter.writer()
+    																	  .without(SerializationFeature.INDENT_OUTPUT)
+    																	  .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+    }
+    
     private static DefaultPrettyPrinter prettyPrinter() {
     	DefaultPrettyPrinter prettyPrinter = new DefaultPrettyPrinter();        
         prettyPrinter.indentArraysWith(DefaultIndenter.SYSTEM_LINEFEED_INSTANCE);
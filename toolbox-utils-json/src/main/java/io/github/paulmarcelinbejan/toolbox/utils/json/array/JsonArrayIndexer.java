@@ -0,0 +1,107 @@
+package io.github.paulmarcelinbejan.toolbox.utils.json.array;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Structural index of a file that holds one JSON array: a single byte level pass finds the commas that separate the top level elements, 
+ * keeping track of the nesting depth and of strings (with their escapes), without tokenizing the values.
+ * <br>
+ * The file is mapped in memory through a window of {@link #WINDOW_SIZE} bytes, so files bigger than 2GB can be indexed.
+ * <br>
+ * Bytes of multi-byte UTF-8 characters are always greater than 0x7F, so they can never be mistaken for a structural character.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class JsonArrayIndexer {
+	
+	public static final long DEFAULT_CHUNK_SIZE = 8L * 1024 * 1024;
+	
+	private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+	
+	/**
+	 * @return the ranges [start, end) of chunks of about chunkSize bytes, every range holds whole top level elements separated by commas 
+	 * (without the brackets of the array), an empty array has no ranges.
+	 * @throws IOException if the file doesn't hold a JSON array or if the array is not closed.
+	 */
+	public static List<long[]> split(FileChannel channel, long chunkSize) throws IOException {
+		if(chunkSize <= 0) {
+			throw new IllegalArgumentException("chunkSize must be greater than zero");
+		}
+		long size = channel.size();
+		List<long[]> chunks = new ArrayList<>();
+		
+		int depth = 0;
+		boolean inString = false;
+		boolean escaped = false;
+		boolean empty = true;
+		long chunkStart = -1;
+		
+		for(long windowStart = 0; windowStart < size; windowStart += WINDOW_SIZE) {
+			int windowSize = (int) Math.min(WINDOW_SIZE, size - windowStart);
+			MappedByteBuffer window = channel.map(MapMode.READ_ONLY, windowStart, windowSize);
+			for(int i = 0; i < windowSize; i++) {
+				byte current = window.get(i);
+				if(inString) {
+					if(escaped) {
+						escaped = false;
+					} else if(current == '\\') {
+						escaped = true;
+					} else if(current == '"') {
+						inString = false;
+					}
+					continue;
+				}
+				long position = windowStart + i;
+				if(chunkStart < 0) {
+					if(current == '[') {
+						chunkStart = position + 1;
+						depth = 1;
+					} else if(!isWhitespace(current)) {
+						throw new IOException("The file doesn't hold a JSON array, found '" + (char) current + "' at offset " + position);
+					}
+					continue;
+				}
+				if(!isWhitespace(current)) {
+					empty = empty && current == ']' && depth == 1;
+				}
+				switch(current) {
+					case '"':
+						inString = true;
+						break;
+					case '[', '{':
+						depth++;
+						break;
+					case ']', '}':
+						if(--depth == 0) {
+							if(!empty) {
+								chunks.add(new long[] { chunkStart, position });
+							}
+							return chunks;
+						}
+						break;
+					case ',':
+						if(depth == 1 && position - chunkStart >= chunkSize) {
+							chunks.add(new long[] { chunkStart, position });
+							chunkStart = position + 1;
+						}
+						break;
+					default:
+						break;
+				}
+			}
+		}
+		throw new IOException("The JSON array is not closed");
+	}
+	
+	private static boolean isWhitespace(byte current) {
+		return current == ' ' || current == '\n' || current == '\r' || current == '\t';
+	}
+	
+}
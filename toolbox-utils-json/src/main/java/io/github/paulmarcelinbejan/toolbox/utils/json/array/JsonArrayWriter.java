@@ -0,0 +1,89 @@
+package io.github.paulmarcelinbejan.toolbox.utils.json.array;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import lombok.NonNull;
+
+/**
+ * Writer of a JSON array whose elements are serialized one at a time, so only the current element is kept in memory.
+ * <br>
+ * The output is flushed every flushInterval elements instead of after every element.
+ * <br>
+ * Remember to close the writer using <b>writer.close()</b> in order to write the end of the array and release any resources associated with it, 
+ * or <b>writer.abort()</b> when the export fails, so the output is not left as a well-formed but truncated array.
+ */
+public class JsonArrayWriter<T> implements Closeable, Flushable {
+	
+	public static final int DEFAULT_FLUSH_INTERVAL = 1000;
+	
+	/**
+	 * @param objectWriter writer without FLUSH_AFTER_WRITE_VALUE, otherwise every element is flushed.
+	 * @param outputStream closed by the writer, also when the constructor fails.
+	 */
+	public JsonArrayWriter(@NonNull final ObjectWriter objectWriter, @NonNull final OutputStream outputStream, int flushInterval) throws IOException {
+		try {
+			if(flushInterval <= 0) {
+				throw new IllegalArgumentException("flushInterval must be greater than zero");
+			}
+			this.sequenceWriter = objectWriter.writeValuesAsArray(outputStream);
+		} catch (IOException | RuntimeException e) {
+			outputStream.close();
+			throw e;
+		}
+		this.outputStream = outputStream;
+		this.flushInterval = flushInterval;
+	}
+	
+	private final SequenceWriter sequenceWriter;
+	
+	private final OutputStream outputStream;
+	
+	private final int flushInterval;
+	
+	private long written;
+	
+	public void write(T value) throws IOException {
+		sequenceWriter.write(value);
+		if(++written % flushInterval == 0) {
+			sequenceWriter.flush();
+		}
+	}
+	
+	public void writeAll(Iterator<? extends T> values) throws IOException {
+		while(values.hasNext()) {
+			write(values.next());
+		}
+	}
+	
+	/**
+	 * Number of elements written.
+	 */
+	public long getWritten() {
+		return written;
+	}
+	
+	@Override
+	public void flush() throws IOException {
+		sequenceWriter.flush();
+	}
+	
+	@Override
+	public void close() throws IOException {
+		sequenceWriter.close();
+	}
+	
+	/**
+	 * Release the resources without writing the end of the array, the elements not flushed yet are discarded.
+	 */
+	public void abort() throws IOException {
+		outputStream.close();
+	}
+	
+}
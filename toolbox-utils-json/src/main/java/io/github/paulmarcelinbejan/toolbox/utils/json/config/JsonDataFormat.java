@@ -0,0 +1,49 @@
+package io.github.paulmarcelinbejan.toolbox.utils.json.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Encoding of the files read and written by JsonFileUtils.
+ * <br>
+ * SMILE and CBOR are binary encodings of the same data model of JSON: the files are smaller and faster to read and write, 
+ * but they can't be read by a human, so they fit files read only by machines (e.g. caches and snapshots).
+ */
+public enum JsonDataFormat {
+	
+	TEXT,
+	
+	/**
+	 * Binary JSON with a header that identifies it.
+	 */
+	SMILE,
+	
+	/**
+	 * Concise Binary Object Representation (RFC 8949).
+	 * <br>
+	 * Back-references are not written: the parser can not resolve string references after skipping values, as reads by JSON Pointer do.
+	 */
+	CBOR;
+	
+	/**
+	 * @param backReferences if true, with SMILE repeated field names and short string values are written once and then referenced. 
+	 * The readers resolve the references whatever the value.
+	 */
+	ObjectMapper newObjectMapper(boolean backReferences) {
+		switch(this) {
+			case SMILE:
+				return SmileMapper.builder()
+								  .configure(SmileGenerator.Feature.CHECK_SHARED_NAMES, backReferences)
+								  .configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, backReferences)
+								  .build();
+			case CBOR:
+				return new CBORMapper();
+			default:
+				return new JsonMapper();
+		}
+	}
+	
+}
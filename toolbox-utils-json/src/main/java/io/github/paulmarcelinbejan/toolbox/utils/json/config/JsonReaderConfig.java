@@ -7,9 +7,11 @@ import java.util.Map;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 
 import io.github.paulmarcelinbejan.toolbox.utils.jackson.ObjectMapperUtils;
+import io.github.paulmarcelinbejan.toolbox.utils.jackson.config.AccelerationConfig;
 import lombok.Getter;
 
 public class JsonReaderConfig {
@@ -20,11 +22,35 @@ public class JsonReaderConfig {
 			List<Module> modules,
 			Map<Class<?>, JsonDeserializer<?>> deserializers) {
 		
-		this.jsonMapper = buildJsonMapper(
+		this(JsonDataFormat.TEXT, 
+				enableDeserializationFeatures, 
+				disableDeserializationFeatures, 
+				modules, 
+				deserializers, 
+				AccelerationConfig.DISABLED);
+	
+	}
+	
+	/**
+	 * @param dataFormat encoding of the files to read, with SMILE or CBOR the files are binary.
+	 * @param acceleration if enabled, the Blackbird module is registered when it round trips the samples.
+	 */
+	public JsonReaderConfig(
+			JsonDataFormat dataFormat,
+			List<DeserializationFeature> enableDeserializationFeatures,
+			List<DeserializationFeature> disableDeserializationFeatures,
+			List<Module> modules,
+			Map<Class<?>, JsonDeserializer<?>> deserializers,
+			AccelerationConfig acceleration) {
+		
+		this.dataFormat = dataFormat;
+		this.objectMapper = buildObjectMapper(
+				dataFormat, 
 				enableDeserializationFeatures, 
 				disableDeserializationFeatures, 
 				modules, 
 				deserializers);
+		this.accelerated = ObjectMapperUtils.accelerate(objectMapper, acceleration);
 	
 	}
 	
@@ -35,21 +61,43 @@ public class JsonReaderConfig {
 			Collections.emptyMap());
 	
 	@Getter
-	private final JsonMapper jsonMapper;
+	private final JsonDataFormat dataFormat;
+	
+	@Getter
+	private final ObjectMapper objectMapper;
+	
+	/**
+	 * @deprecated use {@link #getObjectMapper()}, which returns the mapper of every dataFormat.
+	 * @throws UnsupportedOperationException if the dataFormat is binary.
+	 */
+	@Deprecated
+	public JsonMapper getJsonMapper() {
+		if(dataFormat != JsonDataFormat.TEXT) {
+			throw new UnsupportedOperationException("The mapper of " + dataFormat + " is not a JsonMapper, use getObjectMapper()");
+		}
+		return (JsonMapper) objectMapper;
+	}
+	
+	/**
+	 * true if the Blackbird module has been registered.
+	 */
+	@Getter
+	private final boolean accelerated;
 	
-	private static JsonMapper buildJsonMapper(
+	private static ObjectMapper buildObjectMapper(
+			JsonDataFormat dataFormat,
 			List<DeserializationFeature> enableDeserializationFeatures,
 			List<DeserializationFeature> disableDeserializationFeatures,
 			List<Module> modules,
 			Map<Class<?>, JsonDeserializer<?>> deserializers) {
 
-		JsonMapper mapper = new JsonMapper();
-		configureJsonMapper(mapper, enableDeserializationFeatures, disableDeserializationFeatures, modules, deserializers);
+		ObjectMapper mapper = dataFormat.newObjectMapper(false);
+		configureObjectMapper(mapper, enableDeserializationFeatures, disableDeserializationFeatures, modules, deserializers);
 		return mapper;
 		
 	}
 	
-	private static void configureJsonMapper(JsonMapper mapper,
+	private static void configureObjectMapper(ObjectMapper mapper,
 			List<DeserializationFeature> enableDeserializationFeatures,
 			List<DeserializationFeature> disableDeserializationFeatures,
 			List<Module> modules,
@@ -7,6 +7,7 @@ import java.util.Map;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 
 import io.github.paulmarcelinbejan.toolbox.utils.jackson.ObjectMapperUtils;
@@ -20,7 +21,31 @@ public class JsonWriterConfig {
 			List<Module> modules,
 			Map<Class<?>, JsonSerializer<?>> serializers) {
 		
-		this.jsonMapper = buildJsonMapper(
+		this(JsonDataFormat.TEXT, 
+				false, 
+				enableSerializationFeatures, 
+				disableSerializationFeatures, 
+				modules, 
+				serializers);
+		
+	}
+	
+	/**
+	 * @param dataFormat encoding of the files to write, with SMILE or CBOR the files are binary and the pretty printer is ignored.
+	 * @param backReferences if true, with SMILE repeated field names and short string values are written once and then referenced.
+	 */
+	public JsonWriterConfig(
+			JsonDataFormat dataFormat,
+			boolean backReferences,
+			List<SerializationFeature> enableSerializationFeatures,
+			List<SerializationFeature> disableSerializationFeatures,
+			List<Module> modules,
+			Map<Class<?>, JsonSerializer<?>> serializers) {
+		
+		this.dataFormat = dataFormat;
+		this.objectMapper = buildObjectMapper(
+				dataFormat, 
+				backReferences, 
 				enableSerializationFeatures, 
 				disableSerializationFeatures, 
 				modules, 
@@ -35,24 +60,41 @@ public class JsonWriterConfig {
 			Collections.emptyMap());
 	
 	@Getter
-	private final JsonMapper jsonMapper;
+	private final JsonDataFormat dataFormat;
+	
+	@Getter
+	private final ObjectMapper objectMapper;
+	
+	/**
+	 * @deprecated use {@link #getObjectMapper()}, which returns the mapper of every dataFormat.
+	 * @throws UnsupportedOperationException if the dataFormat is binary.
+	 */
+	@Deprecated
+	public JsonMapper getJsonMapper() {
+		if(dataFormat != JsonDataFormat.TEXT) {
+			throw new UnsupportedOperationException("The mapper of " + dataFormat + " is not a JsonMapper, use getObjectMapper()");
+		}
+		return (JsonMapper) objectMapper;
+	}
 	
 	/**
-	 * return a JsonMapper configured with serializers (if any)
+	 * return an ObjectMapper of dataFormat configured with serializers (if any)
 	 */
-	private static JsonMapper buildJsonMapper(
+	private static ObjectMapper buildObjectMapper(
+			JsonDataFormat dataFormat,
+			boolean backReferences,
 			List<SerializationFeature> enableSerializationFeatures,
 			List<SerializationFeature> disableSerializationFeatures,
 			List<Module> modules,
 			Map<Class<?>, JsonSerializer<?>> serializers) {
 		
-		JsonMapper mapper = new JsonMapper();
-		configureJsonMapper(mapper, enableSerializationFeatures, disableSerializationFeatures, modules, serializers);
+		ObjectMapper mapper = dataFormat.newObjectMapper(backReferences);
+		configureObjectMapper(mapper, enableSerializationFeatures, disableSerializationFeatures, modules, serializers);
 		return mapper;
 		
 	}
 	
-	private static void configureJsonMapper(JsonMapper mapper, 
+	private static void configureObjectMapper(ObjectMapper mapper, 
 			List<SerializationFeature> enableSerializationFeatures,
 			List<SerializationFeature> disableSerializationFeatures,
 			List<Module> modules,
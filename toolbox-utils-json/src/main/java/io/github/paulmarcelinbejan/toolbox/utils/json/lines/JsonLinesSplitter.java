@@ -0,0 +1,66 @@
+package io.github.paulmarcelinbejan.toolbox.utils.json.lines;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Split a JSON Lines file into byte ranges that start and end on a line boundary.
+ * <br>
+ * A line feed can never be part of a JSON value (inside strings it is escaped), so every line feed is a record boundary.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class JsonLinesSplitter {
+	
+	public static final long DEFAULT_CHUNK_SIZE = 8L * 1024 * 1024;
+	
+	private static final int BUFFER_SIZE = 8 * 1024;
+	
+	private static final byte LINE_FEED = '\n';
+	
+	/**
+	 * @return the ranges [start, end) of chunks of about chunkSize bytes, every range but the last one ends right after a line feed.
+	 */
+	public static List<long[]> split(FileChannel channel, long chunkSize) throws IOException {
+		if(chunkSize <= 0) {
+			throw new IllegalArgumentException("chunkSize must be greater than zero");
+		}
+		long size = channel.size();
+		List<long[]> chunks = new ArrayList<>();
+		long start = 0;
+		while(start < size) {
+			long end = start + chunkSize >= size ? size : findLineEnd(channel, start + chunkSize, size);
+			chunks.add(new long[] { start, end });
+			start = end;
+		}
+		return chunks;
+	}
+	
+	/**
+	 * @return the position right after the first line feed at or after from, or size if there are none.
+	 */
+	private static long findLineEnd(FileChannel channel, long from, long size) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		long position = from;
+		while(position < size) {
+			buffer.clear();
+			int read = channel.read(buffer, position);
+			if(read <= 0) {
+				break;
+			}
+			for(int i = 0; i < read; i++) {
+				if(buffer.get(i) == LINE_FEED) {
+					return position + i + 1;
+				}
+			}
+			position += read;
+		}
+		return size;
+	}
+	
+}
@@ -0,0 +1,59 @@
+package io.github.paulmarcelinbejan.toolbox.utils.json.lines;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import lombok.NonNull;
+
+/**
+ * Writer of JSON Lines: every value is written compact on its own line, terminated by a line feed.
+ * <br>
+ * Since every line is complete, a file can be extended just by opening it in append mode.
+ * <br>
+ * Remember to close the writer using <b>writer.close()</b> in order to flush the last values and release any resources associated with it.
+ */
+public class JsonLinesWriter<T> implements Closeable, Flushable {
+	
+	private static final char LINE_FEED = '\n';
+	
+	/**
+	 * @param objectWriter writer without pretty printer, the lines are separated only by the line feed.
+	 */
+	public JsonLinesWriter(@NonNull final ObjectWriter objectWriter, @NonNull final OutputStream outputStream) throws IOException {
+		this.objectWriter = objectWriter;
+		this.generator = objectWriter.createGenerator(outputStream);
+		this.generator.setRootValueSeparator(null);
+	}
+	
+	private final ObjectWriter objectWriter;
+	
+	private final JsonGenerator generator;
+	
+	public void write(T value) throws IOException {
+		objectWriter.writeValue(generator, value);
+		generator.writeRaw(LINE_FEED);
+	}
+	
+	public void writeAll(Iterator<? extends T> values) throws IOException {
+		while(values.hasNext()) {
+			write(values.next());
+		}
+	}
+	
+	@Override
+	public void flush() throws IOException {
+		generator.flush();
+	}
+	
+	@Override
+	public void close() throws IOException {
+		generator.close();
+	}
+	
+}
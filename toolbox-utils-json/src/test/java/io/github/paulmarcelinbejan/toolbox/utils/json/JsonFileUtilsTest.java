@@ -1,24 +1,52 @@
 package io.github.paulmarcelinbejan.toolbox.utils.json;
 
 import static io.github.paulmarcelinbejan.toolbox.utils.io.config.FileType.JSON;
+import static io.github.paulmarcelinbejan.toolbox.utils.io.config.FileType.NDJSON;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 
 import io.github.paulmarcelinbejan.toolbox.utils.io.FileUtils;
 import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileType;
 import io.github.paulmarcelinbejan.toolbox.utils.io.enums.DirectoryPath;
+import io.github.paulmarcelinbejan.toolbox.utils.jackson.config.AccelerationConfig;
 import io.github.paulmarcelinbejan.toolbox.utils.json.JsonFileUtils;
+import io.github.paulmarcelinbejan.toolbox.utils.json.config.JsonDataFormat;
+import io.github.paulmarcelinbejan.toolbox.utils.json.config.JsonReaderConfig;
+import io.github.paulmarcelinbejan.toolbox.utils.json.config.JsonWriterConfig;
 import io.github.paulmarcelinbejan.toolbox.utils.json.dummy.Employee;
 
 class JsonFileUtilsTest {
 
+	/**
+	 * files generated by the tests, they are not kept in src/test/resources.
+	 */
+	@TempDir
+	Path directory;
+
 	@Test
 	void testReadOne() throws IOException {
 		JsonFileUtils json = new JsonFileUtils();
@@ -36,6 +64,58 @@ class JsonFileUtilsTest {
 		assertEquals(3, employees.size());
 	}
 	
+	@Test
+	void testReadPointer() throws IOException {
+		JsonFileUtils json = new JsonFileUtils();
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "company", JSON);
+		Employee employee = json.read(fileInfo, Employee.class, "/employees/1");
+		assertEquals("Mario", employee.getFirstName());
+		assertNull(json.read(fileInfo, Employee.class, "/employees/2"));
+		
+		Map<String, Class<?>> pointers = new LinkedHashMap<>();
+		pointers.put("/address/city", String.class);
+		pointers.put("/employees", JsonNode.class);
+		pointers.put("/employees/0/lastName", String.class);
+		pointers.put("/missing", String.class);
+		Map<String, Object> values = json.read(fileInfo, pointers);
+		assertEquals(3, values.size());
+		assertEquals("Milano", values.get("/address/city"));
+		assertEquals(2, ((JsonNode) values.get("/employees")).size());
+		assertEquals("Bejan", values.get("/employees/0/lastName"));
+	}
+	
+	@Test
+	void testAccelerated() throws IOException {
+		JsonReaderConfig readerConfig = new JsonReaderConfig(
+				JsonDataFormat.TEXT, 
+				Collections.emptyList(), 
+				Collections.emptyList(), 
+				Collections.emptyList(), 
+				Collections.emptyMap(), 
+				AccelerationConfig.blackbird(new Employee("Paul", "P")));
+		assertTrue(readerConfig.isAccelerated());
+		
+		JsonFileUtils json = new JsonFileUtils(readerConfig, JsonWriterConfig.DEFAULT);
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "employees", JSON);
+		assertEquals(3, json.readList(fileInfo, Employee.class).size());
+		assertFalse(JsonReaderConfig.DEFAULT.isAccelerated());
+	}
+	
+	@Test
+	void testNotAccelerated() {
+		// a sample that can be serialized but not deserialized fails the round trip
+		JsonReaderConfig readerConfig = new JsonReaderConfig(
+				JsonDataFormat.TEXT, 
+				Collections.emptyList(), 
+				Collections.emptyList(), 
+				Collections.emptyList(), 
+				Collections.emptyMap(), 
+				AccelerationConfig.blackbird(new Employee("Paul", "P"), new WithoutCreator("Paul")));
+		assertFalse(readerConfig.isAccelerated());
+		
+		assertThrows(IllegalArgumentException.class, () -> AccelerationConfig.blackbird());
+	}
+	
 	@Test
 	void testWriteOne() {
 		Employee employee = new Employee("Paul", "P");
@@ -62,4 +142,118 @@ class JsonFileUtilsTest {
 		assertDoesNotThrow(() -> FileUtils.createFileReader(fileInfo));
 	}
 	
+	@Test
+	void testWriteArray() throws IOException {
+		JsonFileUtils json = new JsonFileUtils();
+		FileInfo fileInfo = new FileInfo(directory.toString() + "/", "employeesStreamedByJava", JSON);
+		json.writeArray(fileInfo, IntStream.range(0, 2500).mapToObj(i -> new Employee("firstName" + i, "lastName" + i)), true);
+		
+		List<Employee> employees = json.readList(fileInfo, Employee.class);
+		assertEquals(2500, employees.size());
+		assertEquals("firstName2499", employees.get(2499).getFirstName());
+		
+		json.writeArray(fileInfo, Collections.<Employee>emptyIterator(), false);
+		assertEquals(0, json.readList(fileInfo, Employee.class).size());
+	}
+	
+	@Test
+	void testWriteArrayFailure() {
+		JsonFileUtils json = new JsonFileUtils();
+		FileInfo fileInfo = new FileInfo(directory.toString() + "/", "employeesFailed", JSON);
+		Iterator<Employee> failing = IntStream.range(0, 5000)
+											  .mapToObj(i -> {
+												  if(i == 4000) {
+													  throw new IllegalStateException("source failed");
+												  }
+												  return new Employee("firstName" + i, "lastName" + i);
+											  })
+											  .iterator();
+		
+		// the partial file is deleted instead of being left as a well-formed but truncated array
+		assertThrows(IllegalStateException.class, () -> json.writeArray(fileInfo, failing, false));
+		assertFalse(Files.exists(FileUtils.createPath(fileInfo)));
+	}
+	
+	@Test
+	void testParallelStream() throws IOException {
+		JsonFileUtils json = new JsonFileUtils();
+		FileInfo fileInfo = new FileInfo(directory.toString() + "/", "employeesIndexedByJava", JSON);
+		json.writeArray(fileInfo, IntStream.range(0, 2000).mapToObj(i -> new Employee("firstName" + i, "[{\"x\\\" ,}]" + i)), true);
+		
+		List<Employee> employees = json.parallelStream(fileInfo, Employee.class, true, 256).toList();
+		assertEquals(2000, employees.size());
+		for(int i = 0; i < employees.size(); i++) {
+			assertEquals("firstName" + i, employees.get(i).getFirstName());
+			assertEquals("[{\"x\\\" ,}]" + i, employees.get(i).getLastName());
+		}
+		assertEquals(2000, json.parallelStream(fileInfo, Employee.class, false, 256).map(Employee::getFirstName).distinct().count());
+		
+		json.writeArray(fileInfo, Collections.<Employee>emptyIterator(), true);
+		assertEquals(0, json.parallelStream(fileInfo, Employee.class, true).count());
+	}
+	
+	@Test
+	@SuppressWarnings("deprecation")
+	void testBinary() throws IOException {
+		List<Employee> employees = IntStream.range(0, 100).mapToObj(i -> new Employee("firstName" + i, "lastName")).toList();
+		FileInfo text = new FileInfo(directory.toString() + "/", "employeesSnapshot", JSON);
+		new JsonFileUtils().writeList(text, employees);
+		
+		assertSame(JsonReaderConfig.DEFAULT.getObjectMapper(), JsonReaderConfig.DEFAULT.getJsonMapper());
+		assertSame(JsonWriterConfig.DEFAULT.getObjectMapper(), JsonWriterConfig.DEFAULT.getJsonMapper());
+		
+		for(JsonDataFormat dataFormat : List.of(JsonDataFormat.SMILE, JsonDataFormat.CBOR)) {
+			FileInfo fileInfo = new FileInfo(directory.toString() + "/", "employeesSnapshot", FileType.valueOf(dataFormat.name()));
+			JsonReaderConfig readerConfig = new JsonReaderConfig(dataFormat, Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyMap(), AccelerationConfig.DISABLED);
+			JsonWriterConfig writerConfig = new JsonWriterConfig(dataFormat, true, Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyMap());
+			assertThrows(UnsupportedOperationException.class, readerConfig::getJsonMapper);
+			assertThrows(UnsupportedOperationException.class, writerConfig::getJsonMapper);
+			
+			JsonFileUtils json = new JsonFileUtils(readerConfig, writerConfig);
+			json.writeList(fileInfo, employees);
+			
+			assertEquals(employees, json.readList(fileInfo, Employee.class));
+			try (MappingIterator<Employee> iterator = json.iterator(fileInfo, Employee.class)) {
+				assertEquals(employees.get(0), iterator.next());
+			}
+			assertEquals("firstName1", json.read(fileInfo, String.class, "/1/firstName"));
+			assertTrue(Files.size(FileUtils.createPath(fileInfo)) < Files.size(FileUtils.createPath(text)));
+			assertThrows(UnsupportedOperationException.class, () -> json.parallelStream(fileInfo, Employee.class, true));
+		}
+	}
+	
+	@Test
+	void testLines() throws IOException {
+		List<Employee> first = IntStream.range(0, 500).mapToObj(i -> new Employee("firstName" + i, "lastName" + i)).toList();
+		List<Employee> second = IntStream.range(500, 1000).mapToObj(i -> new Employee("firstName" + i, "lastName" + i)).toList();
+		JsonFileUtils json = new JsonFileUtils();
+		FileInfo fileInfo = new FileInfo(directory.toString() + "/", "employeesWrittenByJava", NDJSON);
+		json.writeLines(fileInfo, first, false);
+		json.writeLines(fileInfo, second, true);
+		
+		List<Employee> employees = json.readLines(fileInfo, Employee.class, 1024);
+		assertEquals(1000, employees.size());
+		for(int i = 0; i < employees.size(); i++) {
+			assertEquals("firstName" + i, employees.get(i).getFirstName());
+		}
+		
+		try (MappingIterator<Employee> iterator = json.linesIterator(fileInfo, Employee.class)) {
+			assertEquals("firstName0", iterator.next().getFirstName());
+		}
+	}
+	
+	private static class WithoutCreator {
+		
+		private final String name;
+		
+		WithoutCreator(String name) {
+			this.name = name;
+		}
+		
+		public String getName() {
+			return name;
+		}
+		
+	}
+	
 }
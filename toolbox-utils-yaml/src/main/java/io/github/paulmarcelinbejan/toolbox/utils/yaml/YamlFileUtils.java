@@ -8,13 +8,20 @@ import static io.github.paulmarcelinbejan.toolbox.utils.yaml.config.YamlPrefixTy
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Function;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 
 import io.github.paulmarcelinbejan.toolbox.utils.io.FileUtils;
 import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+import io.github.paulmarcelinbejan.toolbox.utils.jackson.codec.CodecKey;
+import io.github.paulmarcelinbejan.toolbox.utils.jackson.codec.CodecRegistry;
+import io.github.paulmarcelinbejan.toolbox.utils.jackson.pointer.JsonPointerProjection;
 import io.github.paulmarcelinbejan.toolbox.utils.yaml.config.YamlFileUtilsConfig;
 import io.github.paulmarcelinbejan.toolbox.utils.yaml.config.YamlPrefixType;
 import io.github.paulmarcelinbejan.toolbox.utils.yaml.config.YamlReaderConfig;
@@ -43,13 +50,25 @@ public class YamlFileUtils {
 	
 	private final YAMLMapper mapperReader;
 	private final YAMLMapper mapperWriter;
+	private final CodecRegistry codecs = new CodecRegistry();
+	
+	/**
+	 * Create and cache the readers and writers of the classes, 
+	 * so the first read or write doesn't pay for the introspection of the classes (e.g. to be called at startup).
+	 */
+	public void prewarm(@NonNull final Class<?>... classes) {
+		for(Class<?> clazz : classes) {
+			reader(clazz, null);
+			writer(clazz, null);
+		}
+	}
 	
 	/**
 	 *  Read YAML file
 	 */
     public <T> T read(@NonNull FileInfo fileInfo, Class<T> clazz) throws IOException {
     	try (InputStream fileInputStream = FileUtils.createFileInputStream(fileInfo)) {
-    		return readValueWithoutPrefix(mapperReader, fileInputStream, clazz);
+    		return readValueWithoutPrefix(fileInputStream, clazz);
 		}
 	}
 	
@@ -61,41 +80,81 @@ public class YamlFileUtils {
 	 */
     public <T> T read(FileInfo fileInfo, Class<T> clazz, String prefix, YamlPrefixType yamlPrefixType) throws IOException {
     	try (InputStream fileInputStream = FileUtils.createFileInputStream(fileInfo)) {
-    		return readValueWithPrefix(mapperReader, fileInputStream, clazz, prefix, yamlPrefixType);
+    		return readValueWithPrefix(fileInputStream, clazz, prefix, yamlPrefixType);
 		}
 	}
     
+	/**
+	 *  Read the parts of the YAML file under every prefix, each bound to its class, parsing the file once.
+	 *  
+	 *  <br> The subtrees that are not under a prefix are skipped and the parsing stops once every prefix has been found.
+	 *  <br> The format of the prefixes can be the same used for {@link org.springframework.boot.context.properties.ConfigurationProperties ConfigurationProperties}
+	 *  
+	 *  @return the values by prefix, the prefixes not present in the file are not in the map.
+	 */
+    public Map<String, Object> read(FileInfo fileInfo, Map<String, Class<?>> prefixes, YamlPrefixType yamlPrefixType) throws IOException {
+    	Map<String, ObjectReader> readers = new LinkedHashMap<>();
+    	prefixes.forEach((prefix, clazz) -> readers.put(fixPrefix(prefix, yamlPrefixType), reader(clazz, null)));
+    	
+    	Map<String, Object> valuesByPointer;
+    	try (JsonParser parser = mapperReader.createParser(FileUtils.createFileInputStream(fileInfo))) {
+    		valuesByPointer = new JsonPointerProjection(readers).read(parser);
+    	}
+    	
+    	Map<String, Object> values = new LinkedHashMap<>();
+    	for(String prefix : prefixes.keySet()) {
+    		String pointer = fixPrefix(prefix, yamlPrefixType);
+    		if(valuesByPointer.containsKey(pointer)) {
+    			values.put(prefix, valuesByPointer.get(pointer));
+    		}
+    	}
+    	return values;
+    }
+    
     public <T> void write(FileInfo fileInfo, Class<T> clazz, T value) throws IOException {
     	try (OutputStream fileOutputStream = FileUtils.createFileOutputStream(fileInfo)) {
-    		writeValueWithoutPrefix(mapperWriter, fileOutputStream, clazz, value);
+    		writeValueWithoutPrefix(fileOutputStream, clazz, value);
 		}
     }
     
     public <T> void write(FileInfo fileInfo, Class<T> clazz, T value, String prefix, YamlPrefixType yamlPrefixType) throws IOException {
     	try (OutputStream fileOutputStream = FileUtils.createFileOutputStream(fileInfo)) {
-    		writeValueWithPrefix(mapperWriter, fileOutputStream, clazz, value, prefix, yamlPrefixType);
+    		writeValueWithPrefix(fileOutputStream, clazz, value, prefix, yamlPrefixType);
 		}
     }
 	
-    private static <T> T readValueWithoutPrefix(YAMLMapper mapper, InputStream inputStream, Class<T> clazz) throws IOException {
-        return mapper.readValue(inputStream, clazz);
+    private <T> T readValueWithoutPrefix(InputStream inputStream, Class<T> clazz) throws IOException {
+        return reader(clazz, null).readValue(inputStream);
+    }
+    
+    private <T> T readValueWithPrefix(InputStream inputStream, Class<T> clazz, String prefix, YamlPrefixType yamlPrefixType) throws IOException {
+        return reader(clazz, fixPrefix(prefix, yamlPrefixType)).readValue(inputStream);
     }
     
-    private static <T> T readValueWithPrefix(YAMLMapper mapper, InputStream inputStream, Class<T> clazz, String prefix, YamlPrefixType yamlPrefixType) throws IOException {
-        return mapper.readerFor(clazz)
-                     .at(fixPrefix(prefix, yamlPrefixType))
-                     .readValue(inputStream);
+    private <T> void writeValueWithoutPrefix(OutputStream outputStream, Class<T> clazz, T value) throws IOException {
+        writer(clazz, null).writeValue(outputStream, value);
     }
     
-    private static <T> void writeValueWithoutPrefix(YAMLMapper mapper, OutputStream outputStream, Class<T> clazz, T value) throws IOException {
-        mapper.writerFor(clazz)
-  	  		  .writeValue(outputStream, value);
+    private <T> void writeValueWithPrefix(OutputStream outputStream, Class<T> clazz, T value, String prefix, YamlPrefixType yamlPrefixType) throws IOException {
+        writer(clazz, fixPrefix(prefix, yamlPrefixType)).writeValue(outputStream, value);
     }
     
-    private static <T> void writeValueWithPrefix(YAMLMapper mapper, OutputStream outputStream, Class<T> clazz, T value, String prefix, YamlPrefixType yamlPrefixType) throws IOException {
-        mapper.writerFor(clazz)
-        	  .withRootName(fixPrefix(prefix, yamlPrefixType))
-              .writeValue(outputStream, value);
+    /**
+     * cached reader of clazz, positioned at pointer if not null
+     */
+    private ObjectReader reader(Class<?> clazz, String pointer) {
+    	return codecs.reader(CodecKey.of(clazz, pointer), key -> pointer == null 
+    			? mapperReader.readerFor(clazz) 
+    			: mapperReader.readerFor(clazz).at(pointer));
+    }
+    
+    /**
+     * cached writer of clazz, wrapped in rootName if not null
+     */
+    private ObjectWriter writer(Class<?> clazz, String rootName) {
+    	return codecs.writer(CodecKey.of(clazz, rootName), key -> rootName == null 
+    			? mapperWriter.writerFor(clazz) 
+    			: mapperWriter.writerFor(clazz).withRootName(rootName));
     }
     
     /**
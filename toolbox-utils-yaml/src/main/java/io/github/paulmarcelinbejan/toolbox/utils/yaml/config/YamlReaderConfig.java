@@ -16,6 +16,7 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 
 import io.github.paulmarcelinbejan.toolbox.utils.jackson.ObjectMapperUtils;
+import io.github.paulmarcelinbejan.toolbox.utils.jackson.config.AccelerationConfig;
 import lombok.Getter;
 
 public class YamlReaderConfig {
@@ -28,6 +29,27 @@ public class YamlReaderConfig {
 			List<Module> modules,
 			Map<Class<?>, JsonDeserializer<?>> deserializers) {
 		
+		this(enableYamlGeneratorFeatures, 
+				disableYamlGeneratorFeatures, 
+				enableDeserializationFeatures, 
+				disableDeserializationFeatures, 
+				modules, 
+				deserializers, 
+				AccelerationConfig.DISABLED);
+	}
+	
+	/**
+	 * @param acceleration if enabled, the Blackbird module is registered when it round trips the samples.
+	 */
+	public YamlReaderConfig(
+			List<YAMLGenerator.Feature> enableYamlGeneratorFeatures,
+			List<YAMLGenerator.Feature> disableYamlGeneratorFeatures,
+			List<DeserializationFeature> enableDeserializationFeatures,
+			List<DeserializationFeature> disableDeserializationFeatures,
+			List<Module> modules,
+			Map<Class<?>, JsonDeserializer<?>> deserializers,
+			AccelerationConfig acceleration) {
+		
 		this.yamlMapper = buildYamlMapper(
 				enableYamlGeneratorFeatures, 
 				disableYamlGeneratorFeatures, 
@@ -35,6 +57,7 @@ public class YamlReaderConfig {
 				disableDeserializationFeatures, 
 				modules, 
 				deserializers);
+		this.accelerated = ObjectMapperUtils.accelerate(yamlMapper, acceleration);
 	}
 	
 	public static final YamlReaderConfig DEFAULT = new YamlReaderConfig(
@@ -48,6 +71,12 @@ public class YamlReaderConfig {
 	@Getter
 	private final YAMLMapper yamlMapper;
 	
+	/**
+	 * true if the Blackbird module has been registered.
+	 */
+	@Getter
+	private final boolean accelerated;
+	
 	/**
 	 * return a YAMLMapper with:
 	 * <br> - YAMLGenerator features enabled
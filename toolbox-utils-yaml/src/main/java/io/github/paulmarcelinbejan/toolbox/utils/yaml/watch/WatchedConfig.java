@@ -0,0 +1,70 @@
+package io.github.paulmarcelinbejan.toolbox.utils.yaml.watch;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.github.paulmarcelinbejan.toolbox.utils.io.cache.FileLoader;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+import lombok.Getter;
+
+/**
+ * Configuration bound from a YAML file watched by {@link YamlConfigWatcher}.
+ * <br>
+ * Every time the file changes the new value is bound and then published with an atomic swap, 
+ * so {@link #get()} is lock free and always returns a complete value (the old one until the new one is ready).
+ * <br>
+ * If the new content can't be read or bound, the previous value is kept and the error is available with {@link #getLastError()}.
+ */
+public class WatchedConfig<T> {
+	
+	WatchedConfig(FileInfo fileInfo, FileLoader<T> loader) {
+		this.fileInfo = fileInfo;
+		this.loader = loader;
+	}
+	
+	@Getter
+	private final FileInfo fileInfo;
+	
+	private final FileLoader<T> loader;
+	
+	private final AtomicReference<T> current = new AtomicReference<>();
+	
+	private volatile Exception lastError;
+	
+	/**
+	 * The current value, it must not be modified.
+	 */
+	public T get() {
+		return current.get();
+	}
+	
+	/**
+	 * The error of the last reload, empty if it succeeded.
+	 */
+	public Optional<Exception> getLastError() {
+		return Optional.ofNullable(lastError);
+	}
+	
+	/**
+	 * First bind of the file, called once the directory is watched so a change in the meantime is not lost.
+	 * <br>
+	 * Synchronized with {@link #reload()}: every bind reads the file after the previous one, so the last one published is the newest.
+	 */
+	synchronized void load() throws IOException {
+		current.set(loader.load(fileInfo));
+	}
+	
+	/**
+	 * Bind the file again, called by the watcher thread.
+	 */
+	synchronized void reload() {
+		try {
+			current.set(loader.load(fileInfo));
+			lastError = null;
+		} catch (IOException | RuntimeException e) {
+			lastError = e;
+		}
+	}
+	
+}
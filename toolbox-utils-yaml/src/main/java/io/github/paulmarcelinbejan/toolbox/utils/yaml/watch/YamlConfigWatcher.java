@@ -0,0 +1,179 @@
+package io.github.paulmarcelinbejan.toolbox.utils.yaml.watch;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import io.github.paulmarcelinbejan.toolbox.utils.io.FileUtils;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+import io.github.paulmarcelinbejan.toolbox.utils.yaml.YamlFileUtils;
+import io.github.paulmarcelinbejan.toolbox.utils.yaml.config.YamlPrefixType;
+import lombok.NonNull;
+
+/**
+ * Hot reload of YAML configuration files.
+ * <br>
+ * The directories of the watched files are registered with a {@link WatchService}, a daemon thread waits for their events 
+ * and binds a file again only when it has been created or modified. 
+ * Events of the same file are debounced: the file is bound once no other event arrived for debounce, so a burst of writes causes a single reload.
+ * <br>
+ * Remember to close the watcher using <b>watcher.close()</b> in order to stop the thread and release the WatchService.
+ */
+public class YamlConfigWatcher implements Closeable {
+	
+	public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(200);
+	
+	/**
+	 * how long close waits for the watcher thread, which may be binding a file.
+	 */
+	private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+	
+	public YamlConfigWatcher(@NonNull final YamlFileUtils yamlFileUtils) throws IOException {
+		this(yamlFileUtils, DEFAULT_DEBOUNCE);
+	}
+	
+	public YamlConfigWatcher(@NonNull final YamlFileUtils yamlFileUtils, @NonNull final Duration debounce) throws IOException {
+		if(debounce.isNegative()) {
+			throw new IllegalArgumentException("debounce must not be negative");
+		}
+		this.yamlFileUtils = yamlFileUtils;
+		this.debounceNanos = debounce.toNanos();
+		this.watchService = FileSystems.getDefault().newWatchService();
+		this.thread = new Thread(this::run, "yaml-config-watcher");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+	
+	private final YamlFileUtils yamlFileUtils;
+	
+	private final long debounceNanos;
+	
+	private final WatchService watchService;
+	
+	private final Thread thread;
+	
+	private final Map<Path, List<WatchedConfig<?>>> configs = new ConcurrentHashMap<>();
+	
+	/**
+	 * Bind the file now and every time it changes.
+	 */
+	public <T> WatchedConfig<T> watch(@NonNull FileInfo fileInfo, @NonNull Class<T> clazz) throws IOException {
+		return register(new WatchedConfig<>(fileInfo, file -> yamlFileUtils.read(file, clazz)));
+	}
+	
+	/**
+	 * Bind the part of the file under prefix now and every time the file changes.
+	 * 
+	 * @see YamlFileUtils#read(FileInfo, Class, String, YamlPrefixType)
+	 */
+	public <T> WatchedConfig<T> watch(@NonNull FileInfo fileInfo, @NonNull Class<T> clazz, String prefix, YamlPrefixType yamlPrefixType) throws IOException {
+		return register(new WatchedConfig<>(fileInfo, file -> yamlFileUtils.read(file, clazz, prefix, yamlPrefixType)));
+	}
+	
+	@Override
+	public void close() throws IOException {
+		watchService.close();
+		thread.interrupt();
+		try {
+			thread.join(CLOSE_TIMEOUT.toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * The file is bound only after its directory is watched and the config is registered, 
+	 * so a change between the first bind and the registration causes a reload instead of being lost.
+	 */
+	private <T> WatchedConfig<T> register(WatchedConfig<T> config) throws IOException {
+		Path path = path(config.getFileInfo());
+		path.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+		List<WatchedConfig<?>> watched = configs.computeIfAbsent(path, key -> new CopyOnWriteArrayList<>());
+		watched.add(config);
+		try {
+			config.load();
+		} catch (IOException | RuntimeException e) {
+			watched.remove(config);
+			throw e;
+		}
+		return config;
+	}
+	
+	private static Path path(FileInfo fileInfo) {
+		return FileUtils.createPath(fileInfo).toAbsolutePath().normalize();
+	}
+	
+	/**
+	 * Loop of the watcher thread: collect the changed files with their deadline, reload the ones whose deadline passed.
+	 */
+	private void run() {
+		Map<Path, Long> pending = new HashMap<>();
+		try {
+			while(true) {
+				WatchKey key = pending.isEmpty() 
+						? watchService.take() 
+						: watchService.poll(Math.max(0, nextDeadline(pending) - System.nanoTime()), TimeUnit.NANOSECONDS);
+				if(key != null) {
+					collect(key, pending);
+				}
+				long now = System.nanoTime();
+				Iterator<Map.Entry<Path, Long>> iterator = pending.entrySet().iterator();
+				while(iterator.hasNext()) {
+					Map.Entry<Path, Long> entry = iterator.next();
+					if(entry.getValue() - now <= 0) {
+						iterator.remove();
+						configs.getOrDefault(entry.getKey(), List.of()).forEach(WatchedConfig::reload);
+					}
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// closed
+		}
+	}
+	
+	private void collect(WatchKey key, Map<Path, Long> pending) {
+		Path directory = (Path) key.watchable();
+		long deadline = System.nanoTime() + debounceNanos;
+		for(WatchEvent<?> event : key.pollEvents()) {
+			if(event.kind() == OVERFLOW) {
+				configs.keySet().stream()
+							    .filter(path -> path.getParent().equals(directory))
+							    .forEach(path -> pending.put(path, deadline));
+			} else {
+				Path path = directory.resolve((Path) event.context());
+				if(configs.containsKey(path)) {
+					pending.put(path, deadline);
+				}
+			}
+		}
+		key.reset();
+	}
+	
+	private static long nextDeadline(Map<Path, Long> pending) {
+		Long next = null;
+		for(Long deadline : pending.values()) {
+			if(next == null || deadline - next < 0) {
+				next = deadline;
+			}
+		}
+		return next;
+	}
+	
+}
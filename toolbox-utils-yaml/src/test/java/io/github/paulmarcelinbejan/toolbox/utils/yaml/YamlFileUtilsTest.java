@@ -0,0 +1,106 @@
+package io.github.paulmarcelinbejan.toolbox.utils.yaml;
+
+import static io.github.paulmarcelinbejan.toolbox.utils.io.config.FileType.YAML;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+import io.github.paulmarcelinbejan.toolbox.utils.io.enums.DirectoryPath;
+import io.github.paulmarcelinbejan.toolbox.utils.jackson.config.AccelerationConfig;
+import io.github.paulmarcelinbejan.toolbox.utils.yaml.config.YamlPrefixType;
+import io.github.paulmarcelinbejan.toolbox.utils.yaml.config.YamlReaderConfig;
+import io.github.paulmarcelinbejan.toolbox.utils.yaml.config.YamlWriterConfig;
+
+class YamlFileUtilsTest {
+	
+	@Test
+	void testReadPrefixesNested() throws IOException {
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "applicationNested", YAML);
+		
+		Map<String, Class<?>> prefixes = new LinkedHashMap<>();
+		prefixes.put("app.server.ssl", Ssl.class);
+		prefixes.put("app.server", Server.class);
+		prefixes.put("app.cache", Map.class);
+		prefixes.put("app.database.pool", Pool.class);
+		prefixes.put("app.name", String.class);
+		
+		Map<String, Object> values = new YamlFileUtils().read(fileInfo, prefixes, YamlPrefixType.NESTED);
+		
+		Ssl ssl = new Ssl(true, "TLSv1.3");
+		assertEquals(List.of("app.server.ssl", "app.server", "app.database.pool", "app.name"), List.copyOf(values.keySet()));
+		assertEquals(ssl, values.get("app.server.ssl"));
+		assertEquals(new Server("localhost", 8080, ssl), values.get("app.server"));
+		assertEquals(new Pool(10), values.get("app.database.pool"));
+		assertEquals("toolbox", values.get("app.name"));
+	}
+	
+	@Test
+	void testReadPrefixesCondensed() throws IOException {
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "applicationCondensed", YAML);
+		
+		Map<String, Class<?>> prefixes = new LinkedHashMap<>();
+		prefixes.put("app.server", Server.class);
+		prefixes.put("app.server.ssl", Ssl.class);
+		prefixes.put("app.database.pool", Pool.class);
+		prefixes.put("app.cache", Map.class);
+		
+		Map<String, Object> values = new YamlFileUtils().read(fileInfo, prefixes, YamlPrefixType.CONDENSED);
+		
+		assertEquals(List.of("app.server", "app.server.ssl", "app.database.pool"), List.copyOf(values.keySet()));
+		assertEquals(new Server("localhost", 8080, null), values.get("app.server"));
+		assertEquals(new Ssl(true, "TLSv1.3"), values.get("app.server.ssl"));
+		assertEquals(new Pool(10), values.get("app.database.pool"));
+	}
+	
+	@Test
+	void testReadPrefixesSameAsSingleReads() throws IOException {
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "applicationNested", YAML);
+		YamlFileUtils yaml = new YamlFileUtils();
+		
+		Map<String, Object> values = yaml.read(fileInfo, Map.of("app.server", Server.class, "app.database.pool", Pool.class), YamlPrefixType.NESTED);
+		
+		assertEquals(yaml.read(fileInfo, Server.class, "app.server", YamlPrefixType.NESTED), values.get("app.server"));
+		assertEquals(yaml.read(fileInfo, Pool.class, "app.database.pool", YamlPrefixType.NESTED), values.get("app.database.pool"));
+	}
+	
+	@Test
+	void testAccelerated() throws IOException {
+		YamlReaderConfig readerConfig = new YamlReaderConfig(
+				Collections.emptyList(), 
+				Collections.emptyList(), 
+				List.of(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY), 
+				List.of(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES), 
+				Collections.emptyList(), 
+				Collections.emptyMap(), 
+				AccelerationConfig.blackbird(new Server("localhost", 8080, new Ssl(true, "TLSv1.3")), new Pool(10)));
+		assertTrue(readerConfig.isAccelerated());
+		assertFalse(YamlReaderConfig.DEFAULT.isAccelerated());
+		
+		YamlFileUtils yaml = new YamlFileUtils(readerConfig, YamlWriterConfig.DEFAULT);
+		FileInfo fileInfo = new FileInfo(DirectoryPath.SRC_TEST_RESOURCES.value, "applicationNested", YAML);
+		assertEquals(
+				new YamlFileUtils().read(fileInfo, Server.class, "app.server", YamlPrefixType.NESTED), 
+				yaml.read(fileInfo, Server.class, "app.server", YamlPrefixType.NESTED));
+	}
+	
+	record Server(String host, int port, Ssl ssl) {
+	}
+	
+	record Ssl(boolean enabled, String protocol) {
+	}
+	
+	record Pool(int size) {
+	}
+	
+}
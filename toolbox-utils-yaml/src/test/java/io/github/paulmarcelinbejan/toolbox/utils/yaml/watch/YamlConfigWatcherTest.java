@@ -0,0 +1,119 @@
+package io.github.paulmarcelinbejan.toolbox.utils.yaml.watch;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.paulmarcelinbejan.toolbox.utils.io.FileUtils;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileInfo;
+import io.github.paulmarcelinbejan.toolbox.utils.io.config.FileType;
+import io.github.paulmarcelinbejan.toolbox.utils.yaml.YamlFileUtils;
+
+class YamlConfigWatcherTest {
+	
+	private static final long TIMEOUT_NANOS = Duration.ofSeconds(10).toNanos();
+	
+	@TempDir
+	Path directory;
+	
+	@Test
+	void testReloadOnModify() throws Exception {
+		FileInfo fileInfo = write("server", "localhost", 8080);
+		
+		try (YamlConfigWatcher watcher = new YamlConfigWatcher(new YamlFileUtils(), Duration.ofMillis(50))) {
+			WatchedConfig<Server> config = watcher.watch(fileInfo, Server.class);
+			assertEquals(new Server("localhost", 8080), config.get());
+			
+			write("server", "localhost", 9090);
+			assertTrue(await(() -> config.get().port() == 9090));
+			assertFalse(config.getLastError().isPresent());
+		}
+	}
+	
+	@Test
+	void testReloadOnAtomicRename() throws Exception {
+		FileInfo fileInfo = write("server", "localhost", 8080);
+		
+		try (YamlConfigWatcher watcher = new YamlConfigWatcher(new YamlFileUtils(), Duration.ofMillis(50))) {
+			WatchedConfig<Server> config = watcher.watch(fileInfo, Server.class);
+			
+			FileInfo temporary = write("server.tmp", "remote", 8080);
+			Files.move(FileUtils.createPath(temporary), FileUtils.createPath(fileInfo), ATOMIC_MOVE, REPLACE_EXISTING);
+			assertTrue(await(() -> config.get().host().equals("remote")));
+		}
+	}
+	
+	@Test
+	void testDebounce() throws Exception {
+		FileInfo fileInfo = write("server", "localhost", 0);
+		YamlFileUtils yamlFileUtils = spy(new YamlFileUtils());
+		
+		try (YamlConfigWatcher watcher = new YamlConfigWatcher(yamlFileUtils, Duration.ofMillis(500))) {
+			WatchedConfig<Server> config = watcher.watch(fileInfo, Server.class);
+			
+			for(int port = 1; port <= 5; port++) {
+				write("server", "localhost", port);
+				Thread.sleep(20);
+			}
+			assertTrue(await(() -> config.get().port() == 5));
+			Thread.sleep(1000);
+			
+			// the first bind and a single reload for the burst of writes
+			verify(yamlFileUtils, times(2)).read(any(FileInfo.class), eq(Server.class));
+		}
+	}
+	
+	@Test
+	void testKeepLastGoodValue() throws Exception {
+		FileInfo fileInfo = write("server", "localhost", 8080);
+		
+		try (YamlConfigWatcher watcher = new YamlConfigWatcher(new YamlFileUtils(), Duration.ofMillis(50))) {
+			WatchedConfig<Server> config = watcher.watch(fileInfo, Server.class);
+			
+			Files.writeString(FileUtils.createPath(fileInfo), "host: [localhost\nport: 9090\n");
+			assertTrue(await(() -> config.getLastError().isPresent()));
+			assertEquals(new Server("localhost", 8080), config.get());
+			
+			write("server", "localhost", 9090);
+			assertTrue(await(() -> config.get().port() == 9090));
+			assertFalse(config.getLastError().isPresent());
+		}
+	}
+	
+	private FileInfo write(String name, String host, int port) throws IOException {
+		FileInfo fileInfo = new FileInfo(directory.toString() + "/", name, FileType.YAML);
+		Files.writeString(FileUtils.createPath(fileInfo), "host: " + host + "\nport: " + port + "\n");
+		return fileInfo;
+	}
+	
+	private static boolean await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TIMEOUT_NANOS;
+		while(!condition.getAsBoolean()) {
+			if(System.nanoTime() - deadline > 0) {
+				return false;
+			}
+			Thread.sleep(10);
+		}
+		return true;
+	}
+	
+	record Server(String host, int port) {
+	}
+	
+}